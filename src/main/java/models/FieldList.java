@@ -0,0 +1,124 @@
+package models;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The immutable field list of a row, over an array that no other code holds
+ * or over a list that is immutable already, so rows can share it without
+ * copying it again.
+ * <p>
+ * Unlike {@code List.of}, the list may contain nulls. Since it never changes,
+ * it computes its hash code and content hash once and keeps them, the way
+ * {@code String} does.
+ */
+abstract class FieldList extends AbstractList<Object> implements RandomAccess, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private transient int hash;
+	private transient long contentHash;
+
+	/**
+	 * Returns a field list that takes ownership of an array.
+	 *
+	 * @param values The fields, which the caller must not modify afterwards
+	 * @return The field list over the array
+	 */
+	static FieldList of(Object[] values) {
+		return new ArrayFields(values);
+	}
+
+	/**
+	 * Returns a field list over an immutable list, without copying it.
+	 *
+	 * @param list The fields, from {@code List.of} or {@code List.copyOf}
+	 * @return The field list over the list
+	 */
+	static FieldList wrap(List<Object> list) {
+		return new SharedFields(list);
+	}
+
+	@Override
+	public int hashCode() {
+		// Zero means not yet computed; a list that truly hashes to zero recomputes
+		int h = hash;
+		if (h == 0) {
+			h = super.hashCode();
+			hash = h;
+		}
+		return h;
+	}
+
+	/**
+	 * Returns the 64-bit content hash of the fields, computed on first use.
+	 *
+	 * @return The value of {@link Row#contentHash(List)} for this list
+	 */
+	long contentHash() {
+		long h = contentHash;
+		if (h == 0) {
+			h = Row.contentHash(this);
+			contentHash = h;
+		}
+		return h;
+	}
+
+	/**
+	 * The fields held in an array of their own.
+	 */
+	private static final class ArrayFields extends FieldList {
+		private static final long serialVersionUID = 1L;
+
+		private final Object[] values;
+
+		private ArrayFields(Object[] values) {
+			this.values = values;
+		}
+
+		@Override
+		public Object get(int index) {
+			return values[index];
+		}
+
+		@Override
+		public int size() {
+			return values.length;
+		}
+
+		@Override
+		public Object[] toArray() {
+			return Arrays.copyOf(values, values.length, Object[].class);
+		}
+	}
+
+	/**
+	 * The fields held in an immutable list shared with the caller.
+	 */
+	private static final class SharedFields extends FieldList {
+		private static final long serialVersionUID = 1L;
+
+		private final List<Object> list;
+
+		private SharedFields(List<Object> list) {
+			this.list = list;
+		}
+
+		@Override
+		public Object get(int index) {
+			return list.get(index);
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+
+		@Override
+		public Object[] toArray() {
+			return list.toArray();
+		}
+	}
+}
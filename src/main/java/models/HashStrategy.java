@@ -0,0 +1,72 @@
+package models;
+
+import java.security.SecureRandom;
+
+import types.DigestHash;
+import types.MixHash;
+import types.SipHash;
+
+/**
+ * An interface representing a strategy for hashing the keys of a hash table.
+ * <p>
+ * A strategy produces a single 64-bit hash per key; hash tables derive both
+ * the home slot (from the upper 32 bits) and the double hashing step (from the
+ * lower 32 bits) from it, so a key is only hashed once per operation.
+ */
+public interface HashStrategy {
+
+	/**
+	 * Computes the 64-bit hash of the given key.
+	 *
+	 * @param key The key to hash
+	 * @return The 64-bit hash of the key
+	 */
+	public long hash(String key);
+
+
+	/**
+	 * Returns the default strategy, a fast and allocation-free
+	 * non-cryptographic hash with good spread in both halves.
+	 *
+	 * @return The default hash strategy
+	 */
+	public static HashStrategy fast() {
+		return MixHash.DEFAULT;
+	}
+
+
+	/**
+	 * Returns a keyed strategy resistant to hash flooding, with a fresh
+	 * random key drawn from a secure source.
+	 *
+	 * @return A randomly keyed hash strategy
+	 */
+	public static HashStrategy keyed() {
+		SecureRandom random = new SecureRandom();
+		return new SipHash(random.nextLong(), random.nextLong());
+	}
+
+
+	/**
+	 * Returns a keyed strategy resistant to hash flooding, with the given
+	 * 128-bit key, for repeatable hashing across processes.
+	 *
+	 * @param k0 The lower 64 bits of the key
+	 * @param k1 The upper 64 bits of the key
+	 * @return A keyed hash strategy
+	 */
+	public static HashStrategy keyed(long k0, long k1) {
+		return new SipHash(k0, k1);
+	}
+
+
+	/**
+	 * Returns the original salted SHA-256 and FNV-1a strategy, which
+	 * allocates and digests on every call and is kept for comparison.
+	 *
+	 * @return The digest-based hash strategy
+	 */
+	public static HashStrategy digest() {
+		return DigestHash.INSTANCE;
+	}
+}
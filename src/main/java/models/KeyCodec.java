@@ -0,0 +1,96 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import types.AlphabetCodec;
+import types.EnumerationCodec;
+
+/**
+ * An interface representing a one-to-one mapping from a finite domain of keys
+ * onto the indices of an array, for direct-address tables.
+ * <p>
+ * The lookup table's domain of single letters is one such mapping; others
+ * cover fixed-length codes over an alphabet, short symbols of a few lengths,
+ * or an explicit list of keys.
+ */
+public interface KeyCodec {
+
+	/**
+	 * Returns the number of keys in the domain, which is the length of the
+	 * array a table needs.
+	 *
+	 * @return The size of the domain
+	 */
+	public int size();
+
+
+	/**
+	 * Maps a key onto its index in the domain.
+	 *
+	 * @param key The key to map
+	 * @return The index of the key, from 0 to size() - 1, or -1 if the key is
+	 *         outside the domain
+	 */
+	public int indexOf(String key);
+
+
+	/**
+	 * Returns a codec for keys of a fixed length over an alphabet, such as
+	 * two-letter country codes.
+	 *
+	 * @param alphabet The characters a key may use, each once
+	 * @param length   The length of every key
+	 * @return A fixed-length alphabet codec
+	 * @throws IllegalArgumentException if the alphabet has repeated characters
+	 *                                  or the domain is too large for an array
+	 */
+	public static KeyCodec alphabet(String alphabet, int length) {
+		return new AlphabetCodec(alphabet, length, length);
+	}
+
+
+	/**
+	 * Returns a codec for keys over an alphabet with lengths in a range, such
+	 * as ticker symbols of two or three letters.
+	 *
+	 * @param alphabet  The characters a key may use, each once
+	 * @param minLength The shortest key length
+	 * @param maxLength The longest key length
+	 * @return A variable-length alphabet codec
+	 * @throws IllegalArgumentException if the alphabet has repeated characters,
+	 *                                  the lengths are out of order, or the
+	 *                                  domain is too large for an array
+	 */
+	public static KeyCodec alphabet(String alphabet, int minLength, int maxLength) {
+		return new AlphabetCodec(alphabet, minLength, maxLength);
+	}
+
+
+	/**
+	 * Returns a codec for an explicit list of keys, indexed in list order.
+	 *
+	 * @param keys The keys of the domain, without repeats
+	 * @return An enumeration codec
+	 * @throws IllegalArgumentException if a key is repeated
+	 */
+	public static KeyCodec enumeration(List<String> keys) {
+		return new EnumerationCodec(keys);
+	}
+
+
+	/**
+	 * Returns a codec for the constant names of an enum type, indexed by
+	 * ordinal.
+	 *
+	 * @param type The enum type
+	 * @return An enumeration codec
+	 */
+	public static KeyCodec enumeration(Class<? extends Enum<?>> type) {
+		List<String> keys = new ArrayList<>();
+		for (Enum<?> constant : type.getEnumConstants()) {
+			keys.add(constant.name());
+		}
+		return new EnumerationCodec(keys);
+	}
+}
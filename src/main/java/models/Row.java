@@ -2,109 +2,265 @@ package models;
 
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
+import types.MixHash;
+
 /**
  * A record representing a row in a table with a key and a list of fields.
  */
 public record Row(String key, List<Object> fields) implements Serializable{
+	// Never a first byte of the original encoding, whose key length byte was 0 to 127
+	static final byte VERSION = (byte) 0x82;
+	private static final byte TAG_NULL = 0;
+	private static final byte TAG_TRUE = 1;
+	private static final byte TAG_FALSE = 2;
+	private static final byte TAG_INTEGER = 3;
+	private static final byte TAG_LONG = 4;
+	private static final byte TAG_DOUBLE = 5;
+	private static final byte TAG_FLOAT = 6;
+	private static final byte TAG_STRING = 7;
+	// The classes behind List.of and List.copyOf, which are immutable already
+	private static final Class<?> LIST_12 = List.of(0).getClass();
+	private static final Class<?> LIST_N = List.of(0, 0, 0).getClass();
+	private static final long HASH_MULTIPLIER = 0xC6A4A7935BD1E995L;
+
+	/**
+	 * Orders rows by key, the order of {@link Table#sortedIterator()}.
+	 */
+	public static final Comparator<Row> KEY_ORDER = Row::compareTo;
 
 
 	/**
 	 * Creates and returns a new Row object with unmodifiable fields.
+	 * <p>
+	 * Fields from another row are kept as they are. A list from {@code List.of}
+	 * or {@code List.copyOf} is immutable already, so it is wrapped without
+	 * copying; any other list is copied once. Either way the row holds a field
+	 * list, which caches its hash code.
 	 *
 	 */
 	public Row{
-		if(fields != null) {
-			fields = Collections.unmodifiableList(new ArrayList<>(fields));
+		if(fields != null && !(fields instanceof FieldList)) {
+			Class<?> type = fields.getClass();
+			fields = type == LIST_12 || type == LIST_N ? FieldList.wrap(fields) : FieldList.of(fields.toArray());
+		}
+	}
+
+
+	/**
+	 * Creates a row with no fields.
+	 *
+	 * @param key The key of the row.
+	 * @return A new Row object.
+	 */
+	public static Row of(String key) {
+		return new Row(key, FieldList.of(new Object[0]));
+	}
+
+
+	/**
+	 * Creates a row with one field, which may be null.
+	 *
+	 * @param key The key of the row.
+	 * @param f1  The field.
+	 * @return A new Row object.
+	 */
+	public static Row of(String key, Object f1) {
+		return new Row(key, FieldList.of(new Object[] { f1 }));
+	}
+
+
+	/**
+	 * Creates a row with two fields, which may be null.
+	 *
+	 * @param key The key of the row.
+	 * @param f1  The first field.
+	 * @param f2  The second field.
+	 * @return A new Row object.
+	 */
+	public static Row of(String key, Object f1, Object f2) {
+		return new Row(key, FieldList.of(new Object[] { f1, f2 }));
+	}
+
+
+	/**
+	 * Creates a row with three fields, which may be null.
+	 *
+	 * @param key The key of the row.
+	 * @param f1  The first field.
+	 * @param f2  The second field.
+	 * @param f3  The third field.
+	 * @return A new Row object.
+	 */
+	public static Row of(String key, Object f1, Object f2, Object f3) {
+		return new Row(key, FieldList.of(new Object[] { f1, f2, f3 }));
+	}
+
+
+	/**
+	 * Creates a row with any number of fields, which may be null.
+	 * <p>
+	 * A call such as {@code Row.of(key, null)} passes a null array rather than
+	 * a null field, so a null array is taken as a single null field, the same
+	 * row {@link #of(String, Object)} makes.
+	 *
+	 * @param key    The key of the row.
+	 * @param fields The fields, copied so later changes to the array don't show.
+	 * @return A new Row object.
+	 */
+	public static Row of(String key, Object... fields) {
+		if (fields == null) {
+			return of(key, (Object) null);
 		}
+		return new Row(key, FieldList.of(fields.clone()));
 	}
 
 
 	/**
-	 * Converts the key and fields of a Row into a byte array using a simple encoding scheme.
+	 * Creates a row over an array of decoded fields without copying it.
+	 *
+	 * @param key    The key of the row.
+	 * @param fields The fields, which no other code holds.
+	 * @return A new Row object.
+	 */
+	static Row trusted(String key, Object[] fields) {
+		return new Row(key, FieldList.of(fields));
+	}
+
+
+	/**
+	 * Converts the key and fields of a Row into a byte array in the current
+	 * encoding, sized exactly with a single pass over the fields.
 	 *
 	 * @return The byte array representation of the Row.
 	 */
 	public byte[] getBytes() {
-		// Create a list of objects with the key followed by fields
-		List <Object> objectsToEncode = new ArrayList<>();
-		objectsToEncode.add(key);
-		objectsToEncode.addAll(fields);
+		ByteBuffer buffer = ByteBuffer.allocate(encodedSize());
+		encode(buffer);
+		return buffer.array();
+	}
 
-		// Predict the total number of bytes needed
-		int totalBytes = predictTotalBytes(objectsToEncode);
 
-		// Allocate a byte buffer with the predicted number of bytes
-		ByteBuffer buffer = ByteBuffer.allocate(totalBytes);
+	/**
+	 * Returns the number of bytes {@link #encode(ByteBuffer)} writes for this row,
+	 * without encoding it.
+	 *
+	 * @return The encoded size of the Row.
+	 */
+	public int encodedSize() {
+		int total = 1 + varintSize(fields.size()) + stringSize(key);
+		for (Object obj : fields) {
+			total += 1 + payloadSize(obj);
+		}
+		return total;
+	}
 
-		// Encode each object and put the bytes into the buffer
-		for (Object obj : objectsToEncode) {
+
+	/**
+	 * Encodes the row into the given buffer at its position, advancing it.
+	 * <p>
+	 * The encoding is a version byte, the number of fields as a varint, the key
+	 * as a varint length and UTF-8 bytes, then each field as a tag byte and a
+	 * payload: zig-zag varints for integers and longs, fixed width for floats and
+	 * doubles, and a varint length and UTF-8 bytes for strings.
+	 *
+	 * @param buffer The buffer to encode into.
+	 * @throws java.nio.BufferOverflowException if the buffer has fewer than
+	 *                                          {@link #encodedSize()} bytes remaining.
+	 * @throws IllegalArgumentException         if a field has an unsupported type.
+	 */
+	public void encode(ByteBuffer buffer) {
+		buffer.put(VERSION);
+		putVarint(buffer, fields.size());
+		putString(buffer, key);
+		for (Object obj : fields) {
 			encodeObject(obj, buffer);
 		}
-
-		// Return the byte array from the buffer
-		return buffer.array();
 	}
 
 
 	/**
 	 * Decodes a byte array into a new Row object, extracting the key and fields.
+	 * Arrays in the original encoding, without a version byte, are still read.
 	 *
 	 * @param bytes The byte array to decode into a Row.
 	 * @return A new Row object with the key and fields.
 	 */
 	public static Row fromBytes(byte[] bytes) {
-		// Create a list of objects to be filled with decoded values
-		List<Object> decodedObjects = new ArrayList<>();
-
-		// Wrap a buffer around the given byte array
 		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		return bytes.length > 0 && bytes[0] == VERSION ? decode(buffer) : decodeLegacy(buffer);
+	}
 
-		// While there are remaining bytes in the buffer, decode objects and add them to the list
-		while (buffer.hasRemaining()) {
-			decodedObjects.add(decodeObject(buffer));
-		}
 
-		// Return a new Row with the first object as the key and the rest as fields
-		return new Row((String) decodedObjects.get(0), decodedObjects.subList(1, decodedObjects.size()));
+	/**
+	 * Decodes one row written by {@link #encode(ByteBuffer)} from the given buffer
+	 * at its position, advancing it past the row.
+	 *
+	 * @param buffer The buffer to decode from.
+	 * @return A new Row object with the key and fields.
+	 * @throws IllegalArgumentException if the buffer does not hold a row in the
+	 *                                  current encoding.
+	 */
+	public static Row decode(ByteBuffer buffer) {
+		byte version = buffer.get();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported row encoding version: " + version);
+		}
+		int count = getVarint(buffer);
+		String key = getString(buffer);
+		Object[] decodedObjects = new Object[count];
+		for (int i = 0; i < count; i++) {
+			decodedObjects[i] = decodeObject(buffer);
+		}
+		return trusted(key, decodedObjects);
 	}
 
 
 	/**
-	 * Predicts the total number of bytes needed to encode the given list of objects.
+	 * Decodes a row in the original encoding, which has no version byte and runs
+	 * to the end of the buffer.
 	 *
-	 * @param objects The list of objects to be encoded.
-	 * @return The predicted total number of bytes.
+	 * @param buffer The buffer to decode from.
+	 * @return A new Row object with the key and fields.
 	 */
-	private int predictTotalBytes (List<Object> objects) {
-		// Predict the total number of bytes needed to encode the list of objects
-		int totalBytes = 0;
-		for (Object obj : objects) {
-			totalBytes += predictObjectBytes(obj);
+	private static Row decodeLegacy(ByteBuffer buffer) {
+		// Create a list of objects to be filled with decoded values
+		List<Object> decodedObjects = new ArrayList<>();
+
+		// While there are remaining bytes in the buffer, decode objects and add them to the list
+		while (buffer.hasRemaining()) {
+			decodedObjects.add(decodeLegacyObject(buffer));
 		}
-		return  totalBytes;
+
+		// Return a new Row with the first object as the key and the rest as fields
+		return new Row((String) decodedObjects.get(0), decodedObjects.subList(1, decodedObjects.size()));
 	}
 
 
 	/**
-	 * Predicts the number of bytes needed to encode a specific object.
+	 * Predicts the number of bytes needed to encode the payload of a specific
+	 * object, after its tag byte.
 	 *
 	 * @param obj The object to be encoded.
 	 * @return The predicted number of bytes needed.
 	 */
-	private int predictObjectBytes (Object obj) {
-		// Predict the number of bytes needed to encode an object
+	private static int payloadSize(Object obj) {
 		if (obj instanceof String) {
-			return ((String) obj).getBytes().length + 1; // +1 for the tag byte
+			return stringSize((String) obj);
 		} else if (obj instanceof Integer) {
-			return Integer.BYTES + 1; // +1 for the tag byte
+			return varintSize(zigZag((Integer) obj));
+		} else if (obj instanceof Long) {
+			return varlongSize(zigZag((Long) obj));
 		} else if (obj instanceof Double) {
-			return Double.BYTES + 1; // +1 for the tag byte
+			return Double.BYTES;
+		} else if (obj instanceof Float) {
+			return Float.BYTES;
 		} else if (obj instanceof Boolean || obj == null) {
-			return 1; // Only a tag byte is needed for boolean and null values
+			return 0; // Only a tag byte is needed for boolean and null values
 		} else {
 			throw new IllegalArgumentException("Unsupported object type: " + obj.getClass());
 		}
@@ -112,37 +268,112 @@ public record Row(String key, List<Object> fields) implements Serializable{
 
 
 	/**
-	 * Encodes a specific object and puts the bytes into the given ByteBuffer.
+	 * Encodes a specific object as a tag byte and payload and puts the bytes into
+	 * the given ByteBuffer.
 	 *
 	 * @param obj    The object to be encoded.
 	 * @param buffer The ByteBuffer to store the encoded bytes.
 	 */
 	private static void encodeObject(Object obj, ByteBuffer buffer) {
 		if (obj instanceof String) {
-			byte[] stringBytes = ((String) obj).getBytes();
-			buffer.put((byte) stringBytes.length);
-			buffer.put(stringBytes);
+			buffer.put(TAG_STRING);
+			putString(buffer, (String) obj);
 		} else if (obj instanceof Integer) {
-			buffer.put((byte) -1); // unique tag for Integer
-			buffer.putInt((Integer) obj);
+			buffer.put(TAG_INTEGER);
+			putVarint(buffer, zigZag((Integer) obj));
+		} else if (obj instanceof Long) {
+			buffer.put(TAG_LONG);
+			putVarlong(buffer, zigZag((Long) obj));
 		} else if (obj instanceof Double) {
-			buffer.put((byte) -2); // unique tag for Double/float
+			buffer.put(TAG_DOUBLE);
 			buffer.putDouble((Double) obj);
+		} else if (obj instanceof Float) {
+			buffer.put(TAG_FLOAT);
+			buffer.putFloat((Float) obj);
 		} else if (obj instanceof Boolean) {
-			buffer.put((Boolean) obj ? (byte) -3 : (byte) -4); // unique tag for boolean -3/-4 -> true/false
+			buffer.put((Boolean) obj ? TAG_TRUE : TAG_FALSE);
 		} else if (obj == null) {
-			buffer.put((byte) -5); // unique tag for null values
+			buffer.put(TAG_NULL);
+		} else {
+			throw new IllegalArgumentException("Unsupported object type: " + obj.getClass());
 		}
 	}
 
 
 	/**
-	 * Decodes an object from the given ByteBuffer.
+	 * Decodes a tagged object from the given ByteBuffer.
 	 *
 	 * @param buffer The ByteBuffer containing the encoded bytes.
 	 * @return The decoded object.
 	 */
-	private static Object decodeObject(ByteBuffer buffer) {
+	static Object decodeObject(ByteBuffer buffer) {
+		byte tag = buffer.get();
+
+		switch (tag) {
+		case TAG_NULL:
+			return null;
+		case TAG_TRUE:
+			return true;
+		case TAG_FALSE:
+			return false;
+		case TAG_INTEGER:
+			return unZigZag(getVarint(buffer));
+		case TAG_LONG:
+			return unZigZag(getVarlong(buffer));
+		case TAG_DOUBLE:
+			return buffer.getDouble();
+		case TAG_FLOAT:
+			return buffer.getFloat();
+		case TAG_STRING:
+			return getString(buffer);
+		default:
+			throw new IllegalArgumentException("Unknown field tag: " + tag);
+		}
+	}
+
+
+	/**
+	 * Advances the given ByteBuffer past a tagged object without decoding it.
+	 *
+	 * @param buffer The ByteBuffer containing the encoded bytes.
+	 */
+	static void skipObject(ByteBuffer buffer) {
+		byte tag = buffer.get();
+
+		switch (tag) {
+		case TAG_NULL:
+		case TAG_TRUE:
+		case TAG_FALSE:
+			break;
+		case TAG_INTEGER:
+		case TAG_LONG:
+			while (buffer.get() < 0) {
+				// Skip the continuation bytes of the varint
+			}
+			break;
+		case TAG_DOUBLE:
+			buffer.position(buffer.position() + Double.BYTES);
+			break;
+		case TAG_FLOAT:
+			buffer.position(buffer.position() + Float.BYTES);
+			break;
+		case TAG_STRING:
+			int length = getVarint(buffer);
+			buffer.position(buffer.position() + length);
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown field tag: " + tag);
+		}
+	}
+
+
+	/**
+	 * Decodes an object in the original encoding from the given ByteBuffer.
+	 *
+	 * @param buffer The ByteBuffer containing the encoded bytes.
+	 * @return The decoded object.
+	 */
+	private static Object decodeLegacyObject(ByteBuffer buffer) {
 		byte tag = buffer.get();
 
 		switch(tag) {
@@ -159,11 +390,237 @@ public record Row(String key, List<Object> fields) implements Serializable{
 		default: // default case for strings, step G* in sub step 3ii.
 			byte[] stringBytes = new byte[tag];
 			buffer.get(stringBytes);
-			return new String(stringBytes);
+			return new String(stringBytes, StandardCharsets.UTF_8);
 		}
 	}
 
 
+	/**
+	 * Maps a signed int onto an unsigned one so small magnitudes of either sign
+	 * get short varints.
+	 *
+	 * @param n The signed value.
+	 * @return The zig-zag encoded value.
+	 */
+	private static int zigZag(int n) {
+		return (n << 1) ^ (n >> 31);
+	}
+
+
+	/**
+	 * Maps a signed long onto an unsigned one so small magnitudes of either sign
+	 * get short varints.
+	 *
+	 * @param n The signed value.
+	 * @return The zig-zag encoded value.
+	 */
+	private static long zigZag(long n) {
+		return (n << 1) ^ (n >> 63);
+	}
+
+
+	/**
+	 * Reverses {@link #zigZag(int)}.
+	 *
+	 * @param n The zig-zag encoded value.
+	 * @return The signed value.
+	 */
+	private static int unZigZag(int n) {
+		return (n >>> 1) ^ -(n & 1);
+	}
+
+
+	/**
+	 * Reverses {@link #zigZag(long)}.
+	 *
+	 * @param n The zig-zag encoded value.
+	 * @return The signed value.
+	 */
+	private static long unZigZag(long n) {
+		return (n >>> 1) ^ -(n & 1);
+	}
+
+
+	/**
+	 * Returns the number of bytes in the varint encoding of an unsigned int.
+	 *
+	 * @param n The value to encode.
+	 * @return The encoded size, from 1 to 5 bytes.
+	 */
+	private static int varintSize(int n) {
+		return (31 - Integer.numberOfLeadingZeros(n | 1)) / 7 + 1;
+	}
+
+
+	/**
+	 * Returns the number of bytes in the varint encoding of an unsigned long.
+	 *
+	 * @param n The value to encode.
+	 * @return The encoded size, from 1 to 10 bytes.
+	 */
+	private static int varlongSize(long n) {
+		return (63 - Long.numberOfLeadingZeros(n | 1)) / 7 + 1;
+	}
+
+
+	/**
+	 * Writes an unsigned int as a varint, seven bits per byte, low bits first,
+	 * with the high bit of each byte set when more bytes follow.
+	 *
+	 * @param buffer The buffer to write to.
+	 * @param n      The value to write.
+	 */
+	private static void putVarint(ByteBuffer buffer, int n) {
+		while ((n & ~0x7F) != 0) {
+			buffer.put((byte) (n | 0x80));
+			n >>>= 7;
+		}
+		buffer.put((byte) n);
+	}
+
+
+	/**
+	 * Writes an unsigned long as a varint.
+	 *
+	 * @param buffer The buffer to write to.
+	 * @param n      The value to write.
+	 */
+	private static void putVarlong(ByteBuffer buffer, long n) {
+		while ((n & ~0x7FL) != 0) {
+			buffer.put((byte) (n | 0x80));
+			n >>>= 7;
+		}
+		buffer.put((byte) n);
+	}
+
+
+	/**
+	 * Reads a varint written by {@link #putVarint(ByteBuffer, int)}.
+	 *
+	 * @param buffer The buffer to read from.
+	 * @return The value read.
+	 */
+	static int getVarint(ByteBuffer buffer) {
+		int n = 0;
+		for (int shift = 0;; shift += 7) {
+			byte b = buffer.get();
+			n |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return n;
+			}
+		}
+	}
+
+
+	/**
+	 * Reads a varint written by {@link #putVarlong(ByteBuffer, long)}.
+	 *
+	 * @param buffer The buffer to read from.
+	 * @return The value read.
+	 */
+	private static long getVarlong(ByteBuffer buffer) {
+		long n = 0;
+		for (int shift = 0;; shift += 7) {
+			byte b = buffer.get();
+			n |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				return n;
+			}
+		}
+	}
+
+
+	/**
+	 * Returns the number of bytes a string takes as a varint length and UTF-8
+	 * bytes, counting its characters without encoding it.
+	 *
+	 * @param s The string to measure.
+	 * @return The encoded size of the string.
+	 */
+	static int stringSize(String s) {
+		int length = utf8Length(s);
+		return varintSize(length) + length;
+	}
+
+
+	/**
+	 * Counts the UTF-8 bytes of a string. An unpaired surrogate counts as one
+	 * byte, as it is encoded as a question mark like {@link String#getBytes}.
+	 *
+	 * @param s The string to measure.
+	 * @return The number of UTF-8 bytes.
+	 */
+	private static int utf8Length(String s) {
+		int length = s.length();
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c >= 0x800) {
+				if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+					length += 2; // Four bytes for the pair of two chars
+					i++;
+				} else if (!Character.isSurrogate(c)) {
+					length += 2;
+				}
+			} else if (c >= 0x80) {
+				length++;
+			}
+		}
+		return length;
+	}
+
+
+	/**
+	 * Writes a string as a varint length and UTF-8 bytes, encoding straight into
+	 * the buffer.
+	 *
+	 * @param buffer The buffer to write to.
+	 * @param s      The string to write.
+	 */
+	static void putString(ByteBuffer buffer, String s) {
+		putVarint(buffer, utf8Length(s));
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			if (c < 0x80) {
+				buffer.put((byte) c);
+			} else if (c < 0x800) {
+				buffer.put((byte) (0xC0 | c >> 6));
+				buffer.put((byte) (0x80 | c & 0x3F));
+			} else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+				int cp = Character.toCodePoint(c, s.charAt(++i));
+				buffer.put((byte) (0xF0 | cp >> 18));
+				buffer.put((byte) (0x80 | cp >> 12 & 0x3F));
+				buffer.put((byte) (0x80 | cp >> 6 & 0x3F));
+				buffer.put((byte) (0x80 | cp & 0x3F));
+			} else if (Character.isSurrogate(c)) {
+				buffer.put((byte) '?');
+			} else {
+				buffer.put((byte) (0xE0 | c >> 12));
+				buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+				buffer.put((byte) (0x80 | c & 0x3F));
+			}
+		}
+	}
+
+
+	/**
+	 * Reads a string written by {@link #putString(ByteBuffer, String)}.
+	 *
+	 * @param buffer The buffer to read from.
+	 * @return The string read.
+	 */
+	static String getString(ByteBuffer buffer) {
+		int length = getVarint(buffer);
+		if (buffer.hasArray()) {
+			String s = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+			buffer.position(buffer.position() + length);
+			return s;
+		}
+		byte[] stringBytes = new byte[length];
+		buffer.get(stringBytes);
+		return new String(stringBytes, StandardCharsets.UTF_8);
+	}
+
+
 	/**
 	 * Returns a string representation of the row.
 	 *
@@ -176,6 +633,10 @@ public record Row(String key, List<Object> fields) implements Serializable{
 
 	/**
 	 * Computes the hash code for the row.
+	 * <p>
+	 * Fields copied or decoded into a row keep their hash code once computed,
+	 * so tables that hash a row again to maintain their fingerprint pay for it
+	 * only once.
 	 *
 	 * @return The hash code of the row
 	 */
@@ -184,8 +645,95 @@ public record Row(String key, List<Object> fields) implements Serializable{
 		int result = (key != null) ? key.hashCode() : 0;
 		result = 31 * result + ((fields != null) ? fields.hashCode() : 0);
 		return result;
-		//have this original method call the static one
+	}
+
 
+	/**
+	 * Computes a 64-bit hash of the row's key and fields that depends only on
+	 * their values, so it is the same in every process and on every platform.
+	 * <p>
+	 * Unlike {@link #hashCode()}, it tells fields of different types apart, so
+	 * that 1, 1L and "1" hash differently, and it mixes every bit of each value
+	 * into a 64-bit state, making it suitable for comparing table contents
+	 * across processes.
+	 *
+	 * @return The content hash of the row
+	 * @throws IllegalArgumentException if a field is of a type rows cannot encode
+	 */
+	public long contentHash() {
+		long h = key != null ? stringHash(key) : 0;
+		long f = fields instanceof FieldList ? ((FieldList) fields).contentHash()
+				: fields != null ? contentHash(fields) : 0;
+		return MixHash.avalanche(h * HASH_MULTIPLIER + f);
+	}
+
+
+	/**
+	 * Computes the 64-bit content hash of a list of fields.
+	 *
+	 * @param fields The fields to hash.
+	 * @return The content hash of the fields.
+	 * @throws IllegalArgumentException if a field is of a type rows cannot encode
+	 */
+	static long contentHash(List<Object> fields) {
+		long h = fields.size();
+		for (int i = 0; i < fields.size(); i++) {
+			h = Long.rotateLeft((h ^ valueHash(fields.get(i))) * HASH_MULTIPLIER, 31);
+		}
+		return MixHash.avalanche(h);
+	}
+
+
+	/**
+	 * Computes the 64-bit hash of a single field from its tag and value bits.
+	 *
+	 * @param obj The field to hash.
+	 * @return The hash of the field.
+	 * @throws IllegalArgumentException if the field is of a type rows cannot encode
+	 */
+	private static long valueHash(Object obj) {
+		long bits;
+		byte tag;
+		if (obj instanceof String) {
+			tag = TAG_STRING;
+			bits = stringHash((String) obj);
+		} else if (obj instanceof Integer) {
+			tag = TAG_INTEGER;
+			bits = (Integer) obj;
+		} else if (obj instanceof Long) {
+			tag = TAG_LONG;
+			bits = (Long) obj;
+		} else if (obj instanceof Double) {
+			tag = TAG_DOUBLE;
+			bits = Double.doubleToLongBits((Double) obj);
+		} else if (obj instanceof Float) {
+			tag = TAG_FLOAT;
+			bits = Float.floatToIntBits((Float) obj);
+		} else if (obj instanceof Boolean) {
+			tag = (Boolean) obj ? TAG_TRUE : TAG_FALSE;
+			bits = 0;
+		} else if (obj == null) {
+			tag = TAG_NULL;
+			bits = 0;
+		} else {
+			throw new IllegalArgumentException("Unsupported object type: " + obj.getClass());
+		}
+		return MixHash.avalanche(bits + tag * 0x9E3779B97F4A7C15L);
+	}
+
+
+	/**
+	 * Computes the 64-bit hash of a string from its characters.
+	 *
+	 * @param s The string to hash.
+	 * @return The hash of the string.
+	 */
+	private static long stringHash(String s) {
+		long h = s.length() * HASH_MULTIPLIER;
+		for (int i = 0; i < s.length(); i++) {
+			h = Long.rotateLeft((h ^ s.charAt(i)) * HASH_MULTIPLIER, 31);
+		}
+		return h;
 	}
 
 
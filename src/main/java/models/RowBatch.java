@@ -0,0 +1,426 @@
+package models;
+
+import java.util.List;
+
+/**
+ * A batch of consecutive rows of a table stored by column, for scans that
+ * filter and aggregate with primitive loops instead of through boxed fields.
+ * <p>
+ * Each field column is held in an array of its type: {@code int[]},
+ * {@code long[]}, {@code float[]} or {@code double[]} for numbers, a bitmap of
+ * {@code long} words for booleans, and {@code String[]} for strings. A column
+ * whose values are not all of one of these types is held as {@code Object[]}
+ * and has no type. Every column has a bitmap of its null entries, and a null
+ * numeric or boolean entry holds zero or false.
+ * <p>
+ * The arrays are the batch's own and are returned without copying, so a
+ * caller must not modify them. Each holds one entry per row, and bit
+ * {@code i} of a bitmap is bit {@code i & 63} of word {@code i >>> 6}.
+ */
+public final class RowBatch {
+	/**
+	 * The number of rows in a batch unless a table is asked for another.
+	 */
+	public static final int DEFAULT_CAPACITY = 1024;
+
+	private final String[] keys;
+	private final Schema.Type[] types;
+	private final Object[] columns;
+	private final long[][] nulls;
+	private final int size;
+
+	/**
+	 * Constructs a batch over arrays already filled.
+	 *
+	 * @param keys    The keys of the rows
+	 * @param types   The type of each field column, or null for mixed columns
+	 * @param columns The array of each field column
+	 * @param nulls   The null bitmap of each field column
+	 * @param size    The number of rows in the batch
+	 */
+	private RowBatch(String[] keys, Schema.Type[] types, Object[] columns, long[][] nulls, int size) {
+		this.keys = keys;
+		this.types = types;
+		this.columns = columns;
+		this.nulls = nulls;
+		this.size = size;
+	}
+
+	/**
+	 * Builds a batch from rows, with column types from a schema or, without
+	 * one, from the values the rows hold.
+	 *
+	 * @param rows   The rows of the batch, all with the same number of fields
+	 * @param schema The schema of the rows' table, or null to infer the types
+	 *               of each column from its values
+	 * @return A batch holding the rows
+	 * @throws IllegalArgumentException if the rows have different numbers of
+	 *                                  fields, or a different number than the
+	 *                                  schema has
+	 * @throws ClassCastException       if a value does not match its schema type
+	 */
+	public static RowBatch of(List<Row> rows, Schema schema) {
+		int size = rows.size();
+		int width = schema != null ? schema.columns().size() - 1 : size > 0 ? rows.get(0).fields().size() : 0;
+		for (int r = 0; r < size; r++) {
+			if (rows.get(r).fields().size() != width) {
+				throw new IllegalArgumentException("Number of fields doesn't match the batch.");
+			}
+		}
+
+		String[] keys = new String[size];
+		for (int r = 0; r < size; r++) {
+			keys[r] = rows.get(r).key();
+		}
+		Schema.Type[] types = new Schema.Type[width];
+		Object[] columns = new Object[width];
+		long[][] nulls = new long[width][];
+		for (int c = 0; c < width; c++) {
+			types[c] = schema != null ? schema.types().get(c + 1) : inferType(rows, c);
+			nulls[c] = new long[(size + 63) >>> 6];
+			columns[c] = fillColumn(rows, c, types[c], nulls[c]);
+		}
+		return new RowBatch(keys, types, columns, nulls, size);
+	}
+
+	/**
+	 * Finds the one type that every non-null value of a column has.
+	 *
+	 * @param rows   The rows of the batch
+	 * @param column The index of the field column
+	 * @return The type of the column, or null if its values are of several
+	 *         types or of none the batch stores as primitives or strings
+	 */
+	private static Schema.Type inferType(List<Row> rows, int column) {
+		Schema.Type type = null;
+		for (int r = 0; r < rows.size(); r++) {
+			Object value = rows.get(r).fields().get(column);
+			if (value == null) {
+				continue;
+			}
+			Schema.Type valueType = typeOf(value);
+			if (valueType == null || type != null && type != valueType) {
+				return null;
+			}
+			type = valueType;
+		}
+		// A column of nulls alone holds nothing, so any type will do
+		return type != null ? type : Schema.Type.STRING;
+	}
+
+	/**
+	 * Returns the column type that holds a value.
+	 *
+	 * @param value The value, not null
+	 * @return The type of the value, or null if no column type holds it
+	 */
+	private static Schema.Type typeOf(Object value) {
+		if (value instanceof String) {
+			return Schema.Type.STRING;
+		} else if (value instanceof Integer) {
+			return Schema.Type.INTEGER;
+		} else if (value instanceof Long) {
+			return Schema.Type.LONG;
+		} else if (value instanceof Float) {
+			return Schema.Type.FLOAT;
+		} else if (value instanceof Double) {
+			return Schema.Type.DOUBLE;
+		} else if (value instanceof Boolean) {
+			return Schema.Type.BOOLEAN;
+		}
+		return null;
+	}
+
+	/**
+	 * Copies one field of every row into the array of its column type.
+	 *
+	 * @param rows   The rows of the batch
+	 * @param column The index of the field column
+	 * @param type   The type of the column, or null for a mixed column
+	 * @param nulls  The null bitmap of the column, to fill in
+	 * @return The filled column array
+	 */
+	private static Object fillColumn(List<Row> rows, int column, Schema.Type type, long[] nulls) {
+		int size = rows.size();
+		if (type == null) {
+			Object[] values = new Object[size];
+			for (int r = 0; r < size; r++) {
+				values[r] = rows.get(r).fields().get(column);
+				if (values[r] == null) {
+					nulls[r >>> 6] |= 1L << r;
+				}
+			}
+			return values;
+		}
+		switch (type) {
+		case INTEGER: {
+			int[] values = new int[size];
+			for (int r = 0; r < size; r++) {
+				Object value = rows.get(r).fields().get(column);
+				if (value == null) {
+					nulls[r >>> 6] |= 1L << r;
+				} else {
+					values[r] = (Integer) value;
+				}
+			}
+			return values;
+		}
+		case LONG: {
+			long[] values = new long[size];
+			for (int r = 0; r < size; r++) {
+				Object value = rows.get(r).fields().get(column);
+				if (value == null) {
+					nulls[r >>> 6] |= 1L << r;
+				} else {
+					values[r] = (Long) value;
+				}
+			}
+			return values;
+		}
+		case FLOAT: {
+			float[] values = new float[size];
+			for (int r = 0; r < size; r++) {
+				Object value = rows.get(r).fields().get(column);
+				if (value == null) {
+					nulls[r >>> 6] |= 1L << r;
+				} else {
+					values[r] = (Float) value;
+				}
+			}
+			return values;
+		}
+		case DOUBLE: {
+			double[] values = new double[size];
+			for (int r = 0; r < size; r++) {
+				Object value = rows.get(r).fields().get(column);
+				if (value == null) {
+					nulls[r >>> 6] |= 1L << r;
+				} else {
+					values[r] = (Double) value;
+				}
+			}
+			return values;
+		}
+		case BOOLEAN: {
+			long[] bits = new long[(size + 63) >>> 6];
+			for (int r = 0; r < size; r++) {
+				Object value = rows.get(r).fields().get(column);
+				if (value == null) {
+					nulls[r >>> 6] |= 1L << r;
+				} else if ((Boolean) value) {
+					bits[r >>> 6] |= 1L << r;
+				}
+			}
+			return bits;
+		}
+		default: {
+			String[] values = new String[size];
+			for (int r = 0; r < size; r++) {
+				Object value = rows.get(r).fields().get(column);
+				if (value == null) {
+					nulls[r >>> 6] |= 1L << r;
+				} else {
+					values[r] = (String) value;
+				}
+			}
+			return values;
+		}
+		}
+	}
+
+	/**
+	 * Returns the number of rows in the batch.
+	 *
+	 * @return The number of rows
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of field columns in the batch, which is one less than
+	 * the degree of its table.
+	 *
+	 * @return The number of field columns
+	 */
+	public int width() {
+		return columns.length;
+	}
+
+	/**
+	 * Returns the keys of the rows in the batch.
+	 *
+	 * @return The batch's array of keys
+	 */
+	public String[] keys() {
+		return keys;
+	}
+
+	/**
+	 * Returns the type of a field column.
+	 *
+	 * @param column The index of the field column, from 0 to width() - 1
+	 * @return The type of the column, or null if it is held as objects
+	 */
+	public Schema.Type type(int column) {
+		return types[column];
+	}
+
+	/**
+	 * Returns the null bitmap of a field column.
+	 *
+	 * @param column The index of the field column
+	 * @return The batch's bitmap of null entries in the column
+	 */
+	public long[] nulls(int column) {
+		return nulls[column];
+	}
+
+	/**
+	 * Checks if a field of a row in the batch is null.
+	 *
+	 * @param column The index of the field column
+	 * @param row    The index of the row in the batch
+	 * @return True if the field is null, false otherwise
+	 */
+	public boolean isNull(int column, int row) {
+		return (nulls[column][row >>> 6] & 1L << row) != 0;
+	}
+
+	/**
+	 * Returns the values of an INTEGER column.
+	 *
+	 * @param column The index of the field column
+	 * @return The batch's array of values
+	 * @throws IllegalStateException if the column is of another type
+	 */
+	public int[] ints(int column) {
+		return (int[]) column(column, Schema.Type.INTEGER);
+	}
+
+	/**
+	 * Returns the values of a LONG column.
+	 *
+	 * @param column The index of the field column
+	 * @return The batch's array of values
+	 * @throws IllegalStateException if the column is of another type
+	 */
+	public long[] longs(int column) {
+		return (long[]) column(column, Schema.Type.LONG);
+	}
+
+	/**
+	 * Returns the values of a FLOAT column.
+	 *
+	 * @param column The index of the field column
+	 * @return The batch's array of values
+	 * @throws IllegalStateException if the column is of another type
+	 */
+	public float[] floats(int column) {
+		return (float[]) column(column, Schema.Type.FLOAT);
+	}
+
+	/**
+	 * Returns the values of a DOUBLE column.
+	 *
+	 * @param column The index of the field column
+	 * @return The batch's array of values
+	 * @throws IllegalStateException if the column is of another type
+	 */
+	public double[] doubles(int column) {
+		return (double[]) column(column, Schema.Type.DOUBLE);
+	}
+
+	/**
+	 * Returns the values of a BOOLEAN column as a bitmap of the true entries.
+	 *
+	 * @param column The index of the field column
+	 * @return The batch's bitmap of values
+	 * @throws IllegalStateException if the column is of another type
+	 */
+	public long[] booleans(int column) {
+		return (long[]) column(column, Schema.Type.BOOLEAN);
+	}
+
+	/**
+	 * Returns the values of a STRING column.
+	 *
+	 * @param column The index of the field column
+	 * @return The batch's array of values
+	 * @throws IllegalStateException if the column is of another type
+	 */
+	public String[] strings(int column) {
+		return (String[]) column(column, Schema.Type.STRING);
+	}
+
+	/**
+	 * Returns the values of a column of mixed values.
+	 *
+	 * @param column The index of the field column
+	 * @return The batch's array of values
+	 * @throws IllegalStateException if the column has a type
+	 */
+	public Object[] objects(int column) {
+		return (Object[]) column(column, null);
+	}
+
+	/**
+	 * Returns the array of a column after checking its type.
+	 *
+	 * @param column The index of the field column
+	 * @param type   The type the caller expects
+	 * @return The array of the column
+	 * @throws IllegalStateException if the column is of another type
+	 */
+	private Object column(int column, Schema.Type type) {
+		if (types[column] != type) {
+			throw new IllegalStateException("Column " + column + " is of type " + types[column] + ", not " + type);
+		}
+		return columns[column];
+	}
+
+	/**
+	 * Returns a single field of a row in the batch, boxed.
+	 *
+	 * @param column The index of the field column
+	 * @param row    The index of the row in the batch
+	 * @return The field, or null if it is null
+	 */
+	public Object get(int column, int row) {
+		if (isNull(column, row)) {
+			return null;
+		}
+		Object values = columns[column];
+		if (types[column] == null) {
+			return ((Object[]) values)[row];
+		}
+		switch (types[column]) {
+		case INTEGER:
+			return ((int[]) values)[row];
+		case LONG:
+			return ((long[]) values)[row];
+		case FLOAT:
+			return ((float[]) values)[row];
+		case DOUBLE:
+			return ((double[]) values)[row];
+		case BOOLEAN:
+			return (((long[]) values)[row >>> 6] & 1L << row) != 0;
+		default:
+			return ((String[]) values)[row];
+		}
+	}
+
+	/**
+	 * Rebuilds a row of the batch.
+	 *
+	 * @param row The index of the row in the batch
+	 * @return The row
+	 */
+	public Row row(int row) {
+		Object[] fields = new Object[columns.length];
+		for (int c = 0; c < fields.length; c++) {
+			fields[c] = get(c, row);
+		}
+		return Row.trusted(keys[row], fields);
+	}
+}
@@ -0,0 +1,200 @@
+package models;
+
+import java.util.function.Predicate;
+
+/**
+ * A condition on the rows of a table, for filtering them.
+ * <p>
+ * Columns are addressed by index as in {@link Table#columns()}: index 0 is the
+ * key, and index {@code i} is field {@code i - 1}. Apart from
+ * {@link #matches(Object)}, the comparisons built here work on the values as
+ * they are, never through their strings: numbers of any boxed type compare by
+ * value, other values compare with {@code equals} or {@code compareTo}, and a
+ * null value matches nothing.
+ */
+@FunctionalInterface
+public interface RowPredicate {
+
+	/**
+	 * Checks if a row satisfies the condition.
+	 *
+	 * @param row The row to check
+	 * @return True if the row satisfies the condition, false otherwise
+	 */
+	public boolean test(Row row);
+
+	/**
+	 * Returns a condition satisfied by rows that satisfy both this one and
+	 * another, which is only checked if this one holds.
+	 *
+	 * @param other The other condition
+	 * @return The conjunction of the conditions
+	 */
+	public default RowPredicate and(RowPredicate other) {
+		return row -> test(row) && other.test(row);
+	}
+
+	/**
+	 * Returns a condition satisfied by rows that satisfy this one or another,
+	 * which is only checked if this one does not hold.
+	 *
+	 * @param other The other condition
+	 * @return The disjunction of the conditions
+	 */
+	public default RowPredicate or(RowPredicate other) {
+		return row -> test(row) || other.test(row);
+	}
+
+	/**
+	 * Returns a condition satisfied by the rows that do not satisfy this one.
+	 *
+	 * @return The negation of the condition
+	 */
+	public default RowPredicate negate() {
+		return row -> !test(row);
+	}
+
+	/**
+	 * Returns the loose condition of {@link Table#filter(Object)}: the key, or
+	 * any field, equals the target or has the same string form. Null fields
+	 * never match.
+	 *
+	 * @param target The value to look for in every column
+	 * @return The condition on rows
+	 * @throws IllegalArgumentException if the target is null
+	 */
+	public static RowPredicate matches(Object target) {
+		if (target == null) {
+			throw new IllegalArgumentException("Target cannot be null");
+		}
+		String text = target.toString();
+		return row -> {
+			if (row.key().equals(text)) {
+				return true;
+			}
+			for (Object field : row.fields()) {
+				if (field != null && (field.equals(target) || field.toString().equals(text))) {
+					return true;
+				}
+			}
+			return false;
+		};
+	}
+
+	/**
+	 * Returns a condition on the value of a single column.
+	 *
+	 * @param column    The index of the column, 0 for the key
+	 * @param predicate The condition on the column's value, which may be null
+	 * @return The condition on rows
+	 * @throws IllegalArgumentException if the index is negative
+	 */
+	public static RowPredicate on(int column, Predicate<Object> predicate) {
+		if (column < 0) {
+			throw new IllegalArgumentException("Column index cannot be negative.");
+		}
+		if (column == 0) {
+			return row -> predicate.test(row.key());
+		}
+		int field = column - 1;
+		return row -> predicate.test(row.fields().get(field));
+	}
+
+	/**
+	 * Returns a condition satisfied by rows whose column equals a value.
+	 *
+	 * @param column The index of the column, 0 for the key
+	 * @param value  The value to match
+	 * @return The condition on rows
+	 * @throws IllegalArgumentException if the index is negative or the value
+	 *                                  is null
+	 */
+	public static RowPredicate equalTo(int column, Object value) {
+		if (value == null) {
+			throw new IllegalArgumentException("Value cannot be null.");
+		}
+		if (value instanceof Number) {
+			return on(column, field -> field instanceof Number && compareNumbers((Number) field, (Number) value) == 0);
+		}
+		return on(column, value::equals);
+	}
+
+	/**
+	 * Returns a condition satisfied by rows whose column is less than a value
+	 * of the same kind.
+	 *
+	 * @param column The index of the column, 0 for the key
+	 * @param value  The bound, a number or another comparable value
+	 * @return The condition on rows
+	 * @throws IllegalArgumentException if the index is negative or the value
+	 *                                  is null
+	 */
+	public static RowPredicate lessThan(int column, Comparable<?> value) {
+		return compared(column, value, -1);
+	}
+
+	/**
+	 * Returns a condition satisfied by rows whose column is greater than a
+	 * value of the same kind.
+	 *
+	 * @param column The index of the column, 0 for the key
+	 * @param value  The bound, a number or another comparable value
+	 * @return The condition on rows
+	 * @throws IllegalArgumentException if the index is negative or the value
+	 *                                  is null
+	 */
+	public static RowPredicate greaterThan(int column, Comparable<?> value) {
+		return compared(column, value, 1);
+	}
+
+	/**
+	 * Returns a condition satisfied by rows whose column compares to a value
+	 * with the given sign. Values of another kind than the bound never match.
+	 *
+	 * @param column The index of the column, 0 for the key
+	 * @param value  The bound
+	 * @param sign   -1 to match smaller values, 1 to match greater ones
+	 * @return The condition on rows
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static RowPredicate compared(int column, Comparable<?> value, int sign) {
+		if (value == null) {
+			throw new IllegalArgumentException("Value cannot be null.");
+		}
+		if (value instanceof Number) {
+			Number bound = (Number) value;
+			return on(column, field -> field instanceof Number
+					&& Integer.signum(compareNumbers((Number) field, bound)) == sign);
+		}
+		Class<?> type = value.getClass();
+		Comparable bound = value;
+		return on(column, field -> field != null && field.getClass() == type
+				&& Integer.signum(((Comparable) field).compareTo(bound)) == sign);
+	}
+
+	/**
+	 * Compares two numbers by value, exactly for integral types and as doubles
+	 * otherwise.
+	 *
+	 * @param a The first number
+	 * @param b The second number
+	 * @return A negative, zero or positive number as a is less than, equal to
+	 *         or greater than b
+	 */
+	private static int compareNumbers(Number a, Number b) {
+		if (isIntegral(a) && isIntegral(b)) {
+			return Long.compare(a.longValue(), b.longValue());
+		}
+		return Double.compare(a.doubleValue(), b.doubleValue());
+	}
+
+	/**
+	 * Checks if a number is of a boxed integral type.
+	 *
+	 * @param n The number to check
+	 * @return True if the number is a Long, Integer, Short or Byte
+	 */
+	private static boolean isIntegral(Number n) {
+		return n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte;
+	}
+}
@@ -0,0 +1,147 @@
+package models;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A read-only view of a row in its encoded form, as written by
+ * {@link Row#encode(ByteBuffer)}, that decodes fields only as they are read.
+ * <p>
+ * The view shares the bytes of the buffer it wraps, whether on the heap,
+ * direct, or memory-mapped, and never copies them. The first field read walks
+ * the encoding once to record where each field starts, skipping payloads
+ * without decoding them; after that, reading a field decodes that field alone.
+ * A view is safe to read from several threads.
+ */
+public final class RowView {
+	private final ByteBuffer buffer;
+	private final int count;
+	private final int keyOffset;
+	private volatile int[] offsets;
+
+	/**
+	 * Constructs a view of the row encoded in the remaining bytes of a buffer,
+	 * without changing the buffer's position.
+	 *
+	 * @param buffer The buffer holding the encoded row
+	 * @throws IllegalArgumentException if the bytes are not in the current row
+	 *                                  encoding
+	 */
+	public RowView(ByteBuffer buffer) {
+		this.buffer = buffer.slice();
+		ByteBuffer header = this.buffer.duplicate();
+		byte version = header.get();
+		if (version != Row.VERSION) {
+			throw new IllegalArgumentException("Unsupported row encoding version: " + version);
+		}
+		this.count = Row.getVarint(header);
+		this.keyOffset = header.position();
+	}
+
+	/**
+	 * Returns the key of the row, decoding it from the view.
+	 *
+	 * @return The key of the row
+	 */
+	public String key() {
+		return Row.getString(buffer.duplicate().position(keyOffset));
+	}
+
+	/**
+	 * Returns the number of fields in the row, which is one less than its degree.
+	 *
+	 * @return The number of fields
+	 */
+	public int fieldCount() {
+		return count;
+	}
+
+	/**
+	 * Returns a single field of the row, decoding only that field.
+	 *
+	 * @param index The index of the field, from 0 to fieldCount() - 1
+	 * @return The decoded field
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public Object field(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Field index " + index + " out of bounds for " + count + " fields");
+		}
+		return Row.decodeObject(buffer.duplicate().position(offsets()[index]));
+	}
+
+	/**
+	 * Returns the start of each field, recording them on first use in a single
+	 * pass that skips over the payloads.
+	 *
+	 * @return The offset of each field's tag in the view
+	 */
+	private int[] offsets() {
+		int[] table = offsets;
+		if (table == null) {
+			ByteBuffer walker = buffer.duplicate().position(keyOffset);
+			int keyLength = Row.getVarint(walker);
+			walker.position(walker.position() + keyLength);
+			table = new int[count];
+			for (int i = 0; i < count; i++) {
+				table[i] = walker.position();
+				Row.skipObject(walker);
+			}
+			offsets = table;
+		}
+		return table;
+	}
+
+	/**
+	 * Decodes the whole row onto the heap.
+	 *
+	 * @return The row the view holds
+	 */
+	public Row toRow() {
+		return Row.decode(buffer.duplicate());
+	}
+
+	/**
+	 * Returns the number of bytes of the encoded row the view spans.
+	 *
+	 * @return The length of the view in bytes
+	 */
+	public int length() {
+		return buffer.remaining();
+	}
+
+	/**
+	 * Checks if this view holds the same encoded bytes as another.
+	 *
+	 * @param obj The object to compare to
+	 * @return True if the views hold equal bytes, false otherwise
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof RowView && buffer.equals(((RowView) obj).buffer);
+	}
+
+	/**
+	 * Computes the hash code of the encoded bytes.
+	 *
+	 * @return The hash code of the view
+	 */
+	@Override
+	public int hashCode() {
+		return buffer.hashCode();
+	}
+
+	/**
+	 * Returns a string representation of the row, decoding every field.
+	 *
+	 * @return A string representing the row in the format "key: fields"
+	 */
+	@Override
+	public String toString() {
+		Object[] fields = new Object[count];
+		for (int i = 0; i < count; i++) {
+			fields[i] = field(i);
+		}
+		return key() + ": " + Arrays.asList(fields);
+	}
+}
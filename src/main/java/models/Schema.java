@@ -0,0 +1,425 @@
+package models;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The column types of a table, and a row codec that relies on them instead of
+ * tagging each value with its type.
+ * <p>
+ * The first column is the key and is always a string. An encoded row starts
+ * with a bitmap of its null fields, then holds every fixed-width field at an
+ * offset the schema fixes in advance, with zeros for nulls, then the key and
+ * the non-null string fields, each as a varint length and UTF-8 bytes. A row
+ * of numbers is therefore a flat record that decodes without inspecting tags.
+ */
+public final class Schema {
+
+	/**
+	 * The types a column can hold, with the codec of their fixed encoding.
+	 */
+	public enum Type {
+		/** A string of any length, stored after the fixed-width fields. */
+		STRING(String.class, null),
+		/** A 32-bit Integer. */
+		INTEGER(Integer.class, FixedCodec.INTEGER),
+		/** A 64-bit Long. */
+		LONG(Long.class, FixedCodec.LONG),
+		/** A 32-bit Float. */
+		FLOAT(Float.class, FixedCodec.FLOAT),
+		/** A 64-bit Double. */
+		DOUBLE(Double.class, FixedCodec.DOUBLE),
+		/** A Boolean, stored as one byte. */
+		BOOLEAN(Boolean.class, FixedCodec.BOOLEAN);
+
+		private final Class<?> javaType;
+		private final FixedCodec codec;
+
+		Type(Class<?> javaType, FixedCodec codec) {
+			this.javaType = javaType;
+			this.codec = codec;
+		}
+	}
+
+	/**
+	 * The fixed-width encodings, one for each type but STRING, which is
+	 * stored after them with its length.
+	 */
+	private enum FixedCodec {
+		INTEGER(Integer.BYTES) {
+			@Override
+			Object read(ByteBuffer buffer, int at) {
+				return buffer.getInt(at);
+			}
+
+			@Override
+			void write(ByteBuffer buffer, int at, Object value) {
+				buffer.putInt(at, (Integer) value);
+			}
+		},
+		LONG(Long.BYTES) {
+			@Override
+			Object read(ByteBuffer buffer, int at) {
+				return buffer.getLong(at);
+			}
+
+			@Override
+			void write(ByteBuffer buffer, int at, Object value) {
+				buffer.putLong(at, (Long) value);
+			}
+		},
+		FLOAT(Float.BYTES) {
+			@Override
+			Object read(ByteBuffer buffer, int at) {
+				return buffer.getFloat(at);
+			}
+
+			@Override
+			void write(ByteBuffer buffer, int at, Object value) {
+				buffer.putFloat(at, (Float) value);
+			}
+		},
+		DOUBLE(Double.BYTES) {
+			@Override
+			Object read(ByteBuffer buffer, int at) {
+				return buffer.getDouble(at);
+			}
+
+			@Override
+			void write(ByteBuffer buffer, int at, Object value) {
+				buffer.putDouble(at, (Double) value);
+			}
+		},
+		BOOLEAN(1) {
+			@Override
+			Object read(ByteBuffer buffer, int at) {
+				return buffer.get(at) != 0;
+			}
+
+			@Override
+			void write(ByteBuffer buffer, int at, Object value) {
+				buffer.put(at, (Boolean) value ? (byte) 1 : (byte) 0);
+			}
+		};
+
+		private final int width;
+
+		FixedCodec(int width) {
+			this.width = width;
+		}
+
+		/**
+		 * Reads a value at an absolute position.
+		 *
+		 * @param buffer The buffer to read from
+		 * @param at     The position of the value
+		 * @return The value
+		 */
+		abstract Object read(ByteBuffer buffer, int at);
+
+		/**
+		 * Writes a value at an absolute position.
+		 *
+		 * @param buffer The buffer to write to
+		 * @param at     The position of the value
+		 * @param value  The value, not null
+		 */
+		abstract void write(ByteBuffer buffer, int at, Object value);
+	}
+
+	private final List<String> columns;
+	private final List<Type> types;
+	private final Type[] fieldTypes;
+	// The fixed-width fields with their codecs and offsets in a row, and the string fields
+	private final int[] fixedFields;
+	private final FixedCodec[] fixedCodecs;
+	private final int[] fixedOffsets;
+	private final int[] stringFields;
+	private final int bitmapBytes;
+	private final int fixedBytes;
+
+	/**
+	 * Constructs a schema from the columns of a table and their types.
+	 *
+	 * @param columns The column names, starting with the key column
+	 * @param types   The type of each column, starting with STRING for the key
+	 * @throws IllegalArgumentException if the lists differ in length, are empty,
+	 *                                  or the key column is not a string
+	 */
+	public Schema(List<String> columns, List<Type> types) {
+		if (columns.size() != types.size() || columns.isEmpty()) {
+			throw new IllegalArgumentException("Schema needs one type for each column.");
+		}
+		if (types.get(0) != Type.STRING) {
+			throw new IllegalArgumentException("Key column must be a string.");
+		}
+		this.columns = List.copyOf(columns);
+		this.types = List.copyOf(types);
+
+		// Lay out the fixed-width fields after the null bitmap, in column order,
+		// so the codec loops over each kind of field without testing its type
+		fieldTypes = types.subList(1, types.size()).toArray(new Type[0]);
+		bitmapBytes = (fieldTypes.length + 7) / 8;
+		int strings = 0;
+		for (Type type : fieldTypes) {
+			if (type == Type.STRING) {
+				strings++;
+			}
+		}
+		fixedFields = new int[fieldTypes.length - strings];
+		fixedCodecs = new FixedCodec[fixedFields.length];
+		fixedOffsets = new int[fixedFields.length];
+		stringFields = new int[strings];
+		int offset = bitmapBytes;
+		for (int i = 0, f = 0, t = 0; i < fieldTypes.length; i++) {
+			if (fieldTypes[i] == Type.STRING) {
+				stringFields[t++] = i;
+			} else {
+				fixedFields[f] = i;
+				fixedCodecs[f] = fieldTypes[i].codec;
+				fixedOffsets[f] = offset;
+				offset += fixedCodecs[f++].width;
+			}
+		}
+		fixedBytes = offset;
+	}
+
+	/**
+	 * Returns the column names of the schema.
+	 *
+	 * @return The column names
+	 */
+	public List<String> columns() {
+		return columns;
+	}
+
+	/**
+	 * Returns the column types of the schema.
+	 *
+	 * @return The column types
+	 */
+	public List<Type> types() {
+		return types;
+	}
+
+	/**
+	 * Checks that a row has a value of the right type, or null, for each column.
+	 *
+	 * @param row The row to check
+	 * @throws IllegalArgumentException if the row does not match the schema
+	 */
+	private void check(Row row) {
+		List<Object> fields = row.fields();
+		if (fields.size() != fieldTypes.length) {
+			throw new IllegalArgumentException("Number of fields doesn't match the schema.");
+		}
+		for (int i = 0; i < fieldTypes.length; i++) {
+			Object value = fields.get(i);
+			if (value != null && value.getClass() != fieldTypes[i].javaType) {
+				throw new IllegalArgumentException(
+						"Field " + columns.get(i + 1) + " must be of type " + fieldTypes[i] + ": " + value);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of bytes {@link #encode(Row, ByteBuffer)} writes for a row.
+	 *
+	 * @param row The row to measure
+	 * @return The encoded size of the row
+	 * @throws IllegalArgumentException if the row does not match the schema
+	 */
+	public int encodedSize(Row row) {
+		check(row);
+		int total = fixedBytes + Row.stringSize(row.key());
+		for (int i : stringFields) {
+			Object value = row.fields().get(i);
+			if (value != null) {
+				total += Row.stringSize((String) value);
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Encodes a row into the given buffer at its position, advancing it.
+	 *
+	 * @param row    The row to encode
+	 * @param buffer The buffer to encode into
+	 * @throws IllegalArgumentException if the row does not match the schema
+	 */
+	public void encode(Row row, ByteBuffer buffer) {
+		check(row);
+		List<Object> fields = row.fields();
+		int start = buffer.position();
+
+		// Null bitmap, then the fixed-width fields at their offsets
+		for (int b = 0; b < bitmapBytes; b++) {
+			buffer.put(start + b, (byte) 0);
+		}
+		for (int f = 0; f < fixedFields.length; f++) {
+			Object value = fields.get(fixedFields[f]);
+			int at = start + fixedOffsets[f];
+			if (value == null) {
+				setNull(buffer, start, fixedFields[f]);
+				for (int w = 0; w < fixedCodecs[f].width; w++) {
+					buffer.put(at + w, (byte) 0);
+				}
+			} else {
+				fixedCodecs[f].write(buffer, at, value);
+			}
+		}
+
+		// The key and the non-null strings, in column order
+		buffer.position(start + fixedBytes);
+		Row.putString(buffer, row.key());
+		for (int i : stringFields) {
+			Object value = fields.get(i);
+			if (value == null) {
+				setNull(buffer, start, i);
+			} else {
+				Row.putString(buffer, (String) value);
+			}
+		}
+	}
+
+	/**
+	 * Marks a field of an encoded row as null in its bitmap.
+	 *
+	 * @param buffer The buffer holding the row
+	 * @param start  The position of the row
+	 * @param field  The index of the field
+	 */
+	private static void setNull(ByteBuffer buffer, int start, int field) {
+		int at = start + (field >>> 3);
+		buffer.put(at, (byte) (buffer.get(at) | 1 << (field & 7)));
+	}
+
+	/**
+	 * Checks if a field of an encoded row is null.
+	 *
+	 * @param buffer The buffer holding the row
+	 * @param start  The position of the row
+	 * @param field  The index of the field
+	 * @return True if the field is null, false otherwise
+	 */
+	private static boolean isNull(ByteBuffer buffer, int start, int field) {
+		return (buffer.get(start + (field >>> 3)) & 1 << (field & 7)) != 0;
+	}
+
+	/**
+	 * Converts a row into a byte array with this schema.
+	 *
+	 * @param row The row to encode
+	 * @return The encoded row
+	 * @throws IllegalArgumentException if the row does not match the schema
+	 */
+	public byte[] getBytes(Row row) {
+		ByteBuffer buffer = ByteBuffer.allocate(encodedSize(row));
+		encode(row, buffer);
+		return buffer.array();
+	}
+
+	/**
+	 * Decodes one row written by {@link #encode(Row, ByteBuffer)} from the given
+	 * buffer at its position, advancing it past the row.
+	 *
+	 * @param buffer The buffer to decode from
+	 * @return The decoded row
+	 */
+	public Row decode(ByteBuffer buffer) {
+		int start = buffer.position();
+		Object[] fields = new Object[fieldTypes.length];
+		for (int f = 0; f < fixedFields.length; f++) {
+			if (!isNull(buffer, start, fixedFields[f])) {
+				fields[fixedFields[f]] = fixedCodecs[f].read(buffer, start + fixedOffsets[f]);
+			}
+		}
+
+		buffer.position(start + fixedBytes);
+		String key = Row.getString(buffer);
+		for (int i : stringFields) {
+			if (!isNull(buffer, start, i)) {
+				fields[i] = Row.getString(buffer);
+			}
+		}
+		return Row.trusted(key, fields);
+	}
+
+	/**
+	 * Decodes a byte array written by {@link #getBytes(Row)} into a row.
+	 *
+	 * @param bytes The encoded row
+	 * @return The decoded row
+	 */
+	public Row fromBytes(byte[] bytes) {
+		return decode(ByteBuffer.wrap(bytes));
+	}
+
+	/**
+	 * Writes the schema as one line per column of its name and type, for
+	 * storing alongside a table.
+	 *
+	 * @return The lines describing the schema
+	 */
+	public List<String> toLines() {
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < columns.size(); i++) {
+			lines.add(columns.get(i) + ":" + types.get(i));
+		}
+		return lines;
+	}
+
+	/**
+	 * Reads a schema written by {@link #toLines()}.
+	 *
+	 * @param lines The lines describing the schema
+	 * @return The schema
+	 * @throws IllegalArgumentException if a line is malformed or names an unknown type
+	 */
+	public static Schema fromLines(List<String> lines) {
+		List<String> columns = new ArrayList<>();
+		List<Type> types = new ArrayList<>();
+		for (String line : lines) {
+			int colon = line.lastIndexOf(':');
+			if (colon == -1) {
+				throw new IllegalArgumentException("Malformed schema line: " + line);
+			}
+			columns.add(line.substring(0, colon));
+			types.add(Type.valueOf(line.substring(colon + 1)));
+		}
+		return new Schema(columns, types);
+	}
+
+	/**
+	 * Checks if this schema has the same columns and types as another.
+	 *
+	 * @param obj The object to compare to
+	 * @return True if the schemas are equal, false otherwise
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof Schema && columns.equals(((Schema) obj).columns) && types.equals(((Schema) obj).types);
+	}
+
+	/**
+	 * Computes the hash code of the schema.
+	 *
+	 * @return The hash code of the schema
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * columns.hashCode() + types.hashCode();
+	}
+
+	/**
+	 * Returns a string representation of the schema.
+	 *
+	 * @return The columns and their types
+	 */
+	@Override
+	public String toString() {
+		return toLines().toString();
+	}
+}
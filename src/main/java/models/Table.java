@@ -1,9 +1,20 @@
 package models;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-
-import types.HashTable;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import types.ExternalSort;
+import types.FilterView;
+import types.ParallelScan;
+import types.SetOperationView;
+import types.TableView;
+import types.UnionView;
 
 /**
  * An interface representing a table that stores key-value pairs.
@@ -11,156 +22,193 @@ import types.HashTable;
 public interface Table extends Iterable<Row> {
 
 	/**
-	 * Filters rows in the table based on a target value.
+	 * Filters rows in the table based on a target value, keeping the rows
+	 * whose key or any field equals the target or has the same string form.
 	 *
 	 * @param target The target value used for filtering.
-	 * @return A new table containing rows that match the target value.
+	 * @return A lazy view of the rows that match the target value.
 	 * @throws IllegalArgumentException if the target value is null.
 	 */
-	default Table filter(Object target) {
-		// Check if the target value is null and throw an exception if it is.
-		if (target == null) {
-			throw new IllegalArgumentException("Target cannot be null");
+	default TableView filter(Object target) {
+		return filter(RowPredicate.matches(target));
+	}
+
+	/**
+	 * Filters rows in the table on the value of a single column, which is
+	 * passed to the predicate as it is, without converting it to a string.
+	 *
+	 * @param column    The name of the column to test, which may be the key column
+	 * @param predicate The condition on the column's value, which may be null
+	 * @return A lazy view of the rows whose value satisfies the predicate
+	 * @throws IllegalArgumentException if the table has no such column, or the
+	 *                                  predicate is null
+	 */
+	default TableView filter(String column, Predicate<Object> predicate) {
+		if (predicate == null) {
+			throw new IllegalArgumentException("Predicate cannot be null");
 		}
-		// Create a new table (partition) to store filtered rows.
-		Table partition = new HashTable(name() + "_parition",  columns());
-		// Iterate over each row in the current table.
-		for (Row row : this) {
-			boolean includeRow = false;
-			// Check if the key of the row matches the target, or their string representations match.
-			if(row.key().equals(target) || row.key().toString().equals(target.toString())) {
-				includeRow = true;
-			}
-			else {
-				List<Object> rowFields = row.fields();
-				for (Object field : rowFields) {
-					if (field != null && (field.equals(target)) || field.toString().equals(target.toString())){
-						includeRow = true;
-						break;// Break the loop if a match is found in the fields.
-					}
-				}
-			}
-			if (includeRow) {
-				partition.put(row.key(), row.fields());
-			}
+		return filter(RowPredicate.on(columnIndex(column), predicate));
+	}
+
+	/**
+	 * Filters rows in the table with a predicate on whole rows.
+	 * <p>
+	 * The result is a view that tests the rows of this table as they are
+	 * read, so it costs nothing until used and follows later changes to this
+	 * table. Filtering a filtered view again combines both predicates into a
+	 * single pass over this table. Call {@code materialize} on the view for a
+	 * table of its own.
+	 *
+	 * @param predicate The condition rows must satisfy
+	 * @return A lazy view of the rows that satisfy the predicate
+	 * @throws IllegalArgumentException if the predicate is null
+	 */
+	default TableView filter(RowPredicate predicate) {
+		if (predicate == null) {
+			throw new IllegalArgumentException("Predicate cannot be null");
 		}
-		// Return the filtered partition table.
-		return partition;
+		return new FilterView(this, predicate);
 	}
 
+	/**
+	 * Returns the index of a column, for building a {@link RowPredicate}.
+	 *
+	 * @param column The name of the column
+	 * @return The index of the column, 0 for the key column
+	 * @throws IllegalArgumentException if the table has no such column
+	 */
+	default int columnIndex(String column) {
+		int index = columns().indexOf(column);
+		if (index == -1) {
+			throw new IllegalArgumentException("Unknown column: " + column);
+		}
+		return index;
+	}
 
 	/**
-	 * Performs a union operation with another table.
+	 * Performs a union operation with another table. Where both tables hold
+	 * a key, the row of that table wins.
 	 *
 	 * @param thatTable The table to union with
-	 * @return A new table containing rows from both tables
+	 * @return A lazy view of the rows of both tables
 	 * @throws IllegalArgumentException if the degrees of the two tables are not equal
 	 */
-	default Table union (Table thatTable) {
+	default TableView union(Table thatTable) {
 		if (this.degree() != thatTable.degree()) {
 			throw new IllegalArgumentException("Tables have different degrees");
 		}
-		// Create a new table to store the union
-		Table unionTable = new HashTable(name() + "_union", columns());
-
-		// Iterate over each row in this table and add it to the unionTable
-		for (Row row : this) {
-			unionTable.put(row.key(), row.fields());
-		}
-
-		// Iterate over each row in that table and add it to the unionTable
-		for (Row row : this) {
-			unionTable.put(row.key(), row.fields());
-		}
-
-		return unionTable;
-
+		return new UnionView(this, thatTable);
 	}
 
 	/**
 	 * Performs an intersection operation with another table.
 	 *
 	 * @param thatTable The table to intersect with
-	 * @return A new table containing rows that exist in both tables
+	 * @return A lazy view of the rows of this table whose keys exist in that
+	 *         table, which scans each table once per pass
 	 * @throws IllegalArgumentException if the degrees of the two tables are not equal
 	 */
-	default Table intersect (Table thatTable) {
+	default TableView intersect(Table thatTable) {
 		if (this.degree() != thatTable.degree()) {
 			throw new IllegalArgumentException("Tables have different degrees");
 		}
-
-		// Create a new table to store the intersection
-		Table intersectionTable = new HashTable(name() + "_intersection", columns());
-
-		// Iterate over each row in this table
-		for (Row row : this) {
-			String key = row.key();
-			List <Object> fields = row.fields();
-
-			// Check if the corresponding key exists in that table
-			if(thatTable.contains(key)) {
-				intersectionTable.put(key, fields);
-			}
-		}
-
-		return intersectionTable;
+		return new SetOperationView(this, thatTable, true);
 	}
 
 	/**
 	 * Performs a set difference operation with another table.
 	 *
 	 * @param thatTable The table to subtract from this table
-	 * @return A new table containing rows that exist in this table but not in that table
+	 * @return A lazy view of the rows of this table whose keys do not exist in
+	 *         that table, which scans each table once per pass
 	 * @throws IllegalArgumentException if the degrees of the two tables are not equal
 	 */
-	default Table minus(Table thatTable) {
+	default TableView minus(Table thatTable) {
 		if (this.degree() != thatTable.degree()) {
 			throw new IllegalArgumentException("Tables have different degrees");
 		}
+		return new SetOperationView(this, thatTable, false);
+	}
 
-		// Create a new table to store the result of the set difference
-		Table differenceTable = new HashTable(name() + "difference", columns());
+	/**
+	 * Filters rows in the table in parallel on the fork-join pool, splitting
+	 * the table with its spliterator. Tables of fewer rows than
+	 * {@link ParallelScan#THRESHOLD} are filtered sequentially.
+	 *
+	 * @param predicate The condition rows must satisfy, which must be safe to
+	 *                  test from several threads
+	 * @return A hash table with the same rows as {@code filter(predicate)}
+	 * @throws IllegalArgumentException if the predicate is null
+	 */
+	default Table parallelFilter(RowPredicate predicate) {
+		if (predicate == null) {
+			throw new IllegalArgumentException("Predicate cannot be null");
+		}
+		return ParallelScan.filter(this, predicate);
+	}
 
-		// Iterate over each row in this table
-		for (Row row : this) {
-			String key = row.key();
+	/**
+	 * Performs a union operation with another table in parallel.
+	 *
+	 * @param thatTable The table to union with
+	 * @return A hash table with the same rows as {@code union(thatTable)}
+	 * @throws IllegalArgumentException if the degrees of the two tables are not equal
+	 */
+	default Table parallelUnion(Table thatTable) {
+		if (this.degree() != thatTable.degree()) {
+			throw new IllegalArgumentException("Tables have different degrees");
+		}
+		return ParallelScan.union(this, thatTable);
+	}
 
-			// Check if the corresponding key does not exist in that table
-			if(!thatTable.contains(key)) {
-				differenceTable.put(key, row.fields());
-			}
+	/**
+	 * Performs an intersection operation with another table in parallel.
+	 *
+	 * @param thatTable The table to intersect with
+	 * @return A hash table with the same rows as {@code intersect(thatTable)}
+	 * @throws IllegalArgumentException if the degrees of the two tables are not equal
+	 */
+	default Table parallelIntersect(Table thatTable) {
+		if (this.degree() != thatTable.degree()) {
+			throw new IllegalArgumentException("Tables have different degrees");
 		}
+		return ParallelScan.intersect(this, thatTable);
+	}
 
-		return differenceTable;
+	/**
+	 * Performs a set difference operation with another table in parallel.
+	 *
+	 * @param thatTable The table to subtract from this table
+	 * @return A hash table with the same rows as {@code minus(thatTable)}
+	 * @throws IllegalArgumentException if the degrees of the two tables are not equal
+	 */
+	default Table parallelMinus(Table thatTable) {
+		if (this.degree() != thatTable.degree()) {
+			throw new IllegalArgumentException("Tables have different degrees");
+		}
+		return ParallelScan.minus(this, thatTable);
 	}
+
 	/**
 	 * Keep rows in the table that match the target value.
 	 *
 	 * @param target The target value used for filtering.
-	 * @return A new table containing rows that match the target value.
+	 * @return A lazy view of the rows that match the target value.
+	 * @throws IllegalArgumentException if the target value is null.
 	 */
-	default Table keep(Object target) {
-
-		// Filter rows that match the target value
-		Table filteredTable = this.filter(target);
-
-		// Intersect with the filtered partition to keep the common rows
-		return this.intersect(filteredTable);
+	default TableView keep(Object target) {
+		return filter(RowPredicate.matches(target));
 	}
 
 	/**
 	 * Drop rows in the table that match the target value.
 	 *
 	 * @param target The target value used for filtering.
-	 * @return A new table with rows removed that match the target value.
+	 * @return A lazy view of the rows that do not match the target value.
+	 * @throws IllegalArgumentException if the target value is null.
 	 */
-	default Table drop(Object target) {
-
-		// Filter rows that match the target value
-		Table filteredTable = this.filter(target);
-
-		// Subtract the filtered partition to remove the common rows
-		return this.minus(filteredTable);
+	default TableView drop(Object target) {
+		return filter(RowPredicate.matches(target).negate());
 	}
 
 	/**
@@ -236,6 +284,25 @@ public interface Table extends Iterable<Row> {
 	@Override
 	public int hashCode();
 
+	/**
+	 * Computes a 64-bit hash of the table's contents as the sum of the
+	 * {@link Row#contentHash()} of its rows.
+	 * <p>
+	 * Like the hash code, it does not depend on the order of the rows or the
+	 * kind of table, but it is stable across processes and far less likely to
+	 * collide, so two tables with equal content hashes almost surely hold the
+	 * same rows.
+	 *
+	 * @return The content hash of the table
+	 */
+	public default long contentHash() {
+		long sum = 0;
+		for (Row row : this) {
+			sum += row.contentHash();
+		}
+		return sum;
+	}
+
 	/**
 	 * Checks if the table is equal to another object.
 	 *
@@ -253,6 +320,73 @@ public interface Table extends Iterable<Row> {
 	@Override
 	public Iterator<Row> iterator();
 
+	/**
+	 * Returns an iterator over the rows in the table in columnar batches of
+	 * {@link RowBatch#DEFAULT_CAPACITY} rows.
+	 *
+	 * @return An iterator for the batches of rows
+	 */
+	public default Iterator<RowBatch> batchIterator() {
+		return batchIterator(RowBatch.DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Returns an iterator over the rows in the table in columnar batches, in
+	 * the order of {@link #iterator()}. Every batch but the last holds the
+	 * given number of rows, and each is a new batch the caller may keep.
+	 *
+	 * @param capacity The number of rows per batch
+	 * @return An iterator for the batches of rows
+	 * @throws IllegalArgumentException if the capacity is not positive
+	 */
+	public default Iterator<RowBatch> batchIterator(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Batch capacity must be positive.");
+		}
+		Iterator<Row> rows = iterator();
+		Schema schema = schema();
+		return new Iterator<RowBatch>() {
+			private final List<Row> pending = new ArrayList<>(capacity);
+
+			@Override
+			public boolean hasNext() {
+				return rows.hasNext();
+			}
+
+			@Override
+			public RowBatch next() {
+				if (!rows.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				pending.clear();
+				while (pending.size() < capacity && rows.hasNext()) {
+					pending.add(rows.next());
+				}
+				return RowBatch.of(pending, schema);
+			}
+		};
+	}
+
+	/**
+	 * Returns a sequential stream over the rows in the table.
+	 *
+	 * @return A stream of the rows
+	 */
+	public default Stream<Row> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * Returns a parallel stream over the rows in the table, which splits the
+	 * table's backing storage across the common fork-join pool when the
+	 * table's spliterator supports splitting.
+	 *
+	 * @return A parallel stream of the rows
+	 */
+	public default Stream<Row> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
 	/**
 	 * Returns the name of the table.
 	 *
@@ -267,6 +401,15 @@ public interface Table extends Iterable<Row> {
 	 */
 	public List<String> columns();
 
+	/**
+	 * Returns the types of the table's columns, for tables that know them.
+	 *
+	 * @return The schema of the table, or null if the columns are untyped
+	 */
+	default Schema schema() {
+		return null;
+	}
+
 	/**
 	 * Returns a string representation of the table.
 	 *
@@ -345,11 +488,27 @@ public interface Table extends Iterable<Row> {
 	}
 
 	/**
-	 * Returns a sorted iterator for the rows in the table.
+	 * Returns an iterator over the rows in the table in key order.
 	 *
 	 * @return A sorted iterator for the rows
 	 */
 	default Iterator<Row> sortedIterator() {
-		return null; // Placeholder for sorted iterator implementation
+		return sortedIterator(Row.KEY_ORDER);
+	}
+
+	/**
+	 * Returns an iterator over the rows in the table in the given order, with
+	 * rows that compare equal in the order of {@link #iterator()}.
+	 * <p>
+	 * The rows are sorted in memory in runs of bounded size, and tables too
+	 * large for a single run spill their sorted runs to temporary files and
+	 * merge them, so the table need not fit on the heap.
+	 *
+	 * @param comparator The order of the rows
+	 * @return A sorted iterator for the rows
+	 * @throws IllegalStateException if a spilled run cannot be written or read
+	 */
+	default Iterator<Row> sortedIterator(Comparator<? super Row> comparator) {
+		return new ExternalSort(comparator).sort(iterator());
 	}
 }
@@ -0,0 +1,109 @@
+package types;
+
+import java.util.Arrays;
+
+import models.KeyCodec;
+
+/**
+ * A key codec for keys over a fixed alphabet with lengths in a range.
+ * <p>
+ * A key reads as a number in base of the alphabet size, with each character
+ * a digit. Keys of each length take a contiguous block of indices, shortest
+ * first, so the domain is the sum of the alphabet size to the power of each
+ * length and has no gaps.
+ */
+public class AlphabetCodec implements KeyCodec {
+	private static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+
+	private final int[] digits;
+	private final int radix;
+	private final int minLength;
+	private final int maxLength;
+	private final int[] offsets;
+	private final int size;
+
+	/**
+	 * Constructs an AlphabetCodec for the given alphabet and key lengths.
+	 *
+	 * @param alphabet  The characters a key may use, each once.
+	 * @param minLength The shortest key length.
+	 * @param maxLength The longest key length.
+	 * @throws IllegalArgumentException if the alphabet is empty or has repeated
+	 *                                  characters, the lengths are out of
+	 *                                  order, or the domain is too large for an
+	 *                                  array.
+	 */
+	public AlphabetCodec(String alphabet, int minLength, int maxLength) {
+		if (alphabet.isEmpty()) {
+			throw new IllegalArgumentException("Alphabet must not be empty");
+		}
+		if (minLength < 1 || maxLength < minLength) {
+			throw new IllegalArgumentException("Key lengths must satisfy 1 <= minLength <= maxLength");
+		}
+
+		int highest = alphabet.chars().max().getAsInt();
+		digits = new int[highest + 1];
+		Arrays.fill(digits, -1);
+		for (int i = 0; i < alphabet.length(); i++) {
+			char c = alphabet.charAt(i);
+			if (digits[c] != -1) {
+				throw new IllegalArgumentException("Alphabet must not repeat characters");
+			}
+			digits[c] = i;
+		}
+
+		radix = alphabet.length();
+		this.minLength = minLength;
+		this.maxLength = maxLength;
+
+		// Offsets of the block of keys of each length, shortest first
+		offsets = new int[maxLength - minLength + 1];
+		long total = 0;
+		for (int length = minLength; length <= maxLength; length++) {
+			offsets[length - minLength] = (int) total;
+			long block = 1;
+			for (int i = 0; i < length && block <= MAX_SIZE; i++) {
+				block *= radix;
+			}
+			total += block;
+			if (total > MAX_SIZE) {
+				throw new IllegalArgumentException("Key domain is too large for direct addressing");
+			}
+		}
+		size = (int) total;
+	}
+
+	/**
+	 * Returns the number of keys in the domain.
+	 *
+	 * @return The size of the domain.
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Maps a key onto its index by reading it as a number in base of the
+	 * alphabet size.
+	 *
+	 * @param key The key to map.
+	 * @return The index of the key, or -1 if the key is outside the domain.
+	 */
+	@Override
+	public int indexOf(String key) {
+		int length = key.length();
+		if (length < minLength || length > maxLength) {
+			return -1;
+		}
+		int index = 0;
+		for (int i = 0; i < length; i++) {
+			char c = key.charAt(i);
+			if (c >= digits.length || digits[c] == -1) {
+				return -1;
+			}
+			index = index * radix + digits[c];
+		}
+		return offsets[length - minLength] + index;
+	}
+}
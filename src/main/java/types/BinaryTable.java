@@ -18,8 +18,13 @@ import java.util.HexFormat;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import models.Row;
+import models.RowView;
+import models.Schema;
 import models.StoredTable;
 import models.Table;
 
@@ -34,6 +39,7 @@ public class BinaryTable implements StoredTable {
 	private static final boolean CUSTOM_ENCODE = true;
 	private static final boolean ZIP_ARCHIVE = true;
 	private FileSystem zipFileSystem;
+	private Schema schema;
 
 
 	/**
@@ -73,6 +79,25 @@ public class BinaryTable implements StoredTable {
 	 * @param columns The list of columns for the BinaryTable.
 	 */
 	public BinaryTable(String name, List<String> columns) {
+		this(name, columns, null);
+	}
+
+
+	/**
+	 * Constructor for creating a BinaryTable with specified name, columns, and
+	 * column types. Rows of a table with a schema are stored without type tags,
+	 * and the schema is kept in the metadata so reopening the table restores it.
+	 *
+	 * @param name    The name of the BinaryTable.
+	 * @param columns The list of columns for the BinaryTable.
+	 * @param schema  The column types, or null to store rows with type tags.
+	 * @throws IllegalArgumentException if the schema's columns differ from the given columns.
+	 */
+	public BinaryTable(String name, List<String> columns, Schema schema) {
+		if (schema != null && !schema.columns().equals(columns)) {
+			throw new IllegalArgumentException("Schema columns don't match the table columns.");
+		}
+		this.schema = schema;
 		try {
 			if (ZIP_ARCHIVE) {
 				this.root = BASE_DIR.resolve(name +".zip");
@@ -89,6 +114,7 @@ public class BinaryTable implements StoredTable {
 
 				Path columnsFile = metadata.resolve("columns.txt");
 				Files.write(columnsFile, columns);
+				writeSchema();
 
 			} else {
 				this.root = BASE_DIR.resolve(name);
@@ -102,6 +128,7 @@ public class BinaryTable implements StoredTable {
 
 				Path columnsFile = metadata.resolve("columns.txt");
 				Files.write(columnsFile, columns);
+				writeSchema();
 			}
 
 		} catch (IOException e) {
@@ -120,8 +147,8 @@ public class BinaryTable implements StoredTable {
 			// Initialize the root directory based on the ZIP_ARCHIVE flag
 			this.root = ZIP_ARCHIVE ? BASE_DIR.resolve(name +".zip") : BASE_DIR.resolve(name);
 
-			// Check if the root directory exists and is a directory
-			if(!Files.exists(root) || !Files.isDirectory(root)) {
+			// Check if the root exists, as an archive file or as a directory
+			if(ZIP_ARCHIVE ? !Files.isRegularFile(root) : !Files.isDirectory(root)) {
 				throw new IllegalArgumentException("Table root directory does not exist: " + root);
 			}
 
@@ -129,9 +156,7 @@ public class BinaryTable implements StoredTable {
 			// If ZIP_ARCHIVE is true, create a ZIP file system
 			if (ZIP_ARCHIVE) {
 
-				URI zipUri = URI.create("zip.file:" + root.toUri().getPath());
-
-				this.zipFileSystem = FileSystems.newFileSystem(zipUri, Map.of());
+				this.zipFileSystem = FileSystems.newFileSystem(root, Map.of());
 				this.virtualRoot = zipFileSystem.getPath("/");
 
 				this.data = virtualRoot.resolve("data");
@@ -143,6 +168,11 @@ public class BinaryTable implements StoredTable {
 				this.metadata = root.resolve("metadata");
 			}
 
+			Path schemaFile = metadata.resolve("schema.txt");
+			if (Files.exists(schemaFile)) {
+				this.schema = Schema.fromLines(Files.readAllLines(schemaFile));
+			}
+
 		} catch (IOException e) {
 			throw new RuntimeException("Failed to create base directories.");
 
@@ -228,18 +258,34 @@ public class BinaryTable implements StoredTable {
 	}
 
 
+	/**
+	 * Writes the schema to the metadata, or removes a stale one if the table
+	 * has no schema.
+	 *
+	 * @throws IOException if the schema file can't be written or removed.
+	 */
+	private void writeSchema() throws IOException {
+		Path schemaFile = metadata.resolve("schema.txt");
+		if (schema != null) {
+			Files.write(schemaFile, schema.toLines());
+		} else {
+			Files.deleteIfExists(schemaFile);
+		}
+	}
+
+
 	/**
 	 * Writes a Row object to the specified path.
 	 *
 	 * @param path The path to write the Row object.
 	 * @param row  The Row object to be written.
 	 */
-	private static void writeRow(Path path, Row row) {
+	private void writeRow(Path path, Row row) {
 		createParentDirectories(path);
 
 		try {
 			if (CUSTOM_ENCODE) {
-				byte[] rowBytes = row.getBytes();
+				byte[] rowBytes = schema != null ? schema.getBytes(row) : row.getBytes();
 				Files.write(path, rowBytes);
 
 			} else {
@@ -261,11 +307,11 @@ public class BinaryTable implements StoredTable {
 	 * @param path The path from which to read the Row object.
 	 * @return The Row object read from the file.
 	 */
-	private static Row readRow(Path path) {
+	private Row readRow(Path path) {
 		try {
 			if (CUSTOM_ENCODE) {
 				byte[] bytes = Files.readAllBytes(path);
-				return Row.fromBytes(bytes);
+				return schema != null ? schema.fromBytes(bytes) : Row.fromBytes(bytes);
 
 			} else {
 				try (ObjectInputStream in = new ObjectInputStream(Files.newInputStream(path))) {
@@ -278,6 +324,30 @@ public class BinaryTable implements StoredTable {
 	}
 
 
+	/**
+	 * Reads the encoded bytes of a Row from the specified path as a view,
+	 * re-encoding rows stored in an older encoding or with a schema.
+	 *
+	 * @param path The path from which to read the Row.
+	 * @return A view of the Row read from the file.
+	 */
+	private RowView readView(Path path) {
+		if (!CUSTOM_ENCODE || schema != null) {
+			return new RowView(ByteBuffer.wrap(readRow(path).getBytes()));
+		}
+		try {
+			byte[] bytes = Files.readAllBytes(path);
+			try {
+				return new RowView(ByteBuffer.wrap(bytes));
+			} catch (IllegalArgumentException e) {
+				return new RowView(ByteBuffer.wrap(Row.fromBytes(bytes).getBytes()));
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read row from file: " + path, e);
+		}
+	}
+
+
 	/**
 	 * Deletes a Row object file specified by the path.
 	 *
@@ -439,6 +509,25 @@ public class BinaryTable implements StoredTable {
 	}
 
 
+	/**
+	 * Returns a view of the row with the specified key that decodes each field
+	 * only when it is read, instead of decoding the whole row.
+	 *
+	 * @param key The key of the row to view.
+	 * @return A view of the row, or null if the key was not present.
+	 */
+	public RowView view(String key) {
+		String digest = digestFunction(key);
+		Path rowPath = pathOf(digest);
+
+		if (Files.exists(rowPath)) {
+			return readView(rowPath);
+		} else {
+			return null;
+		}
+	}
+
+
 	/**
 	 * Removes the row with the specified key from the BinaryTable.
 	 *
@@ -541,6 +630,64 @@ public class BinaryTable implements StoredTable {
 	}
 
 
+	/**
+	 * Returns a spliterator over the rows of the BinaryTable, which lists the
+	 * row files first so that parallel scans split them evenly and read each
+	 * part's files on their own thread.
+	 *
+	 * @return A sized spliterator over the rows of the BinaryTable.
+	 */
+	@Override
+	public Spliterator<Row> spliterator() {
+		// If the Zip archive flag is true, call the flush method.
+		if (ZIP_ARCHIVE) {
+			flush();
+		}
+
+		List<Path> files;
+		try (Stream<Path> paths = Files.walk(data)) {
+			files = paths.filter(path -> Files.isRegularFile(path)).toList();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return new FileSpliterator(files.spliterator());
+	}
+
+
+	/**
+	 * A spliterator over the rows stored in a list of row files, which splits
+	 * the list and reads each file as its row is reached.
+	 */
+	private final class FileSpliterator implements Spliterator<Row> {
+		private final Spliterator<Path> files;
+
+		FileSpliterator(Spliterator<Path> files) {
+			this.files = files;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Row> action) {
+			return files.tryAdvance(path -> action.accept(readRow(path)));
+		}
+
+		@Override
+		public Spliterator<Row> trySplit() {
+			Spliterator<Path> prefix = files.trySplit();
+			return prefix != null ? new FileSpliterator(prefix) : null;
+		}
+
+		@Override
+		public long estimateSize() {
+			return files.estimateSize();
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL | Spliterator.DISTINCT;
+		}
+	}
+
+
 	/**
 	 * Returns the name of the BinaryTable.
 	 *
@@ -558,6 +705,17 @@ public class BinaryTable implements StoredTable {
 	}
 
 
+	/**
+	 * Returns the column types of the BinaryTable.
+	 *
+	 * @return The schema of the BinaryTable, or null if its rows are stored with type tags.
+	 */
+	@Override
+	public Schema schema() {
+		return schema;
+	}
+
+
 	/**
 	 * Returns the list of columns in the BinaryTable.
 	 *
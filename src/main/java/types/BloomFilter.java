@@ -0,0 +1,64 @@
+package types;
+
+/**
+ * A Bloom filter over string keys, which answers whether a key may have been
+ * added in about ten bits per key, with a false positive rate near one in a
+ * hundred and no false negatives.
+ * <p>
+ * Each key is hashed once to 64 bits, and its bit positions are derived from
+ * the two halves of the hash by double hashing.
+ */
+final class BloomFilter {
+	private static final int BITS_PER_KEY = 10;
+	private static final int HASHES = 7;
+	private static final long MAX_BITS = 1L << 30;
+
+	private final long[] bits;
+	private final int mask;
+
+	/**
+	 * Constructs an empty filter sized for the given number of keys.
+	 *
+	 * @param expected The number of keys the filter will hold
+	 */
+	BloomFilter(int expected) {
+		long wanted = Math.max(64L, (long) expected * BITS_PER_KEY);
+		int size = (int) Math.min(MAX_BITS, Long.highestOneBit(wanted - 1) << 1);
+		this.bits = new long[size >>> 6];
+		this.mask = size - 1;
+	}
+
+	/**
+	 * Adds a key to the filter.
+	 *
+	 * @param key The key to add
+	 */
+	void add(String key) {
+		long hash = MixHash.DEFAULT.hash(key);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < HASHES; i++) {
+			int bit = (h1 + i * h2) & mask;
+			bits[bit >>> 6] |= 1L << bit;
+		}
+	}
+
+	/**
+	 * Checks if a key may have been added to the filter.
+	 *
+	 * @param key The key to check
+	 * @return False if the key was surely never added, true if it may have been
+	 */
+	boolean mightContain(String key) {
+		long hash = MixHash.DEFAULT.hash(key);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < HASHES; i++) {
+			int bit = (h1 + i * h2) & mask;
+			if ((bits[bit >>> 6] & 1L << bit) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,427 @@
+package types;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import models.BoundedTable;
+import models.HashStrategy;
+import models.Row;
+
+/**
+ * A thread-safe hash table that stripes its rows across independently locked
+ * segments, each an open addressing table with double hashing.
+ * <p>
+ * Writers lock only the segment owning the key, so puts and removes on
+ * different segments proceed in parallel, and a segment that outgrows its
+ * load factor bound is rehashed without blocking the other segments. Readers
+ * never lock: slots are read with acquire semantics and written with release
+ * semantics, and a rehashed array is published through a volatile field only
+ * once it is fully built. Iteration, size, and fingerprint are weakly
+ * consistent while writers are active.
+ */
+public class ConcurrentHashTable implements BoundedTable {
+	private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Row[].class);
+	private static final Row TOMBSTONE = new Row(null, null);
+	private static final double LOAD_FACTOR_BOUND = 0.75;
+	private static final int INITIAL_SEGMENT_CAPACITY = 11;
+	private static final int DEFAULT_CONCURRENCY = 16;
+
+	private final Segment[] segments;
+	private final int segmentShift;
+	private final String name;
+	private final List<String> columns;
+	private final int degree;
+	private final HashStrategy strategy;
+
+	/**
+	 * A segment of the table, guarded by its own lock.
+	 */
+	private static final class Segment extends ReentrantLock {
+		private static final long serialVersionUID = 1L;
+
+		volatile Row[] table;
+		volatile int size;
+		volatile int fingerprint;
+		int contamination;
+
+		Segment() {
+			reset();
+		}
+
+		/**
+		 * Resets the segment to its initial state; the caller must hold the lock.
+		 */
+		void reset() {
+			table = new Row[INITIAL_SEGMENT_CAPACITY];
+			size = 0;
+			fingerprint = 0;
+			contamination = 0;
+		}
+	}
+
+	/**
+	 * Constructor to initialize a new ConcurrentHashTable with a given name and columns.
+	 *
+	 * @param name    The name of the table.
+	 * @param columns The list of column names.
+	 */
+	public ConcurrentHashTable(String name, List<String> columns) {
+		this(name, columns, DEFAULT_CONCURRENCY, HashStrategy.fast());
+	}
+
+	/**
+	 * Constructor to initialize a new ConcurrentHashTable with a given name,
+	 * columns, concurrency level, and hash strategy.
+	 *
+	 * @param name        The name of the table.
+	 * @param columns     The list of column names.
+	 * @param concurrency The expected number of concurrent writers, rounded up to a power of 2.
+	 * @param strategy    The strategy used to hash keys.
+	 * @throws IllegalArgumentException if the concurrency level is not positive.
+	 */
+	public ConcurrentHashTable(String name, List<String> columns, int concurrency, HashStrategy strategy) {
+		if (concurrency < 1) {
+			throw new IllegalArgumentException("Concurrency level must be positive.");
+		}
+		int count = Integer.highestOneBit(Math.min(concurrency, 1 << 16) * 2 - 1);
+
+		this.name = name;
+		this.columns = List.copyOf(columns);
+		this.degree = columns.size();
+		this.strategy = strategy;
+		this.segmentShift = 64 - Integer.numberOfTrailingZeros(count);
+		this.segments = new Segment[count];
+		for (int i = 0; i < count; i++) {
+			segments[i] = new Segment();
+		}
+	}
+
+	/**
+	 * Returns the segment owning a key's hash, chosen from its top bits.
+	 *
+	 * @param hash The 64-bit hash of the key.
+	 * @return The owning segment.
+	 */
+	private Segment segmentFor(long hash) {
+		return segmentShift == 64 ? segments[0] : segments[(int) (hash >>> segmentShift)];
+	}
+
+	/**
+	 * Clears the table by resetting every segment, one lock at a time.
+	 */
+	@Override
+	public void clear() {
+		for (Segment segment : segments) {
+			segment.lock();
+			try {
+				segment.reset();
+			} finally {
+				segment.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Rehashes a segment into a new array of the next odd prime capacity past
+	 * double its current one; the caller must hold the segment's lock.
+	 *
+	 * @param segment The segment to rehash.
+	 */
+	private void rehash(Segment segment) {
+		Row[] oldTable = segment.table;
+		int newCapacity = Probing.nextPrime((oldTable.length << 1) + 1);
+
+		// Build the new array privately; readers keep using the old one meanwhile
+		Row[] newTable = new Row[newCapacity];
+		for (Row row : oldTable) {
+			if (row != null && row != TOMBSTONE) {
+				long hash = strategy.hash(row.key());
+				int index = Probing.hashFunction1(hash, newCapacity);
+				int step = Probing.hashFunction2(hash, newCapacity);
+				while (newTable[index] != null) {
+					index = (index + step) % newCapacity;
+				}
+				newTable[index] = row;
+			}
+		}
+
+		// Publish the fully built array through the volatile field
+		segment.contamination = 0;
+		segment.table = newTable;
+	}
+
+	/**
+	 * Inserts a new key-value pair into the table or updates an existing one,
+	 * locking only the segment that owns the key.
+	 *
+	 * @param key    The key for the pair.
+	 * @param fields The values associated with the key.
+	 * @return The previous values associated with the key, or null if the key was not present.
+	 * @throws IllegalArgumentException if the number of fields doesn't match the degree of the table.
+	 */
+	@Override
+	public List<Object> put(String key, List<Object> fields) {
+		if (fields == null || fields.size() != degree - 1) {
+			throw new IllegalArgumentException("Number of fields doesn't match the degree of the table.");
+		}
+
+		Row newRow = new Row(key, fields);
+		long hash = strategy.hash(key);
+		Segment segment = segmentFor(hash);
+
+		segment.lock();
+		try {
+			Row[] table = segment.table;
+			if ((segment.size + segment.contamination) / (double) table.length > LOAD_FACTOR_BOUND) {
+				rehash(segment);
+				table = segment.table;
+			}
+
+			int capacity = table.length;
+			int index = Probing.hashFunction1(hash, capacity);
+			int step = Probing.hashFunction2(hash, capacity);
+			int trackedTombstoneIndex = -1;
+
+			while (table[index] != null) {
+				if (table[index] == TOMBSTONE) {
+					if (trackedTombstoneIndex == -1) {
+						trackedTombstoneIndex = index;
+					}
+				} else if (table[index].key().equals(key)) {
+					Row oldRow = table[index];
+					SLOTS.setRelease(table, index, newRow);
+					segment.fingerprint += newRow.hashCode() - oldRow.hashCode();
+					return oldRow.fields();
+				}
+				index = (index + step) % capacity;
+			}
+
+			if (trackedTombstoneIndex != -1) {
+				SLOTS.setRelease(table, trackedTombstoneIndex, newRow);
+				segment.contamination--;
+			} else {
+				SLOTS.setRelease(table, index, newRow);
+			}
+			segment.size++;
+			segment.fingerprint += newRow.hashCode();
+			return null;
+		} finally {
+			segment.unlock();
+		}
+	}
+
+	/**
+	 * Retrieves the values associated with a given key without locking.
+	 *
+	 * @param key The key to search for.
+	 * @return The values associated with the key, or null if the key was not found.
+	 */
+	@Override
+	public List<Object> get(String key) {
+		long hash = strategy.hash(key);
+		Row[] table = segmentFor(hash).table;
+
+		int capacity = table.length;
+		int index = Probing.hashFunction1(hash, capacity);
+		int step = Probing.hashFunction2(hash, capacity);
+
+		// Bound the probe so a reader never spins, even on a stale array
+		for (int probes = 0; probes < capacity; probes++) {
+			Row row = (Row) SLOTS.getAcquire(table, index);
+			if (row == null) {
+				return null;
+			}
+			if (row != TOMBSTONE && row.key().equals(key)) {
+				return row.fields();
+			}
+			index = (index + step) % capacity;
+		}
+		return null;
+	}
+
+	/**
+	 * Removes the key-value pair associated with a given key, locking only the
+	 * segment that owns the key.
+	 *
+	 * @param key The key to remove.
+	 * @return The values associated with the removed key, or null if the key was not found.
+	 */
+	@Override
+	public List<Object> remove(String key) {
+		long hash = strategy.hash(key);
+		Segment segment = segmentFor(hash);
+
+		segment.lock();
+		try {
+			Row[] table = segment.table;
+			int capacity = table.length;
+			int index = Probing.hashFunction1(hash, capacity);
+			int step = Probing.hashFunction2(hash, capacity);
+
+			while (table[index] != null) {
+				if (table[index] != TOMBSTONE && table[index].key().equals(key)) {
+					Row oldRow = table[index];
+					SLOTS.setRelease(table, index, TOMBSTONE);
+					segment.size--;
+					segment.contamination++;
+					segment.fingerprint -= oldRow.hashCode();
+					return oldRow.fields();
+				}
+				index = (index + step) % capacity;
+			}
+			return null;
+		} finally {
+			segment.unlock();
+		}
+	}
+
+	/**
+	 * Returns the degree of the table.
+	 *
+	 * @return The degree of the table.
+	 */
+	@Override
+	public int degree() {
+		return degree;
+	}
+
+	/**
+	 * Returns the size of the table, summed across segments.
+	 *
+	 * @return The size of the table.
+	 */
+	@Override
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			size += segment.size;
+		}
+		return size;
+	}
+
+	/**
+	 * Returns the capacity of the table, summed across segments.
+	 *
+	 * @return The capacity of the table.
+	 */
+	@Override
+	public int capacity() {
+		int capacity = 0;
+		for (Segment segment : segments) {
+			capacity += segment.table.length;
+		}
+		return capacity;
+	}
+
+	/**
+	 * Computes the hash code for the table, summed across segment fingerprints.
+	 *
+	 * @return The hash code of the table.
+	 */
+	@Override
+	public int hashCode() {
+		int fingerprint = 0;
+		for (Segment segment : segments) {
+			fingerprint += segment.fingerprint;
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * Checks if the table is equal to another object.
+	 *
+	 * @param obj The object to compare to.
+	 * @return True if the table is equal to the object, false otherwise.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof ConcurrentHashTable)) {
+			return false;
+		}
+		return this.hashCode() == obj.hashCode();
+	}
+
+	/**
+	 * Returns a weakly consistent iterator for the rows in the table, which
+	 * never throws on concurrent modification.
+	 *
+	 * @return An iterator for the rows.
+	 */
+	@Override
+	public Iterator<Row> iterator() {
+		return new Iterator<Row>() {
+			private int segmentIndex = 0;
+			private Row[] table = segments[0].table;
+			private int currentIndex = 0;
+			private Row nextRow = advance();
+
+			private Row advance() {
+				while (true) {
+					while (currentIndex < table.length) {
+						Row row = (Row) SLOTS.getAcquire(table, currentIndex++);
+						if (row != null && row != TOMBSTONE) {
+							return row;
+						}
+					}
+					if (++segmentIndex == segments.length) {
+						return null;
+					}
+					table = segments[segmentIndex].table;
+					currentIndex = 0;
+				}
+			}
+
+			@Override
+			public boolean hasNext() {
+				return nextRow != null;
+			}
+
+			@Override
+			public Row next() {
+				if (nextRow == null) {
+					throw new NoSuchElementException();
+				}
+				Row row = nextRow;
+				nextRow = advance();
+				return row;
+			}
+		};
+	}
+
+	/**
+	 * Returns the name of the table.
+	 *
+	 * @return The name of the table.
+	 */
+	@Override
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Returns the columns of the table.
+	 *
+	 * @return The list of column names.
+	 */
+	@Override
+	public List<String> columns() {
+		return columns;
+	}
+
+	/**
+	 * Returns a string representation of the table.
+	 *
+	 * @return A string representation of the table.
+	 */
+	@Override
+	public String toString() {
+		return toTabularView(false);
+	}
+}
@@ -0,0 +1,63 @@
+package types;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import models.HashStrategy;
+
+/**
+ * The original hash strategy of the hash table: a salted SHA-256 digest for
+ * the home slot in the upper 32 bits and a salted FNV-1a hash for the step in
+ * the lower 32 bits.
+ */
+public class DigestHash implements HashStrategy {
+	public static final DigestHash INSTANCE = new DigestHash();
+
+	/**
+	 * Computes the 64-bit hash of the given key.
+	 *
+	 * @param key The key to hash.
+	 * @return The SHA-256 hash in the upper half and the FNV-1a hash in the lower half.
+	 */
+	@Override
+	public long hash(String key) {
+		return (long) digestHash("yourSaltString" + key) << 32 | (fnvHash("salt" + key) & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Computes the first four bytes of the SHA-256 digest of a given string.
+	 *
+	 * @param str The input string.
+	 * @return The computed hash value.
+	 */
+	private static int digestHash(String str) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			byte[] hashBytes = digest.digest(str.getBytes(StandardCharsets.UTF_8));
+			return ByteBuffer.wrap(hashBytes).getInt();
+		} catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException("SHA-256 algorithm not available.");
+		}
+	}
+
+	/**
+	 * Computes the FNV-1a hash value for a given string.
+	 *
+	 * @param str The input string.
+	 * @return The computed hash value.
+	 */
+	private static int fnvHash(String str) {
+		final int fnvOffsetBasis = 0x811C9DC5;
+		final int fnvPrime = 0x01000193;
+
+		int hash = fnvOffsetBasis;
+		for (int i = 0; i < str.length(); i++) {
+			char c = str.charAt(i);
+			hash ^= c;
+			hash *= fnvPrime;
+		}
+		return hash;
+	}
+}
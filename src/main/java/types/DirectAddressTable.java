@@ -0,0 +1,240 @@
+package types;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import models.BoundedTable;
+import models.KeyCodec;
+import models.Row;
+
+/**
+ * A direct-address table for a small, dense domain of keys, generalizing the
+ * lookup table from single letters to any domain a key codec describes.
+ * <p>
+ * The codec maps each key onto its own slot, so put, get and remove are a
+ * single array access with no hashing or probing, and the array is sized
+ * once from the domain and never grows.
+ */
+public class DirectAddressTable implements BoundedTable {
+	private final Row[] slots;
+	private final KeyCodec codec;
+	private final String name;
+	private final List<String> columns;
+	private final int degree;
+	private int size;
+	private int fingerprint;
+
+	/**
+	 * Constructs a DirectAddressTable with the given name, columns, and key codec.
+	 *
+	 * @param name    The name of the table
+	 * @param columns The list of column names
+	 * @param codec   The mapping from keys onto slots
+	 */
+	public DirectAddressTable(String name, List<String> columns, KeyCodec codec) {
+		this.name = name;
+		this.columns = List.copyOf(columns);
+		this.degree = columns.size();
+		this.codec = codec;
+		this.slots = new Row[codec.size()];
+	}
+
+	/**
+	 * Clears the table by emptying every slot.
+	 */
+	@Override
+	public void clear() {
+		Arrays.fill(slots, null);
+		size = 0;
+		fingerprint = 0;
+	}
+
+	/**
+	 * Puts a key-value pair into the slot of its key.
+	 *
+	 * @param key    The key for the pair, which must be in the codec's domain
+	 * @param fields The values associated with the key
+	 * @return The previous values associated with the key, or null if the key was
+	 *         not present
+	 * @throws IllegalArgumentException if the key is outside the domain or the
+	 *                                  number of fields doesn't match the degree
+	 */
+	@Override
+	public List<Object> put(String key, List<Object> fields) {
+		if (fields.size() != degree - 1) {
+			throw new IllegalArgumentException("Number of fields doesn't match the degree of the table.");
+		}
+		int i = codec.indexOf(key);
+		if (i == -1) {
+			throw new IllegalArgumentException("Key is outside the domain of the table: " + key);
+		}
+
+		Row newRow = new Row(key, fields);
+		Row oldRow = slots[i];
+		slots[i] = newRow;
+		if (oldRow != null) {
+			fingerprint += newRow.hashCode() - oldRow.hashCode();
+			return oldRow.fields();
+		}
+		size++;
+		fingerprint += newRow.hashCode();
+		return null;
+	}
+
+	/**
+	 * Gets the values associated with a key.
+	 *
+	 * @param key The key to look up
+	 * @return The values associated with the key, or null if the key is not present
+	 *         or outside the domain
+	 */
+	@Override
+	public List<Object> get(String key) {
+		int i = codec.indexOf(key);
+		if (i == -1 || slots[i] == null) {
+			return null;
+		}
+		return slots[i].fields();
+	}
+
+	/**
+	 * Removes a key-value pair from the table.
+	 *
+	 * @param key The key to remove
+	 * @return The values associated with the key before removal, or null if the key
+	 *         is not present or outside the domain
+	 */
+	@Override
+	public List<Object> remove(String key) {
+		int i = codec.indexOf(key);
+		if (i == -1 || slots[i] == null) {
+			return null;
+		}
+		Row oldRow = slots[i];
+		slots[i] = null;
+		size--;
+		fingerprint -= oldRow.hashCode();
+		return oldRow.fields();
+	}
+
+	/**
+	 * Returns the degree of the table.
+	 *
+	 * @return The degree of the table
+	 */
+	@Override
+	public int degree() {
+		return degree;
+	}
+
+	/**
+	 * Returns the current size of the table.
+	 *
+	 * @return The current size of the table
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the capacity of the table, which is the size of the key domain.
+	 *
+	 * @return The capacity of the table
+	 */
+	@Override
+	public int capacity() {
+		return slots.length;
+	}
+
+	/**
+	 * Returns the fingerprint value.
+	 *
+	 * @return The fingerprint value
+	 */
+	@Override
+	public int hashCode() {
+		return fingerprint;
+	}
+
+	/**
+	 * Checks if the current table is equal to another BoundedTable based on the
+	 * fingerprint.
+	 *
+	 * @param obj The object to compare to
+	 * @return True if the tables are equal, false otherwise
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof BoundedTable) {
+			BoundedTable otherTable = (BoundedTable) obj;
+			return this.fingerprint == otherTable.hashCode();
+		}
+		return false;
+	}
+
+	/**
+	 * Returns an iterator over the occupied slots in index order.
+	 *
+	 * @return An iterator for the table
+	 */
+	@Override
+	public Iterator<Row> iterator() {
+		return new Iterator<Row>() {
+			private int currentIndex = 0;
+			private int remaining = size;
+
+			@Override
+			public boolean hasNext() {
+				if (remaining == 0) {
+					return false; // Skip the empty tail of a sparse domain
+				}
+				while (currentIndex < slots.length && slots[currentIndex] == null) {
+					currentIndex++;
+				}
+				return currentIndex < slots.length;
+			}
+
+			@Override
+			public Row next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				remaining--;
+				return slots[currentIndex++];
+			}
+		};
+	}
+
+	/**
+	 * Returns the name of the table.
+	 *
+	 * @return The name of the table
+	 */
+	@Override
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Returns the list of column names in the table.
+	 *
+	 * @return The list of column names
+	 */
+	@Override
+	public List<String> columns() {
+		return columns;
+	}
+
+	/**
+	 * Returns a string representation of the table.
+	 *
+	 * @return A string representation of the table
+	 */
+	@Override
+	public String toString() {
+		return toTabularView(false);
+	}
+}
@@ -0,0 +1,65 @@
+package types;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import models.KeyCodec;
+
+/**
+ * A key codec for an explicit list of keys, such as the names of a set of
+ * statuses, indexed in list order.
+ * <p>
+ * The keys are held sorted alongside their positions in the list, so a key
+ * is mapped by binary search rather than by hashing.
+ */
+public class EnumerationCodec implements KeyCodec {
+	private final String[] sorted;
+	private final int[] positions;
+
+	/**
+	 * Constructs an EnumerationCodec for the given keys.
+	 *
+	 * @param keys The keys of the domain, without repeats.
+	 * @throws IllegalArgumentException if a key is repeated.
+	 */
+	public EnumerationCodec(List<String> keys) {
+		Integer[] order = new Integer[keys.size()];
+		for (int i = 0; i < order.length; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparing(keys::get));
+
+		sorted = new String[order.length];
+		positions = new int[order.length];
+		for (int i = 0; i < order.length; i++) {
+			sorted[i] = keys.get(order[i]);
+			positions[i] = order[i];
+			if (i > 0 && sorted[i].equals(sorted[i - 1])) {
+				throw new IllegalArgumentException("Enumeration must not repeat keys");
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of keys in the domain.
+	 *
+	 * @return The size of the domain.
+	 */
+	@Override
+	public int size() {
+		return sorted.length;
+	}
+
+	/**
+	 * Maps a key onto its position in the list.
+	 *
+	 * @param key The key to map.
+	 * @return The index of the key, or -1 if the key is outside the domain.
+	 */
+	@Override
+	public int indexOf(String key) {
+		int i = Arrays.binarySearch(sorted, key);
+		return i >= 0 ? positions[i] : -1;
+	}
+}
@@ -0,0 +1,316 @@
+package types;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+import models.Row;
+
+/**
+ * A stable sort of rows that may not fit in memory, as an external merge sort.
+ * <p>
+ * Rows are gathered into runs of about {@link #DEFAULT_RUN_BYTES} of encoded
+ * rows. Each full run is sorted and spilled to a temporary file as
+ * length-prefixed {@link Row#getBytes()} records. A run that starts no lower
+ * than the previous one ended is appended to its file, so input that is
+ * already in order ends up as a single run. The runs are then merged with a
+ * heap, at most {@link #MAX_FAN_IN} at a time, with the last run merged
+ * straight from memory. Input that fits in one run never touches the disk,
+ * and is not sorted at all if it is already in order.
+ * <p>
+ * Run files are deleted as the merge finishes reading them, and when the
+ * virtual machine exits if an iterator is abandoned early.
+ */
+public final class ExternalSort {
+	/**
+	 * The default number of encoded bytes of rows sorted in memory at a time.
+	 */
+	public static final long DEFAULT_RUN_BYTES = 16L << 20;
+
+	/**
+	 * The largest number of runs merged at once, which bounds the number of
+	 * open files.
+	 */
+	public static final int MAX_FAN_IN = 64;
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final Comparator<? super Row> comparator;
+	private final long runBytes;
+
+	/**
+	 * A spilled run: a file of sorted rows and the number of rows it holds.
+	 *
+	 * @param path  The run file
+	 * @param count The number of rows in the file
+	 */
+	private record Run(Path path, long count) {
+	}
+
+	/**
+	 * Constructs a sort in the given order with runs of the default size.
+	 *
+	 * @param comparator The order of the rows
+	 */
+	public ExternalSort(Comparator<? super Row> comparator) {
+		this(comparator, DEFAULT_RUN_BYTES);
+	}
+
+	/**
+	 * Constructs a sort in the given order with runs of the given size.
+	 *
+	 * @param comparator The order of the rows
+	 * @param runBytes   The number of encoded bytes of rows sorted in memory at a time
+	 * @throws IllegalArgumentException if the run size is not positive
+	 */
+	public ExternalSort(Comparator<? super Row> comparator, long runBytes) {
+		if (runBytes <= 0) {
+			throw new IllegalArgumentException("Run size must be positive.");
+		}
+		this.comparator = comparator;
+		this.runBytes = runBytes;
+	}
+
+	/**
+	 * Sorts rows, reading all of them before returning.
+	 *
+	 * @param rows The rows to sort
+	 * @return An iterator over the rows in order, with equal rows in the order
+	 *         they were read
+	 * @throws IllegalArgumentException if the rows do not fit in one run and a
+	 *                                  row has a field of a type rows cannot
+	 *                                  encode, so it cannot be spilled
+	 * @throws IllegalStateException    if a run file cannot be written or read
+	 */
+	public Iterator<Row> sort(Iterator<Row> rows) {
+		List<Run> runs = new ArrayList<>();
+		List<Row> run = new ArrayList<>();
+		Row lastSpilled = null;
+		boolean ordered = true;
+		long bytes = 0;
+		while (rows.hasNext()) {
+			Row row = rows.next();
+			if (ordered && !run.isEmpty() && comparator.compare(run.get(run.size() - 1), row) > 0) {
+				ordered = false;
+			}
+			run.add(row);
+			bytes += sizeOf(row);
+			if (bytes >= runBytes) {
+				if (!ordered) {
+					run.sort(comparator);
+				}
+				// A run that continues the previous one extends its file
+				if (lastSpilled != null && comparator.compare(lastSpilled, run.get(0)) <= 0) {
+					Run previous = runs.remove(runs.size() - 1);
+					write(previous.path(), run, true);
+					runs.add(new Run(previous.path(), previous.count() + run.size()));
+				} else {
+					runs.add(spill(run));
+				}
+				lastSpilled = run.get(run.size() - 1);
+				run = new ArrayList<>();
+				ordered = true;
+				bytes = 0;
+			}
+		}
+		if (!ordered) {
+			run.sort(comparator);
+		}
+		if (runs.isEmpty()) {
+			return run.iterator();
+		}
+
+		// Merge the earliest runs into one until the rest can be merged at once
+		while (runs.size() + 1 > MAX_FAN_IN) {
+			List<Run> group = runs.subList(0, MAX_FAN_IN);
+			List<Iterator<Row>> sources = new ArrayList<>();
+			for (Run spilled : group) {
+				sources.add(read(spilled));
+			}
+			Run merged = spill(new MergeIterator(sources, comparator));
+			group.clear();
+			runs.add(0, merged);
+		}
+		List<Iterator<Row>> sources = new ArrayList<>();
+		for (Run spilled : runs) {
+			sources.add(read(spilled));
+		}
+		sources.add(run.iterator());
+		return new MergeIterator(sources, comparator);
+	}
+
+	/**
+	 * Measures a row by its encoded size, or estimates the size of a row that
+	 * cannot be encoded. Such a row only fails the sort if its run is spilled,
+	 * so input that fits in memory may hold any type of field.
+	 *
+	 * @param row The row to measure
+	 * @return The number of bytes the row takes in a run
+	 */
+	private static long sizeOf(Row row) {
+		try {
+			return row.encodedSize();
+		} catch (IllegalArgumentException e) {
+			return row.key().length() + 16L * (row.fields().size() + 1);
+		}
+	}
+
+	/**
+	 * Writes sorted rows to a new run file.
+	 *
+	 * @param rows The rows to write, in order
+	 * @return The run
+	 */
+	private static Run spill(Iterable<Row> rows) {
+		Path path;
+		try {
+			path = Files.createTempFile("rows", ".run");
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to create a sort run file", e);
+		}
+		path.toFile().deleteOnExit();
+		return new Run(path, write(path, rows, false));
+	}
+
+	/**
+	 * Spills the rows of an iterator to a new run file.
+	 *
+	 * @param rows The rows to write, in order
+	 * @return The run
+	 */
+	private static Run spill(Iterator<Row> rows) {
+		return spill(() -> rows);
+	}
+
+	/**
+	 * Writes rows to a run file as length-prefixed encoded records.
+	 *
+	 * @param path   The run file
+	 * @param rows   The rows to write, in order
+	 * @param append True to add to the end of the file, false to replace it
+	 * @return The number of rows written
+	 */
+	private static long write(Path path, Iterable<Row> rows, boolean append) {
+		StandardOpenOption mode = append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+		long count = 0;
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.WRITE, mode), BUFFER_SIZE))) {
+			for (Row row : rows) {
+				byte[] bytes = row.getBytes();
+				out.writeInt(bytes.length);
+				out.write(bytes);
+				count++;
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to write sort run: " + path, e);
+		}
+		return count;
+	}
+
+	/**
+	 * Opens a run file for reading, deleting it once all of its rows are read.
+	 *
+	 * @param run The run to read
+	 * @return An iterator over the rows of the run
+	 */
+	private static Iterator<Row> read(Run run) {
+		DataInputStream in;
+		try {
+			in = new DataInputStream(new BufferedInputStream(
+					Files.newInputStream(run.path(), StandardOpenOption.DELETE_ON_CLOSE), BUFFER_SIZE));
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read sort run: " + run.path(), e);
+		}
+		return new Iterator<Row>() {
+			private long remaining = run.count();
+
+			@Override
+			public boolean hasNext() {
+				return remaining > 0;
+			}
+
+			@Override
+			public Row next() {
+				if (remaining == 0) {
+					throw new NoSuchElementException();
+				}
+				try {
+					byte[] bytes = new byte[in.readInt()];
+					in.readFully(bytes);
+					if (--remaining == 0) {
+						in.close();
+					}
+					return Row.fromBytes(bytes);
+				} catch (IOException e) {
+					throw new IllegalStateException("Failed to read sort run: " + run.path(), e);
+				}
+			}
+		};
+	}
+
+	/**
+	 * A k-way merge of sorted sources with a heap of their next rows, which
+	 * takes equal rows from earlier sources first.
+	 */
+	private static final class MergeIterator implements Iterator<Row> {
+		private final PriorityQueue<Source> heap;
+
+		/**
+		 * A source of rows with its next row and its position among the sources.
+		 */
+		private static final class Source {
+			private final Iterator<Row> rows;
+			private final int index;
+			private Row head;
+
+			Source(Iterator<Row> rows, int index) {
+				this.rows = rows;
+				this.index = index;
+				this.head = rows.next();
+			}
+		}
+
+		MergeIterator(List<Iterator<Row>> sources, Comparator<? super Row> comparator) {
+			Comparator<Source> order = (a, b) -> {
+				int result = comparator.compare(a.head, b.head);
+				return result != 0 ? result : Integer.compare(a.index, b.index);
+			};
+			heap = new PriorityQueue<>(Math.max(1, sources.size()), order);
+			for (int i = 0; i < sources.size(); i++) {
+				if (sources.get(i).hasNext()) {
+					heap.add(new Source(sources.get(i), i));
+				}
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !heap.isEmpty();
+		}
+
+		@Override
+		public Row next() {
+			Source source = heap.poll();
+			if (source == null) {
+				throw new NoSuchElementException();
+			}
+			Row row = source.head;
+			if (source.rows.hasNext()) {
+				source.head = source.rows.next();
+				heap.add(source);
+			}
+			return row;
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package types;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import models.Row;
+import models.RowPredicate;
+import models.Table;
+
+/**
+ * A view of the rows of a table that satisfy a predicate.
+ * <p>
+ * Lookups check the source row alone, and iteration tests each row of the
+ * source as it passes, so no row is copied. Filtering the view again gives a
+ * view of the same source with both predicates, so a chain of filters, keeps
+ * and drops runs as one pass over the source.
+ */
+public class FilterView extends TableView {
+	private final Table source;
+	private final RowPredicate predicate;
+
+	/**
+	 * Constructs a view of the rows of a table that satisfy a predicate.
+	 *
+	 * @param source    The table to filter
+	 * @param predicate The condition rows must satisfy
+	 */
+	public FilterView(Table source, RowPredicate predicate) {
+		super(source.name() + "_filter", source.columns());
+		this.source = source;
+		this.predicate = predicate;
+	}
+
+	/**
+	 * Filters the view further, by filtering its source with both predicates.
+	 *
+	 * @param next The condition rows must also satisfy
+	 * @return A lazy view of the source rows that satisfy both predicates
+	 * @throws IllegalArgumentException if the predicate is null
+	 */
+	@Override
+	public TableView filter(RowPredicate next) {
+		if (next == null) {
+			throw new IllegalArgumentException("Predicate cannot be null");
+		}
+		return new FilterView(source, predicate.and(next));
+	}
+
+	/**
+	 * Retrieves the fields of a row of the source if it satisfies the predicate.
+	 *
+	 * @param key The key to search for
+	 * @return The fields of the row, or null if it is absent or filtered out
+	 */
+	@Override
+	public List<Object> get(String key) {
+		List<Object> fields = source.get(key);
+		return fields != null && predicate.test(new Row(key, fields)) ? fields : null;
+	}
+
+	/**
+	 * Returns an iterator over the rows of the source that satisfy the
+	 * predicate, in the source's order.
+	 *
+	 * @return An iterator for the view
+	 */
+	@Override
+	public Iterator<Row> iterator() {
+		Iterator<Row> rows = source.iterator();
+		return new Iterator<Row>() {
+			private Row next = advance();
+
+			private Row advance() {
+				while (rows.hasNext()) {
+					Row row = rows.next();
+					if (predicate.test(row)) {
+						return row;
+					}
+				}
+				return null;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public Row next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+				Row row = next;
+				next = advance();
+				return row;
+			}
+		};
+	}
+}
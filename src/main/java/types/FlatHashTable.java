@@ -0,0 +1,380 @@
+package types;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import models.BoundedTable;
+import models.HashStrategy;
+import models.Row;
+
+/**
+ * A hash table with the same double hashing scheme as {@link HashTable}, laid
+ * out as parallel arrays: an int array of cached hash tags alongside the array
+ * of rows.
+ * <p>
+ * Probing compares tags first and reads a row, and then its key, only when the
+ * tags match, so long probe sequences stay within the tag array instead of
+ * chasing a pointer per slot. Empty and tombstone slots are marked in the tag
+ * array too, so they are skipped without touching the rows at all.
+ */
+public class FlatHashTable implements BoundedTable {
+	private static final int INITIAL_CAPACITY = 43;
+	private static final double LOAD_FACTOR_BOUND = 0.75;
+	private static final int EMPTY = 0;
+	private static final int TOMBSTONE = 1;
+
+	private int[] tags;
+	private Row[] rows;
+	private final String name;
+	private final List<String> columns;
+	private final int degree;
+	private final HashStrategy strategy;
+	private int size;
+	private int capacity;
+	private int fingerprint;
+	private int contamination;
+
+	/**
+	 * Constructor to initialize a new FlatHashTable with a given name and columns.
+	 *
+	 * @param name    The name of the table.
+	 * @param columns The list of column names.
+	 */
+	public FlatHashTable(String name, List<String> columns) {
+		this(name, columns, HashStrategy.fast());
+	}
+
+	/**
+	 * Constructor to initialize a new FlatHashTable with a given name, columns, and hash strategy.
+	 *
+	 * @param name     The name of the table.
+	 * @param columns  The list of column names.
+	 * @param strategy The strategy used to hash keys.
+	 */
+	public FlatHashTable(String name, List<String> columns, HashStrategy strategy) {
+		this.name = name;
+		this.columns = List.copyOf(columns);
+		this.degree = columns.size();
+		this.strategy = strategy;
+		clear();
+	}
+
+	/**
+	 * Clears the table, resetting it to its initial state.
+	 */
+	@Override
+	public void clear() {
+		capacity = INITIAL_CAPACITY;
+		tags = new int[capacity];
+		rows = new Row[capacity];
+		size = 0;
+		fingerprint = 0;
+		contamination = 0;
+	}
+
+	@Override
+	public double loadFactor() {
+		return (size + contamination) / (double) capacity;
+	}
+
+	/**
+	 * Computes the tag cached for a key's hash, folding both halves and
+	 * remapping the values reserved for empty and tombstone slots.
+	 *
+	 * @param hash The 64-bit hash of the key.
+	 * @return The tag of the key.
+	 */
+	private static int tagOf(long hash) {
+		int tag = (int) (hash ^ (hash >>> 32));
+		return tag == EMPTY || tag == TOMBSTONE ? tag + 2 : tag;
+	}
+
+	/**
+	 * Rehash the table into parallel arrays of the next odd prime capacity past double the current one.
+	 */
+	private void rehash() {
+		int[] oldTags = tags;
+		Row[] oldRows = rows;
+
+		int newCapacity = Probing.nextPrime((capacity << 1) + 1);
+
+		capacity = newCapacity;
+		tags = new int[newCapacity];
+		rows = new Row[newCapacity];
+		contamination = 0;
+
+		// Move each live row, skipping empty and tombstone slots by tag alone
+		for (int i = 0; i < oldTags.length; i++) {
+			if (oldTags[i] != EMPTY && oldTags[i] != TOMBSTONE) {
+				long hash = strategy.hash(oldRows[i].key());
+				int index = Probing.hashFunction1(hash, capacity);
+				int step = Probing.hashFunction2(hash, capacity);
+				while (tags[index] != EMPTY) {
+					index = (index + step) % capacity;
+				}
+				tags[index] = oldTags[i];
+				rows[index] = oldRows[i];
+			}
+		}
+	}
+
+	/**
+	 * Finds the slot holding a given key, comparing keys only on a tag match.
+	 *
+	 * @param key  The key to search for.
+	 * @param hash The 64-bit hash of the key.
+	 * @return The index of the slot holding the key, or -1 if the key was not found.
+	 */
+	private int indexOf(String key, long hash) {
+		int tag = tagOf(hash);
+		int index = Probing.hashFunction1(hash, capacity);
+		int step = Probing.hashFunction2(hash, capacity);
+
+		while (tags[index] != EMPTY) {
+			if (tags[index] == tag && rows[index].key().equals(key)) {
+				return index;
+			}
+			index = (index + step) % capacity;
+		}
+		return -1;
+	}
+
+	/**
+	 * Inserts a new key-value pair into the table or updates an existing one.
+	 *
+	 * @param key    The key for the pair.
+	 * @param fields The values associated with the key.
+	 * @return The previous values associated with the key, or null if the key was not present.
+	 * @throws IllegalArgumentException if the number of fields doesn't match the degree of the table.
+	 */
+	@Override
+	public List<Object> put(String key, List<Object> fields) {
+		if (fields == null || fields.size() != degree - 1) {
+			throw new IllegalArgumentException("Number of fields doesn't match the degree of the table.");
+		}
+
+		if (loadFactor() > LOAD_FACTOR_BOUND) {
+			rehash();
+		}
+
+		Row newRow = new Row(key, fields);
+		long hash = strategy.hash(key);
+		int tag = tagOf(hash);
+		int index = Probing.hashFunction1(hash, capacity);
+		int step = Probing.hashFunction2(hash, capacity);
+		int trackedTombstoneIndex = -1;
+
+		while (tags[index] != EMPTY) {
+			if (tags[index] == TOMBSTONE) {
+				if (trackedTombstoneIndex == -1) {
+					trackedTombstoneIndex = index;
+				}
+			} else if (tags[index] == tag && rows[index].key().equals(key)) {
+				Row oldRow = rows[index];
+				rows[index] = newRow;
+				fingerprint += newRow.hashCode() - oldRow.hashCode();
+				return oldRow.fields();
+			}
+			index = (index + step) % capacity;
+		}
+
+		if (trackedTombstoneIndex != -1) {
+			index = trackedTombstoneIndex;
+			contamination--;
+		}
+		tags[index] = tag;
+		rows[index] = newRow;
+		size++;
+		fingerprint += newRow.hashCode();
+		return null;
+	}
+
+	/**
+	 * Retrieves the values associated with a given key.
+	 *
+	 * @param key The key to search for.
+	 * @return The values associated with the key, or null if the key was not found.
+	 */
+	@Override
+	public List<Object> get(String key) {
+		int index = indexOf(key, strategy.hash(key));
+		return index != -1 ? rows[index].fields() : null;
+	}
+
+	/**
+	 * Removes the key-value pair associated with a given key.
+	 *
+	 * @param key The key to remove.
+	 * @return The values associated with the removed key, or null if the key was not found.
+	 */
+	@Override
+	public List<Object> remove(String key) {
+		int index = indexOf(key, strategy.hash(key));
+		if (index == -1) {
+			return null;
+		}
+
+		Row oldRow = rows[index];
+		tags[index] = TOMBSTONE;
+		rows[index] = null;
+		size--;
+		contamination++;
+		fingerprint -= oldRow.hashCode();
+		return oldRow.fields();
+	}
+
+	/**
+	 * Computes the mean probe distance of the rows from their home slots by
+	 * walking the table. A successful get visits one slot more than the
+	 * distance of its row.
+	 *
+	 * @return The average probe length, or 0 if the table is empty.
+	 */
+	public double averageProbeLength() {
+		long total = 0;
+		for (int index = 0; index < capacity; index++) {
+			if (tags[index] != EMPTY && tags[index] != TOMBSTONE) {
+				total += distanceTo(strategy.hash(rows[index].key()), index);
+			}
+		}
+		return size == 0 ? 0 : (double) total / size;
+	}
+
+	/**
+	 * Counts the probe steps from a key's home slot to a slot on its probe sequence.
+	 *
+	 * @param hash  The 64-bit hash of the key.
+	 * @param index The slot to reach.
+	 * @return The probe distance of the slot.
+	 */
+	private int distanceTo(long hash, int index) {
+		int slot = Probing.hashFunction1(hash, capacity);
+		int step = Probing.hashFunction2(hash, capacity);
+		int distance = 0;
+		while (slot != index) {
+			slot = (slot + step) % capacity;
+			distance++;
+		}
+		return distance;
+	}
+
+	/**
+	 * Returns the degree of the table.
+	 *
+	 * @return The degree of the table.
+	 */
+	@Override
+	public int degree() {
+		return degree;
+	}
+
+	/**
+	 * Returns the size of the table.
+	 *
+	 * @return The size of the table.
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the capacity of the table.
+	 *
+	 * @return The capacity of the table.
+	 */
+	@Override
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * Computes the hash code for the table.
+	 *
+	 * @return The hash code of the table.
+	 */
+	@Override
+	public int hashCode() {
+		return fingerprint;
+	}
+
+	/**
+	 * Checks if the table is equal to another object.
+	 *
+	 * @param obj The object to compare to.
+	 * @return True if the table is equal to the object, false otherwise.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof FlatHashTable)) {
+			return false;
+		}
+		FlatHashTable otherTable = (FlatHashTable) obj;
+		return this.fingerprint == otherTable.fingerprint;
+	}
+
+	/**
+	 * Returns an iterator for the rows in the table, skipping free slots by tag.
+	 *
+	 * @return An iterator for the rows.
+	 */
+	@Override
+	public Iterator<Row> iterator() {
+		return new Iterator<Row>() {
+			private int currentIndex = 0;
+
+			@Override
+			public boolean hasNext() {
+				while (currentIndex < capacity) {
+					if (tags[currentIndex] != EMPTY && tags[currentIndex] != TOMBSTONE) {
+						return true;
+					}
+					currentIndex++;
+				}
+				return false;
+			}
+
+			@Override
+			public Row next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return rows[currentIndex++];
+			}
+		};
+	}
+
+	/**
+	 * Returns the name of the table.
+	 *
+	 * @return The name of the table.
+	 */
+	@Override
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Returns the columns of the table.
+	 *
+	 * @return The list of column names.
+	 */
+	@Override
+	public List<String> columns() {
+		return columns;
+	}
+
+	/**
+	 * Returns a string representation of the table.
+	 *
+	 * @return A string representation of the table.
+	 */
+	@Override
+	public String toString() {
+		return toTabularView(false);
+	}
+}
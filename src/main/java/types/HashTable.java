@@ -1,18 +1,20 @@
 package types;
 
-import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 import models.BoundedTable;
+import models.HashStrategy;
 import models.Row;
+import models.Table;
 
 public class HashTable implements BoundedTable {
 	private Row[] table;
+	private Row[] oldTable;
 	private String name;
 	private List<String> columns;
 	private int degree;
@@ -20,9 +22,14 @@ public class HashTable implements BoundedTable {
 	private int capacity;
 	private int fingerprint;
 	private int contamination;
+	private int initialCapacity;
+	private int migrationIndex;
+	private boolean incremental;
+	private HashStrategy strategy;
 	private final static int INITIAL_CAPACITY = 43;
 	private static final Row TOMBSTONE = new Row(null, null);
 	private static final double LOAD_FACTOR_BOUND = 0.75;
+	private static final int MIGRATION_STEP = 16;
 
 	/**
 	 * Constructor to initialize a new HashTable with a given name and columns.
@@ -31,9 +38,70 @@ public class HashTable implements BoundedTable {
 	 * @param columns The list of column names.
 	 */
 	public HashTable(String name, List<String> columns) {
+		this(name, columns, HashStrategy.fast());
+	}
+
+	/**
+	 * Constructor to initialize a new HashTable with a given name, columns, and hash strategy.
+	 *
+	 * @param name     The name of the table.
+	 * @param columns  The list of column names.
+	 * @param strategy The strategy used to hash keys.
+	 */
+	public HashTable(String name, List<String> columns, HashStrategy strategy) {
+		this(name, columns, strategy, false);
+	}
+
+	/**
+	 * Constructor to initialize a new HashTable with a given name, columns, hash strategy, and rehash mode.
+	 * <p>
+	 * In incremental mode, growing the table allocates the new array but leaves the rows
+	 * in the old one, and each later put or remove migrates a bounded number of old slots,
+	 * so no single operation pays for the whole rehash.
+	 *
+	 * @param name        The name of the table.
+	 * @param columns     The list of column names.
+	 * @param strategy    The strategy used to hash keys.
+	 * @param incremental True to rehash incrementally, false to rehash all at once.
+	 */
+	public HashTable(String name, List<String> columns, HashStrategy strategy, boolean incremental) {
+		this(name, columns, strategy, incremental, 0);
+	}
+
+	/**
+	 * Constructor to initialize a new HashTable with a given name and columns, sized up front
+	 * to hold an expected number of rows without rehashing.
+	 *
+	 * @param name         The name of the table.
+	 * @param columns      The list of column names.
+	 * @param expectedSize The number of rows the table is expected to hold.
+	 * @throws IllegalArgumentException if the expected size is negative.
+	 */
+	public HashTable(String name, List<String> columns, int expectedSize) {
+		this(name, columns, HashStrategy.fast(), false, expectedSize);
+	}
+
+	/**
+	 * Constructor to initialize a new HashTable with a given name, columns, hash strategy, and
+	 * rehash mode, sized up front to hold an expected number of rows without rehashing.
+	 *
+	 * @param name         The name of the table.
+	 * @param columns      The list of column names.
+	 * @param strategy     The strategy used to hash keys.
+	 * @param incremental  True to rehash incrementally, false to rehash all at once.
+	 * @param expectedSize The number of rows the table is expected to hold.
+	 * @throws IllegalArgumentException if the expected size is negative.
+	 */
+	public HashTable(String name, List<String> columns, HashStrategy strategy, boolean incremental, int expectedSize) {
+		if (expectedSize < 0) {
+			throw new IllegalArgumentException("Expected size cannot be negative.");
+		}
 		this.name = name;
 		this.columns = List.copyOf(columns);
 		this.degree = columns.size();
+		this.strategy = strategy;
+		this.incremental = incremental;
+		this.initialCapacity = capacityFor(expectedSize);
 		clear();
 	}
 
@@ -42,8 +110,10 @@ public class HashTable implements BoundedTable {
 	 */
 	@Override
 	public void clear() {
-		capacity = INITIAL_CAPACITY;
+		capacity = initialCapacity;
 		table = new Row[capacity];
+		oldTable = null;
+		migrationIndex = 0;
 		size = 0;
 		fingerprint = 0;
 		contamination = 0;
@@ -53,112 +123,168 @@ public class HashTable implements BoundedTable {
 	public double loadFactor() {
 		return (size + contamination) / (double) capacity;
 	}
+
+	/**
+	 * Checks if the table is midway through an incremental rehash.
+	 *
+	 * @return True if rows remain in the old array, false otherwise.
+	 */
+	public boolean isRehashing() {
+		return oldTable != null;
+	}
+
 	/**
 	 * Rehash the table by doubling its capacity and finding a new prime capacity.
 	 */
 	private void rehash() {
-		Row[] oldTable = table; // Step 1: Keep a backup reference to the old array
-		int newCapacity = (capacity << 1) + 1; // Double the capacity and add 1 (integer math)
+		resize(Probing.nextPrime((capacity << 1) + 1), incremental); // Double the capacity and add 1 (integer math)
+	}
 
-		while (!isPrime(newCapacity)) {
-			newCapacity += 2; // Keep adding 2 until it's prime again
+	/**
+	 * Resize the table to a given capacity, moving every row at once or, if deferred,
+	 * keeping the old array aside for incremental migration.
+	 *
+	 * @param newCapacity The new capacity, which must be prime.
+	 * @param deferred    True to migrate the rows incrementally, false to move them now.
+	 */
+	private void resize(int newCapacity, boolean deferred) {
+		// Finish any migration still in progress before growing again
+		while (oldTable != null) {
+			migrate();
 		}
 
+		Row[] previousTable = table; // Step 1: Keep a backup reference to the old array
+
 		// Step 2: Reassign the array field to reference a new array with the new capacity
 		table = new Row[newCapacity];
+		capacity = newCapacity;
 
-		// Step 3: Reinitialize the size, fingerprint, and contamination to 0
-		size = 0;
-		fingerprint = 0;
+		// Step 3: Reinitialize the contamination to 0, since the new array has no tombstones
 		contamination = 0;
 
-		// Step 4: Rehash each row from the old array, skipping nulls and tombstones
-		for (Row row : oldTable) {
-			if (row != null && row != TOMBSTONE) {
-				put(row.key(), row.fields()); // Rehash the row into the new array
+		// Step 4: Move each row from the old array, skipping nulls and tombstones
+		if (deferred) {
+			oldTable = previousTable;
+			migrationIndex = 0;
+		} else {
+			for (Row row : previousTable) {
+				if (row != null && row != TOMBSTONE) {
+					transfer(row);
+				}
 			}
 		}
 	}
 
-
-
 	/**
-	 * Check if a number is prime.
+	 * Computes the smallest prime capacity that holds a given number of rows within the load factor bound.
 	 *
-	 * @param n The number to check for primality.
-	 * @return True if the number is prime, false otherwise.
+	 * @param rows The number of rows to hold.
+	 * @return The capacity for that many rows, at least the initial capacity.
 	 */
-	private boolean isPrime(int n) {
-		if (n <= 1) {
-			return false;
-		}
-		if (n <= 3) {
-			return true;
-		}
-		if (n % 2 == 0 || n % 3 == 0) {
-			return false;
+	private static int capacityFor(long rows) {
+		long needed = (long) Math.ceil(rows / LOAD_FACTOR_BOUND) + 1;
+		if (needed > Integer.MAX_VALUE - 2) {
+			throw new IllegalArgumentException("Too many rows for a single table: " + rows);
 		}
-		for (int i = 5; i * i <= n; i += 6) {
-			if (n % i == 0 || n % (i + 2) == 0) {
-				return false;
+		return Probing.nextPrime(Math.max(INITIAL_CAPACITY, (int) needed | 1));
+	}
+
+	/**
+	 * Migrates the next bounded run of slots from the old array into the current one.
+	 */
+	private void migrate() {
+		int end = Math.min(migrationIndex + MIGRATION_STEP, oldTable.length);
+		for (; migrationIndex < end; migrationIndex++) {
+			Row row = oldTable[migrationIndex];
+			if (row != null && row != TOMBSTONE) {
+				transfer(row);
+				oldTable[migrationIndex] = TOMBSTONE; // Keep probe chains intact for unmigrated rows
 			}
 		}
-		return true;
+		if (migrationIndex == oldTable.length) {
+			oldTable = null;
+		}
 	}
 
 	/**
-	 * Computes the secondary hash value for a given key using the FNV-1a hash algorithm.
+	 * Places a row known to be absent from the current array into its first free slot,
+	 * leaving the size and fingerprint unchanged.
 	 *
-	 * @param key The key for which to compute the secondary hash.
-	 * @return The computed secondary hash value.
+	 * @param row The row to place.
 	 */
-	private int hashFunction2(String key) {
-		String saltedKey = "salt" + key;
-
-		int hash = fnvHash(saltedKey);
+	private void transfer(Row row) {
+		long hash = strategy.hash(row.key());
+		int index = Probing.hashFunction1(hash, capacity);
+		int startIndex = Probing.hashFunction2(hash, capacity);
 
-		return 1 + (Math.floorMod(hash, capacity - 1));
+		while (table[index] != null && table[index] != TOMBSTONE) {
+			index = (index + startIndex) % capacity;
+		}
+		if (table[index] == TOMBSTONE) {
+			contamination--;
+		}
+		table[index] = row;
 	}
 
-
 	/**
-	 * Computes the FNV-1a hash value for a given string.
+	 * Finds the slot holding a given key in a given array.
 	 *
-	 * @param str The input string.
-	 * @return The computed hash value.
+	 * @param array The array to search.
+	 * @param key   The key to search for.
+	 * @param hash  The 64-bit hash of the key.
+	 * @return The index of the slot holding the key, or -1 if the key was not found.
 	 */
-	private int fnvHash(String str) {
-		final int fnvOffsetBasis = 0x811C9DC5;
-		final int fnvPrime = 0x01000193;
+	private static int indexOf(Row[] array, String key, long hash) {
+		int index = Probing.hashFunction1(hash, array.length);
+		int startIndex = Probing.hashFunction2(hash, array.length);
 
-		int hash = fnvOffsetBasis;
-		for(int i =0; i < str.length(); i++) {
-			char c = str.charAt(i);
-			hash ^= c;
-			hash *= fnvPrime;
+		while (array[index] != null) {
+			if (array[index] != TOMBSTONE && array[index].key().equals(key)) {
+				return index;
+			}
+			index = (index + startIndex) % array.length;
 		}
-		return hash;
+		return -1;
 	}
+
 	/**
-	 * Computes the primary hash value for a given key using a cryptographic hash function.
+	 * Computes the mean probe distance of the rows from their home slots by
+	 * walking the table, including rows not yet migrated by an incremental
+	 * rehash. A successful get visits one slot more than the distance of its
+	 * row.
 	 *
-	 * @param key The key for which to compute the primary hash.
-	 * @return The computed primary hash value.
+	 * @return The average probe length, or 0 if the table is empty.
 	 */
-	private int hashFunction1(String key) {
-
-		String saltedKey = "yourSaltString" + key; // Use your own salt string
+	public double averageProbeLength() {
+		long total = 0;
+		for (Row[] array : oldTable != null ? new Row[][] { oldTable, table } : new Row[][] { table }) {
+			for (int index = 0; index < array.length; index++) {
+				Row row = array[index];
+				if (row != null && row != TOMBSTONE) {
+					total += distanceTo(strategy.hash(row.key()), index, array.length);
+				}
+			}
+		}
+		return size == 0 ? 0 : (double) total / size;
+	}
 
-		int hashCode;
-		try {
-			MessageDigest digest = MessageDigest.getInstance("SHA-256");
-			byte[] hashBytes = digest.digest(saltedKey.getBytes(StandardCharsets.UTF_8));
-			ByteBuffer buffer = ByteBuffer.wrap(hashBytes);
-			hashCode = Math.floorMod(buffer.getInt(), capacity);
-		} catch (NoSuchAlgorithmException e) {
-			throw new RuntimeException("SHA-256 algorithm not available.");
+	/**
+	 * Counts the probe steps from a key's home slot to a slot on its probe sequence.
+	 *
+	 * @param hash     The 64-bit hash of the key.
+	 * @param index    The slot to reach.
+	 * @param capacity The capacity of the array being probed.
+	 * @return The probe distance of the slot.
+	 */
+	private static int distanceTo(long hash, int index, int capacity) {
+		int slot = Probing.hashFunction1(hash, capacity);
+		int startIndex = Probing.hashFunction2(hash, capacity);
+		int distance = 0;
+		while (slot != index) {
+			slot = (slot + startIndex) % capacity;
+			distance++;
 		}
-		return hashCode;
+		return distance;
 	}
 
 	/**
@@ -175,14 +301,42 @@ public class HashTable implements BoundedTable {
 			throw new IllegalArgumentException("Number of fields doesn't match the degree of the table.");
 		}
 
+		if (oldTable != null) {
+			migrate(); // Pay down part of an incremental rehash
+		}
+
 		if (loadFactor() > LOAD_FACTOR_BOUND) {
 			rehash(); // Rehash if load factor exceeds the bound
 		}
 
-		Row newRow = new Row(key, fields);
+		return insert(new Row(key, fields));
+	}
+
+	/**
+	 * Inserts a row into the table or replaces the row with the same key,
+	 * without checking its degree or the load factor.
+	 *
+	 * @param newRow The row to insert.
+	 * @return The previous values associated with the key, or null if the key was not present.
+	 */
+	private List<Object> insert(Row newRow) {
+		String key = newRow.key();
+		long hash = strategy.hash(key);
+
+		// A key not yet migrated moves to the current array on update
+		if (oldTable != null) {
+			int oldIndex = indexOf(oldTable, key, hash);
+			if (oldIndex != -1) {
+				Row oldRow = oldTable[oldIndex];
+				oldTable[oldIndex] = TOMBSTONE;
+				transfer(newRow);
+				fingerprint += newRow.hashCode() - oldRow.hashCode();
+				return oldRow.fields();
+			}
+		}
 
-		int index = hashFunction1(key);
-		int startIndex = hashFunction2(key);
+		int index = Probing.hashFunction1(hash, capacity);
+		int startIndex = Probing.hashFunction2(hash, capacity);
 		int trackedTombstoneIndex = -1; // Track tombstone index
 
 		while (table[index] != null) {
@@ -215,6 +369,58 @@ public class HashTable implements BoundedTable {
 		}
 	}
 
+	/**
+	 * Inserts or updates every row of another table, sizing the array once for
+	 * the combined rows instead of rehashing repeatedly.
+	 *
+	 * @param thatTable The table whose rows to insert.
+	 * @throws IllegalArgumentException if the degrees of the two tables are not equal.
+	 */
+	public void putAll(Table thatTable) {
+		if (thatTable.degree() != degree) {
+			throw new IllegalArgumentException("Tables have different degrees");
+		}
+		putAll(thatTable, thatTable.size());
+	}
+
+	/**
+	 * Inserts or updates every given row, sizing the array once up front when
+	 * the number of rows is known and reusing the rows as they are.
+	 *
+	 * @param rows The rows to insert.
+	 * @throws IllegalArgumentException if any row has the wrong number of fields.
+	 */
+	public void putAll(Iterable<Row> rows) {
+		putAll(rows, rows instanceof Collection<?> collection ? collection.size() : 0);
+	}
+
+	/**
+	 * Inserts or updates every given row after reserving room for an expected
+	 * number of them, checking the load factor only once that many have been inserted.
+	 *
+	 * @param rows     The rows to insert.
+	 * @param expected The expected number of rows.
+	 */
+	private void putAll(Iterable<Row> rows, int expected) {
+		int needed = capacityFor((long) size + contamination + expected);
+		if (needed > capacity) {
+			resize(needed, false);
+		}
+
+		int reserved = expected;
+		for (Row row : rows) {
+			if (row.fields() == null || row.fields().size() != degree - 1) {
+				throw new IllegalArgumentException("Number of fields doesn't match the degree of the table.");
+			}
+			if (reserved > 0) {
+				reserved--;
+			} else if (loadFactor() > LOAD_FACTOR_BOUND) {
+				rehash(); // Fall back to growing as usual past the reserved rows
+			}
+			insert(row);
+		}
+	}
+
 	/**
 	 * Retrieves the values associated with a given key.
 	 *
@@ -223,50 +429,57 @@ public class HashTable implements BoundedTable {
 	 */
 	@Override
 	public List<Object> get(String key) {
-		int index = hashFunction1(key);
-		int startIndex = hashFunction2(key);
+		long hash = strategy.hash(key);
 
-		while (table[index] != null) {
-			if (table[index] == TOMBSTONE) {
-				// Skip tombstones and continue to the next loop
-				index = (index + startIndex) % capacity;
-
-				continue;
-			}
+		int index = indexOf(table, key, hash);
+		if (index != -1) {
+			return table[index].fields();
+		}
 
-			if (table[index].key().equals(key)) {
-				return table[index].fields();
+		if (oldTable != null) {
+			index = indexOf(oldTable, key, hash);
+			if (index != -1) {
+				return oldTable[index].fields();
 			}
-
-			index = (index + startIndex) % capacity;
-
-
 		}
 		return null;
 	}
 
 
+	/**
+	 * Removes the key-value pair associated with a given key.
+	 *
+	 * @param key The key to remove.
+	 * @return The values associated with the removed key, or null if the key was not found.
+	 */
 	@Override
 	public List<Object> remove(String key) {
-		int index = hashFunction1(key);
-		int startIndex = hashFunction2(key);
+		if (oldTable != null) {
+			migrate(); // Pay down part of an incremental rehash
+		}
 
-		while (table[index] != null) {
-			if (table[index] == TOMBSTONE) {
-				// Skip tombstones
-				index = (index + startIndex) % capacity;
-				continue;
-			}
+		long hash = strategy.hash(key);
 
-			if (table[index].key().equals(key)) {
-				Row oldRow = table[index];
-				table[index] = TOMBSTONE;
+		int index = indexOf(table, key, hash);
+		if (index != -1) {
+			Row oldRow = table[index];
+			table[index] = TOMBSTONE;
+			size--;
+			contamination++;
+			fingerprint += TOMBSTONE.hashCode() - oldRow.hashCode();
+			return oldRow.fields();
+		}
+
+		// The old array is discarded once drained, so its tombstones are not contamination
+		if (oldTable != null) {
+			index = indexOf(oldTable, key, hash);
+			if (index != -1) {
+				Row oldRow = oldTable[index];
+				oldTable[index] = TOMBSTONE;
 				size--;
-				contamination++;
-				fingerprint += TOMBSTONE.hashCode() - oldRow.hashCode();
+				fingerprint -= oldRow.hashCode();
 				return oldRow.fields();
 			}
-			index = (index + startIndex) % capacity;
 		}
 
 		return null;
@@ -332,24 +545,32 @@ public class HashTable implements BoundedTable {
 	}
 
 	/**
-	 * Returns an iterator for the rows in the table.
+	 * Returns an iterator for the rows in the table, including rows not yet
+	 * migrated by an incremental rehash.
 	 *
 	 * @return An iterator for the rows.
 	 */
 	@Override
 	public Iterator<Row> iterator() {
 		return new Iterator<Row>() {
+			private Row[] array = oldTable != null ? oldTable : table;
 			private int currentIndex = 0;
 
 			@Override
 			public boolean hasNext() {
-				while (currentIndex < capacity) {
-					if (table[currentIndex] != null && table[currentIndex] != TOMBSTONE) {
-						return true;
+				while (true) {
+					while (currentIndex < array.length) {
+						if (array[currentIndex] != null && array[currentIndex] != TOMBSTONE) {
+							return true;
+						}
+						currentIndex++;
+					}
+					if (array == table) {
+						return false;
 					}
-					currentIndex++;
+					array = table; // Continue from the old array into the current one
+					currentIndex = 0;
 				}
-				return false;
 			}
 
 			@Override
@@ -357,14 +578,92 @@ public class HashTable implements BoundedTable {
 				if (!hasNext()) {
 					throw new NoSuchElementException();
 				}
-				while (currentIndex < capacity && (table[currentIndex] == null || table[currentIndex] == TOMBSTONE)) {
-					currentIndex++;
-				}
-				return table[currentIndex++];
+				return array[currentIndex++];
 			}
 		};
 	}
 
+	/**
+	 * Returns a spliterator over the slots of the table, which splits the
+	 * backing arrays by index range without copying them.
+	 *
+	 * @return A spliterator for the rows.
+	 */
+	@Override
+	public Spliterator<Row> spliterator() {
+		Row[] first = oldTable != null ? oldTable : table;
+		Row[] second = oldTable != null ? table : new Row[0];
+		return new SlotSpliterator(first, second, 0, first.length + second.length, size);
+	}
+
+	/**
+	 * A spliterator over a range of slots spanning the old array, if any, followed
+	 * by the current one, skipping nulls and tombstones.
+	 */
+	private static final class SlotSpliterator implements Spliterator<Row> {
+		private final Row[] first;
+		private final Row[] second;
+		private int origin;
+		private final int fence;
+		private long estimate;
+
+		SlotSpliterator(Row[] first, Row[] second, int origin, int fence, long estimate) {
+			this.first = first;
+			this.second = second;
+			this.origin = origin;
+			this.fence = fence;
+			this.estimate = estimate;
+		}
+
+		private Row slot(int i) {
+			return i < first.length ? first[i] : second[i - first.length];
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Row> action) {
+			while (origin < fence) {
+				Row row = slot(origin++);
+				if (row != null && row != TOMBSTONE) {
+					action.accept(row);
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super Row> action) {
+			for (; origin < fence; origin++) {
+				Row row = slot(origin);
+				if (row != null && row != TOMBSTONE) {
+					action.accept(row);
+				}
+			}
+		}
+
+		@Override
+		public Spliterator<Row> trySplit() {
+			int mid = (origin + fence) >>> 1;
+			if (mid <= origin) {
+				return null;
+			}
+			// Hand off the lower half and assume the rows are spread evenly
+			SlotSpliterator prefix = new SlotSpliterator(first, second, origin, mid, estimate >>>= 1);
+			origin = mid;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return estimate;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.NONNULL | Spliterator.DISTINCT;
+		}
+	}
+
 	/**
 	 * Returns the name of the table.
 	 *
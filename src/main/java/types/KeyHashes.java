@@ -0,0 +1,146 @@
+package types;
+
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * A compact array of key hash codes kept in step with the rows of a search
+ * table, so a lookup compares ints first and only calls equals on a match.
+ * <p>
+ * Each implementation owns its array, so it can lay it out for its own scan.
+ * The vector one, used when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector}, pads the array to load a full
+ * vector from any index in range; the scalar one, used otherwise, keeps it at
+ * the table's capacity.
+ */
+abstract class KeyHashes {
+	private static final IntFunction<KeyHashes> FACTORY = loadFactory();
+
+	int[] codes;
+
+	/**
+	 * Constructs hash codes over an array sized by the implementation.
+	 *
+	 * @param codes The array to hold the codes
+	 */
+	KeyHashes(int[] codes) {
+		this.codes = codes;
+	}
+
+	/**
+	 * Returns an empty array of hash codes of the best implementation the JVM
+	 * supports.
+	 *
+	 * @param capacity The number of codes to hold
+	 * @return The array of hash codes
+	 */
+	static KeyHashes withCapacity(int capacity) {
+		return FACTORY.apply(capacity);
+	}
+
+	/**
+	 * Loads the vector implementation if its module is present, or the scalar
+	 * one if not.
+	 *
+	 * @return The constructor of the implementation to use
+	 */
+	private static IntFunction<KeyHashes> loadFactory() {
+		try {
+			Constructor<? extends KeyHashes> vector = Class.forName("types.VectorKeyHashes")
+					.asSubclass(KeyHashes.class).getDeclaredConstructor(int.class);
+			vector.newInstance(1); // Fails here, not at first use, without the module
+			return capacity -> {
+				try {
+					return vector.newInstance(capacity);
+				} catch (ReflectiveOperationException e) {
+					throw new IllegalStateException(e);
+				}
+			};
+		} catch (ReflectiveOperationException | LinkageError e) {
+			return Scalar::new;
+		}
+	}
+
+	/**
+	 * Finds the first index at or after a given one, and before a bound,
+	 * holding a given hash code.
+	 *
+	 * @param code The hash code to find
+	 * @param from The first index to scan, inclusive
+	 * @param to   The last index to scan, exclusive, at most the capacity
+	 * @return The index of the hash code, or -1 if it is not in the range
+	 */
+	abstract int indexOf(int code, int from, int to);
+
+	/**
+	 * Grows the array to hold a given number of codes, keeping its contents.
+	 *
+	 * @param capacity The new capacity
+	 */
+	abstract void resize(int capacity);
+
+	/**
+	 * Sets the hash code at an index.
+	 *
+	 * @param index The index to set
+	 * @param code  The hash code to store
+	 */
+	final void set(int index, int code) {
+		codes[index] = code;
+	}
+
+	/**
+	 * Moves the hash code at an index to the front, shifting the ones before it
+	 * back by one, to mirror a move-to-front of the rows.
+	 *
+	 * @param index The index to move
+	 */
+	final void moveToFront(int index) {
+		int code = codes[index];
+		System.arraycopy(codes, 0, codes, 1, index);
+		codes[0] = code;
+	}
+
+	/**
+	 * Swaps the hash codes at two indices.
+	 *
+	 * @param i The first index
+	 * @param j The second index
+	 */
+	final void swap(int i, int j) {
+		int code = codes[i];
+		codes[i] = codes[j];
+		codes[j] = code;
+	}
+
+	/**
+	 * Hash codes scanned one int at a time, in an array of exactly the table's
+	 * capacity.
+	 */
+	static final class Scalar extends KeyHashes {
+		/**
+		 * Constructs an array of hash codes with a given capacity.
+		 *
+		 * @param capacity The initial capacity
+		 */
+		Scalar(int capacity) {
+			super(new int[capacity]);
+		}
+
+		@Override
+		int indexOf(int code, int from, int to) {
+			for (int i = from; i < to; i++) {
+				if (codes[i] == code) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		void resize(int capacity) {
+			codes = Arrays.copyOf(codes, capacity);
+		}
+	}
+}
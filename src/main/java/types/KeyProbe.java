@@ -0,0 +1,106 @@
+package types;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import models.BoundedTable;
+import models.Table;
+
+/**
+ * The keys of a table gathered in memory, so set operations can probe them
+ * instead of looking each key up in the table.
+ * <p>
+ * Up to {@link #BLOOM_THRESHOLD} keys are held in a hash set. A larger
+ * in-memory table is summarized by a Bloom filter instead, which rules out
+ * most absent keys in a few bits per key; the keys it cannot rule out are
+ * looked up in the table to confirm them, which for such a table is a probe
+ * in memory. A table whose size is unknown, such as a stored table or a view,
+ * always has its keys held in a hash set, since a lookup in it may read files
+ * or scan another table.
+ */
+final class KeyProbe {
+	/**
+	 * The number of keys above which a table is summarized by a Bloom filter.
+	 */
+	static final int BLOOM_THRESHOLD = 1 << 22;
+
+	private final Table table;
+	private final Set<String> keys;
+	private final BloomFilter bloom;
+
+	/**
+	 * Constructs an empty probe for the keys of a table, to be filled with
+	 * {@link #add(String)}.
+	 *
+	 * @param table The table the keys come from, for confirming Bloom filter
+	 *              hits if it is in memory
+	 */
+	KeyProbe(Table table) {
+		int expected = estimateSize(table);
+		this.table = table;
+		this.keys = expected <= BLOOM_THRESHOLD ? new HashSet<>(Math.max(16, expected * 4 / 3 + 1)) : null;
+		this.bloom = keys == null ? new BloomFilter(expected) : null;
+	}
+
+	/**
+	 * Gathers the keys of a table in a single scan.
+	 *
+	 * @param table The table to scan
+	 * @return The probe holding the table's keys
+	 */
+	static KeyProbe of(Table table) {
+		KeyProbe probe = new KeyProbe(table);
+		for (var row : table) {
+			probe.add(row.key());
+		}
+		return probe;
+	}
+
+	/**
+	 * Checks if a table keeps its rows in memory and knows its size without a
+	 * scan. A stored table may read every file to count its rows, and a view
+	 * scans its sources.
+	 *
+	 * @param table The table to check
+	 * @return True if the table is in memory, false otherwise
+	 */
+	static boolean knowsSize(Table table) {
+		return table instanceof BoundedTable || table instanceof LookupTable || table instanceof PerfectHashTable;
+	}
+
+	/**
+	 * Returns the size of a table if it knows it without a scan.
+	 *
+	 * @param table The table to measure
+	 * @return The size of the table, or 0 if it is not known without a scan
+	 */
+	static int estimateSize(Table table) {
+		return knowsSize(table) ? table.size() : 0;
+	}
+
+	/**
+	 * Adds a key of the table to the probe.
+	 *
+	 * @param key The key to add
+	 */
+	void add(String key) {
+		if (keys != null) {
+			keys.add(key);
+		} else {
+			bloom.add(key);
+		}
+	}
+
+	/**
+	 * Checks if the table holds a key.
+	 *
+	 * @param key The key to check
+	 * @return True if the table holds the key, false otherwise
+	 */
+	boolean contains(String key) {
+		if (keys != null) {
+			return keys.contains(key);
+		}
+		return bloom.mightContain(key) && table.contains(key);
+	}
+}
@@ -1,9 +1,9 @@
 package types;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.StringJoiner;
 
 import models.Row;
@@ -25,6 +25,9 @@ public class LookupTable implements Table {
 	private int degree; // The degree of the table
 	private String name;
 	private List<String> columns;
+	private int size; // The number of rows, kept on put and remove
+	private int fingerprint; // The sum of the row hash codes, kept on put and remove
+	private long occupied; // Bit i is set when array[i] holds a row
 
 	/**
 	 * Constructs a LookupTable with the given degree.
@@ -44,6 +47,9 @@ public class LookupTable implements Table {
 	@Override
 	public void clear() {
 		array = new Row[54]; // Changed the value from 26 to 54 to account for upper and lower case letters.
+		size = 0;
+		fingerprint = 0;
+		occupied = 0;
 	}
 
 	/**
@@ -92,10 +98,14 @@ public class LookupTable implements Table {
 
 		if (here != null) {
 			array[i] = make;
+			fingerprint += make.hashCode() - here.hashCode();
 			return here.fields();
 		}
 
 		array[i] = make;
+		size++;
+		fingerprint += make.hashCode();
+		occupied |= 1L << i;
 		return null;
 	}
 
@@ -129,6 +139,9 @@ public class LookupTable implements Table {
 
 		if (here != null) {
 			array[i] = null;
+			size--;
+			fingerprint -= here.hashCode();
+			occupied &= ~(1L << i);
 			return here.fields();
 		}
 
@@ -152,33 +165,23 @@ public class LookupTable implements Table {
 	 */
 	@Override
 	public int size() {
-		int size = 0;
-		for (Row row : array) {
-			if (row != null) {
-				size++;
-			}
-		}
 		return size;
 	}
 
 	/**
-	 * Computes the hash code for the table.
+	 * Returns the hash code for the table, which is the sum of the hash codes
+	 * of its rows.
 	 *
 	 * @return The hash code for the table
 	 */
 	@Override
 	public int hashCode() {
-		int fingerprint = 0;
-		for (Row row : array) {
-			if (row != null) {
-				fingerprint += row.hashCode();
-			}
-		}
 		return fingerprint;
 	}
 
 	/**
-	 * Checks if two LookupTables are equal by comparing their arrays of rows.
+	 * Checks if two LookupTables are equal by comparing their arrays of rows,
+	 * after ruling out most unequal tables by size and fingerprint.
 	 *
 	 * @param obj The object to compare to this table
 	 * @return True if the tables are equal, false otherwise
@@ -192,23 +195,42 @@ public class LookupTable implements Table {
 			return false;
 		}
 		LookupTable other = (LookupTable) obj;
+		if (size != other.size || fingerprint != other.fingerprint || occupied != other.occupied) {
+			return false;
+		}
 		return Arrays.equals(array, other.array);
 	}
 
 	/**
-	 * Returns an iterator over the non-null rows in the table.
+	 * Returns an iterator over the non-null rows in the table, which jumps from
+	 * one occupied slot to the next using the occupancy bits.
 	 *
 	 * @return An iterator over the non-null rows in the table
 	 */
 	@Override
 	public Iterator<Row> iterator() {
-		List<Row> rows = new ArrayList<>();
-		for (Row row : array) {
-			if (row != null) {
-				rows.add(row);
+		return new Iterator<Row>() {
+			private long remaining = occupied;
+
+			@Override
+			public boolean hasNext() {
+				// Drop slots emptied since the iterator was created
+				while (remaining != 0 && array[Long.numberOfTrailingZeros(remaining)] == null) {
+					remaining &= remaining - 1;
+				}
+				return remaining != 0;
 			}
-		}
-		return rows.iterator();
+
+			@Override
+			public Row next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				Row row = array[Long.numberOfTrailingZeros(remaining)];
+				remaining &= remaining - 1; // Clear the lowest set bit
+				return row;
+			}
+		};
 	}
 
 	/**
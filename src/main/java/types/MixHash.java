@@ -0,0 +1,54 @@
+package types;
+
+import models.HashStrategy;
+
+/**
+ * A fast, allocation-free hash strategy that multiplies each character into
+ * a 64-bit state and finishes with the MurmurHash3 avalanche step, so every
+ * bit of the result depends on every character of the key.
+ */
+public class MixHash implements HashStrategy {
+	public static final MixHash DEFAULT = new MixHash(0x9E3779B97F4A7C15L);
+	private static final long MULTIPLIER = 0xC6A4A7935BD1E995L;
+	private final long seed;
+
+	/**
+	 * Constructs a MixHash with the given seed.
+	 *
+	 * @param seed The seed mixed into the initial state.
+	 */
+	public MixHash(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Computes the 64-bit hash of the given key.
+	 *
+	 * @param key The key to hash.
+	 * @return The 64-bit hash of the key.
+	 */
+	@Override
+	public long hash(String key) {
+		long h = seed ^ (key.length() * MULTIPLIER);
+		for (int i = 0; i < key.length(); i++) {
+			h = Long.rotateLeft((h ^ key.charAt(i)) * MULTIPLIER, 31);
+		}
+		return avalanche(h);
+	}
+
+	/**
+	 * Applies the MurmurHash3 64-bit finalizer to the given state, which
+	 * rows also use for their content hash.
+	 *
+	 * @param h The state to finalize.
+	 * @return The finalized hash.
+	 */
+	public static long avalanche(long h) {
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB9FE1A85EC53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
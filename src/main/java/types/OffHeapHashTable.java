@@ -0,0 +1,546 @@
+package types;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import models.BoundedTable;
+import models.HashStrategy;
+import models.Row;
+import models.RowView;
+
+/**
+ * A hash table that keeps its rows and its index outside the Java heap, in
+ * direct byte buffers, so the heap footprint stays roughly constant no matter
+ * how many rows it holds.
+ * <p>
+ * Each row is appended to an arena of direct chunks as a record of its
+ * length and its {@link Row#getBytes()} encoding, whose header already holds
+ * the UTF-8 key, so the key is stored only once. The index is another
+ * direct buffer of 16-byte slots, each holding the full 64-bit hash of a key
+ * and the arena address of its record, probed by double hashing over a prime
+ * capacity like {@link HashTable}. Keys are compared byte by byte in the arena,
+ * and a row is decoded onto the heap only when it is returned.
+ * <p>
+ * Records replaced or removed become garbage in the arena; once garbage
+ * outweighs live records, the live records are copied into fresh chunks.
+ */
+public class OffHeapHashTable implements BoundedTable {
+	private static final int INITIAL_CAPACITY = 43;
+	private static final double LOAD_FACTOR_BOUND = 0.75;
+	private static final int SLOT_BYTES = 16;
+	private static final int MIN_CHUNK_SIZE = 1 << 16;
+	private static final int MAX_CHUNK_SIZE = 1 << 26;
+	private static final int MIN_COMPACTION_GARBAGE = 1 << 20;
+	private static final long EMPTY = 0;
+	private static final long TOMBSTONE = -1;
+
+	private ByteBuffer index;
+	private List<ByteBuffer> chunks;
+	private final String name;
+	private final List<String> columns;
+	private final int degree;
+	private final HashStrategy strategy;
+	private int size;
+	private int capacity;
+	private int fingerprint;
+	private int contamination;
+	private long liveBytes;
+	private long garbageBytes;
+
+	/**
+	 * Constructor to initialize a new OffHeapHashTable with a given name and columns.
+	 *
+	 * @param name    The name of the table.
+	 * @param columns The list of column names.
+	 */
+	public OffHeapHashTable(String name, List<String> columns) {
+		this(name, columns, HashStrategy.fast());
+	}
+
+	/**
+	 * Constructor to initialize a new OffHeapHashTable with a given name, columns, and hash strategy.
+	 *
+	 * @param name     The name of the table.
+	 * @param columns  The list of column names.
+	 * @param strategy The strategy used to hash keys.
+	 */
+	public OffHeapHashTable(String name, List<String> columns, HashStrategy strategy) {
+		this.name = name;
+		this.columns = List.copyOf(columns);
+		this.degree = columns.size();
+		this.strategy = strategy;
+		clear();
+	}
+
+	/**
+	 * Clears the table, releasing its buffers to be freed and resetting it to its initial state.
+	 */
+	@Override
+	public void clear() {
+		capacity = INITIAL_CAPACITY;
+		index = ByteBuffer.allocateDirect(capacity * SLOT_BYTES);
+		chunks = new ArrayList<>();
+		size = 0;
+		fingerprint = 0;
+		contamination = 0;
+		liveBytes = 0;
+		garbageBytes = 0;
+	}
+
+	@Override
+	public double loadFactor() {
+		return (size + contamination) / (double) capacity;
+	}
+
+	/**
+	 * Returns the number of bytes held outside the heap by the index and the arena.
+	 *
+	 * @return The off-heap footprint in bytes.
+	 */
+	public long offHeapBytes() {
+		long bytes = index.capacity();
+		for (ByteBuffer chunk : chunks) {
+			bytes += chunk.capacity();
+		}
+		return bytes;
+	}
+
+	/**
+	 * Rehash the index into a new one of the next odd prime capacity past double
+	 * the current one, reusing the stored hashes so no key is read.
+	 */
+	private void rehash() {
+		ByteBuffer oldIndex = index;
+		int oldCapacity = capacity;
+
+		int newCapacity = Probing.nextPrime((capacity << 1) + 1);
+		if ((long) newCapacity * SLOT_BYTES > Integer.MAX_VALUE) {
+			throw new IllegalStateException("Index cannot grow past " + capacity + " slots.");
+		}
+
+		capacity = newCapacity;
+		index = ByteBuffer.allocateDirect(newCapacity * SLOT_BYTES);
+		contamination = 0;
+
+		for (int i = 0; i < oldCapacity; i++) {
+			long address = oldIndex.getLong(i * SLOT_BYTES + 8);
+			if (address != EMPTY && address != TOMBSTONE) {
+				long hash = oldIndex.getLong(i * SLOT_BYTES);
+				int slot = Probing.hashFunction1(hash, capacity);
+				int step = Probing.hashFunction2(hash, capacity);
+				while (addressAt(slot) != EMPTY) {
+					slot = (slot + step) % capacity;
+				}
+				setSlot(slot, hash, address);
+			}
+		}
+	}
+
+	/**
+	 * Reads the record address stored in an index slot.
+	 *
+	 * @param slot The index slot.
+	 * @return The address, or EMPTY or TOMBSTONE.
+	 */
+	private long addressAt(int slot) {
+		return index.getLong(slot * SLOT_BYTES + 8);
+	}
+
+	/**
+	 * Writes a hash and record address into an index slot.
+	 *
+	 * @param slot    The index slot.
+	 * @param hash    The 64-bit hash of the key.
+	 * @param address The address of the record.
+	 */
+	private void setSlot(int slot, long hash, long address) {
+		index.putLong(slot * SLOT_BYTES, hash);
+		index.putLong(slot * SLOT_BYTES + 8, address);
+	}
+
+	/**
+	 * Returns the chunk holding a record address, which packs the chunk number
+	 * plus one into the upper half and the offset into the lower half.
+	 *
+	 * @param address The address of the record.
+	 * @return The chunk holding the record.
+	 */
+	private ByteBuffer chunkOf(long address) {
+		return chunks.get((int) (address >>> 32) - 1);
+	}
+
+	/**
+	 * Appends a record of an encoded row to the arena, starting a new chunk if
+	 * the last one is too full.
+	 *
+	 * @param rowBytes The encoded row.
+	 * @return The address of the record.
+	 */
+	private long append(byte[] rowBytes) {
+		int recordSize = Integer.BYTES + rowBytes.length;
+
+		ByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+		if (chunk == null || chunk.remaining() < recordSize) {
+			int chunkSize = chunk == null ? MIN_CHUNK_SIZE : Math.min(chunk.capacity() * 2, MAX_CHUNK_SIZE);
+			chunk = ByteBuffer.allocateDirect(Math.max(chunkSize, recordSize));
+			chunks.add(chunk);
+		}
+
+		long address = (long) chunks.size() << 32 | chunk.position();
+		chunk.putInt(rowBytes.length).put(rowBytes);
+		liveBytes += recordSize;
+		return address;
+	}
+
+	/**
+	 * Returns the size in bytes of the record at an address.
+	 *
+	 * @param address The address of the record.
+	 * @return The size of the record.
+	 */
+	private int recordSize(long address) {
+		return Integer.BYTES + chunkOf(address).getInt((int) address);
+	}
+
+	/**
+	 * Reads a varint of a row's encoding in place.
+	 *
+	 * @param chunk  The chunk holding the row.
+	 * @param offset The offset of the varint.
+	 * @return The value in the low 32 bits and the offset past the varint in
+	 *         the high 32 bits.
+	 */
+	private static long varintAt(ByteBuffer chunk, int offset) {
+		int n = 0;
+		for (int shift = 0;; shift += 7) {
+			byte b = chunk.get(offset++);
+			n |= (b & 0x7F) << shift;
+			if (b >= 0) {
+				return (long) offset << 32 | n & 0xFFFFFFFFL;
+			}
+		}
+	}
+
+	/**
+	 * Checks if the record at an address has the given key, comparing bytes in place.
+	 *
+	 * @param address  The address of the record.
+	 * @param keyBytes The UTF-8 bytes of the key.
+	 * @return True if the keys match, false otherwise.
+	 */
+	private boolean keyEquals(long address, byte[] keyBytes) {
+		ByteBuffer chunk = chunkOf(address);
+		// Skip the length, version byte and field count of the encoded row
+		int offset = (int) (varintAt(chunk, (int) address + Integer.BYTES + 1) >>> 32);
+		long keyLength = varintAt(chunk, offset);
+		if ((int) keyLength != keyBytes.length) {
+			return false;
+		}
+		offset = (int) (keyLength >>> 32);
+		for (int i = 0; i < keyBytes.length; i++) {
+			if (chunk.get(offset + i) != keyBytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Decodes the row of the record at an address onto the heap.
+	 *
+	 * @param address The address of the record.
+	 * @return The decoded row.
+	 */
+	private Row readRow(long address) {
+		ByteBuffer chunk = chunkOf(address);
+		int offset = (int) address;
+		byte[] rowBytes = new byte[chunk.getInt(offset)];
+		chunk.get(offset + Integer.BYTES, rowBytes);
+		return Row.fromBytes(rowBytes);
+	}
+
+	/**
+	 * Finds the index slot holding a given key.
+	 *
+	 * @param keyBytes The UTF-8 bytes of the key.
+	 * @param hash     The 64-bit hash of the key.
+	 * @return The slot holding the key, or -1 if the key was not found.
+	 */
+	private int slotOf(byte[] keyBytes, long hash) {
+		int slot = Probing.hashFunction1(hash, capacity);
+		int step = Probing.hashFunction2(hash, capacity);
+
+		long address;
+		while ((address = addressAt(slot)) != EMPTY) {
+			if (address != TOMBSTONE && index.getLong(slot * SLOT_BYTES) == hash && keyEquals(address, keyBytes)) {
+				return slot;
+			}
+			slot = (slot + step) % capacity;
+		}
+		return -1;
+	}
+
+	/**
+	 * Copies the live records into fresh chunks once garbage outweighs them,
+	 * updating their addresses in place in the index.
+	 */
+	private void compactIfNeeded() {
+		if (garbageBytes < MIN_COMPACTION_GARBAGE || garbageBytes < liveBytes) {
+			return;
+		}
+
+		List<ByteBuffer> oldChunks = chunks;
+		chunks = new ArrayList<>();
+		liveBytes = 0;
+		garbageBytes = 0;
+
+		for (int slot = 0; slot < capacity; slot++) {
+			long address = addressAt(slot);
+			if (address != EMPTY && address != TOMBSTONE) {
+				ByteBuffer chunk = oldChunks.get((int) (address >>> 32) - 1);
+				int offset = (int) address;
+				byte[] rowBytes = new byte[chunk.getInt(offset)];
+				chunk.get(offset + Integer.BYTES, rowBytes);
+				index.putLong(slot * SLOT_BYTES + 8, append(rowBytes));
+			}
+		}
+	}
+
+	/**
+	 * Inserts a new key-value pair into the table or updates an existing one.
+	 *
+	 * @param key    The key for the pair.
+	 * @param fields The values associated with the key.
+	 * @return The previous values associated with the key, or null if the key was not present.
+	 * @throws IllegalArgumentException if the number of fields doesn't match the degree of the table.
+	 */
+	@Override
+	public List<Object> put(String key, List<Object> fields) {
+		if (fields == null || fields.size() != degree - 1) {
+			throw new IllegalArgumentException("Number of fields doesn't match the degree of the table.");
+		}
+
+		if (loadFactor() > LOAD_FACTOR_BOUND) {
+			rehash();
+		}
+
+		Row newRow = new Row(key, fields);
+		byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+		long hash = strategy.hash(key);
+
+		int slot = Probing.hashFunction1(hash, capacity);
+		int step = Probing.hashFunction2(hash, capacity);
+		int trackedTombstoneSlot = -1;
+
+		long address;
+		while ((address = addressAt(slot)) != EMPTY) {
+			if (address == TOMBSTONE) {
+				if (trackedTombstoneSlot == -1) {
+					trackedTombstoneSlot = slot;
+				}
+			} else if (index.getLong(slot * SLOT_BYTES) == hash && keyEquals(address, keyBytes)) {
+				Row oldRow = readRow(address);
+				int oldSize = recordSize(address);
+				setSlot(slot, hash, append(newRow.getBytes()));
+				liveBytes -= oldSize;
+				garbageBytes += oldSize;
+				fingerprint += newRow.hashCode() - oldRow.hashCode();
+				compactIfNeeded();
+				return oldRow.fields();
+			}
+			slot = (slot + step) % capacity;
+		}
+
+		if (trackedTombstoneSlot != -1) {
+			slot = trackedTombstoneSlot;
+			contamination--;
+		}
+		setSlot(slot, hash, append(newRow.getBytes()));
+		size++;
+		fingerprint += newRow.hashCode();
+		return null;
+	}
+
+	/**
+	 * Retrieves the values associated with a given key, decoding its row from the arena.
+	 *
+	 * @param key The key to search for.
+	 * @return The values associated with the key, or null if the key was not found.
+	 */
+	@Override
+	public List<Object> get(String key) {
+		int slot = slotOf(key.getBytes(StandardCharsets.UTF_8), strategy.hash(key));
+		return slot != -1 ? readRow(addressAt(slot)).fields() : null;
+	}
+
+	/**
+	 * Returns a view of the row for a given key that reads its fields straight
+	 * from the arena, without copying the record onto the heap.
+	 * <p>
+	 * Records are never overwritten in place, so the view keeps showing the row
+	 * as it was, even if the key is later replaced or removed.
+	 *
+	 * @param key The key to search for.
+	 * @return A view of the row, or null if the key was not found.
+	 */
+	public RowView view(String key) {
+		int slot = slotOf(key.getBytes(StandardCharsets.UTF_8), strategy.hash(key));
+		if (slot == -1) {
+			return null;
+		}
+		long address = addressAt(slot);
+		ByteBuffer chunk = chunkOf(address);
+		int offset = (int) address;
+		return new RowView(chunk.slice(offset + Integer.BYTES, chunk.getInt(offset)));
+	}
+
+	/**
+	 * Removes the key-value pair associated with a given key.
+	 *
+	 * @param key The key to remove.
+	 * @return The values associated with the removed key, or null if the key was not found.
+	 */
+	@Override
+	public List<Object> remove(String key) {
+		int slot = slotOf(key.getBytes(StandardCharsets.UTF_8), strategy.hash(key));
+		if (slot == -1) {
+			return null;
+		}
+
+		long address = addressAt(slot);
+		Row oldRow = readRow(address);
+		int oldSize = recordSize(address);
+		setSlot(slot, 0, TOMBSTONE);
+		liveBytes -= oldSize;
+		garbageBytes += oldSize;
+		size--;
+		contamination++;
+		fingerprint -= oldRow.hashCode();
+		compactIfNeeded();
+		return oldRow.fields();
+	}
+
+	/**
+	 * Returns the degree of the table.
+	 *
+	 * @return The degree of the table.
+	 */
+	@Override
+	public int degree() {
+		return degree;
+	}
+
+	/**
+	 * Returns the size of the table.
+	 *
+	 * @return The size of the table.
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the capacity of the index.
+	 *
+	 * @return The capacity of the table.
+	 */
+	@Override
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * Computes the hash code for the table.
+	 *
+	 * @return The hash code of the table.
+	 */
+	@Override
+	public int hashCode() {
+		return fingerprint;
+	}
+
+	/**
+	 * Checks if the table is equal to another object.
+	 *
+	 * @param obj The object to compare to.
+	 * @return True if the table is equal to the object, false otherwise.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof OffHeapHashTable)) {
+			return false;
+		}
+		OffHeapHashTable otherTable = (OffHeapHashTable) obj;
+		return this.fingerprint == otherTable.fingerprint;
+	}
+
+	/**
+	 * Returns an iterator for the rows in the table, decoding each row as it is reached.
+	 *
+	 * @return An iterator for the rows.
+	 */
+	@Override
+	public Iterator<Row> iterator() {
+		return new Iterator<Row>() {
+			private int currentSlot = 0;
+
+			@Override
+			public boolean hasNext() {
+				while (currentSlot < capacity) {
+					long address = addressAt(currentSlot);
+					if (address != EMPTY && address != TOMBSTONE) {
+						return true;
+					}
+					currentSlot++;
+				}
+				return false;
+			}
+
+			@Override
+			public Row next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return readRow(addressAt(currentSlot++));
+			}
+		};
+	}
+
+	/**
+	 * Returns the name of the table.
+	 *
+	 * @return The name of the table.
+	 */
+	@Override
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Returns the columns of the table.
+	 *
+	 * @return The list of column names.
+	 */
+	@Override
+	public List<String> columns() {
+		return columns;
+	}
+
+	/**
+	 * Returns a string representation of the table.
+	 *
+	 * @return A string representation of the table.
+	 */
+	@Override
+	public String toString() {
+		return toTabularView(false);
+	}
+}
@@ -0,0 +1,233 @@
+package types;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.StreamSupport;
+
+import models.Row;
+import models.RowPredicate;
+import models.Table;
+
+/**
+ * Fork-join versions of filter, union, intersection and difference, which
+ * split the rows of a table with its spliterator and test each part on a
+ * fork-join pool.
+ * <p>
+ * Each task collects the rows it keeps in a list of its own, and the lists
+ * are joined in encounter order, then put into a hash table. The probe sides
+ * of the set operations are gathered into a concurrent key set, so any table
+ * is only read while a scan runs. Tables smaller than {@link #THRESHOLD} rows
+ * are processed sequentially, and each method gives the same rows, and so the
+ * same fingerprint, as materializing the sequential view.
+ * <p>
+ * The tasks run in the pool of the calling thread when it is a fork-join
+ * worker, and in the common pool otherwise.
+ */
+public final class ParallelScan {
+	/**
+	 * The number of rows below which a table, or a part of one, is scanned
+	 * without splitting it further.
+	 */
+	public static final int THRESHOLD = 1 << 13;
+
+	private ParallelScan() {
+	}
+
+	/**
+	 * A task that collects the rows of a spliterator satisfying a predicate,
+	 * splitting them in two while more than the threshold remain.
+	 */
+	private static final class ScanTask extends RecursiveTask<List<List<Row>>> {
+		private static final long serialVersionUID = 1L;
+
+		private final Spliterator<Row> rows;
+		private final RowPredicate predicate;
+
+		/**
+		 * Constructs a task over a spliterator.
+		 *
+		 * @param rows      The rows to scan
+		 * @param predicate The condition rows must satisfy
+		 */
+		ScanTask(Spliterator<Row> rows, RowPredicate predicate) {
+			this.rows = rows;
+			this.predicate = predicate;
+		}
+
+		/**
+		 * Scans the rows, splitting them in two while more than the threshold
+		 * remain and the spliterator can split.
+		 *
+		 * @return The rows kept, as lists in encounter order
+		 */
+		@Override
+		protected List<List<Row>> compute() {
+			if (rows.estimateSize() > THRESHOLD) {
+				Spliterator<Row> prefix = rows.trySplit();
+				if (prefix != null) {
+					ScanTask left = new ScanTask(prefix, predicate);
+					left.fork();
+					List<List<Row>> right = new ScanTask(rows, predicate).compute();
+					List<List<Row>> parts = left.join();
+					parts.addAll(right);
+					return parts;
+				}
+			}
+			List<Row> kept = new ArrayList<>();
+			rows.forEachRemaining(row -> {
+				if (predicate.test(row)) {
+					kept.add(row);
+				}
+			});
+			List<List<Row>> parts = new ArrayList<>();
+			parts.add(kept);
+			return parts;
+		}
+	}
+
+	/**
+	 * Filters a table in parallel.
+	 *
+	 * @param source    The table to filter
+	 * @param predicate The condition rows must satisfy, which must be safe to
+	 *                  test from several threads
+	 * @return A hash table of the rows that satisfy the predicate
+	 */
+	public static Table filter(Table source, RowPredicate predicate) {
+		if (isSmall(source)) {
+			return source.filter(predicate).materialize();
+		}
+		return toTable(source.name() + "_filter", source.columns(), scan(source, predicate));
+	}
+
+	/**
+	 * Intersects two tables in parallel.
+	 *
+	 * @param left  The table whose rows the result holds
+	 * @param right The table whose keys the rows must share
+	 * @return A hash table of the rows of the left table whose keys are in the right
+	 */
+	public static Table intersect(Table left, Table right) {
+		if (isSmall(left) && isSmall(right)) {
+			return left.intersect(right).materialize();
+		}
+		Set<String> keys = keysOf(right);
+		return toTable(left.name() + "_intersection", left.columns(), scan(left, row -> keys.contains(row.key())));
+	}
+
+	/**
+	 * Subtracts a table from another in parallel.
+	 *
+	 * @param left  The table whose rows the result holds
+	 * @param right The table whose keys the rows must not share
+	 * @return A hash table of the rows of the left table whose keys are not in the right
+	 */
+	public static Table minus(Table left, Table right) {
+		if (isSmall(left) && isSmall(right)) {
+			return left.minus(right).materialize();
+		}
+		Set<String> keys = keysOf(right);
+		return toTable(left.name() + "_difference", left.columns(), scan(left, row -> !keys.contains(row.key())));
+	}
+
+	/**
+	 * Joins two tables in parallel, where the row of the second table wins for
+	 * a key both hold.
+	 *
+	 * @param first  The table whose rows give way on shared keys
+	 * @param second The table whose rows win on shared keys
+	 * @return A hash table of the rows of both tables
+	 */
+	public static Table union(Table first, Table second) {
+		if (isSmall(first) && isSmall(second)) {
+			return first.union(second).materialize();
+		}
+		// The result holds the second table first, and serves as its key set
+		List<List<Row>> secondRows = scan(second, row -> true);
+		HashTable union = new HashTable(first.name() + "_union", first.columns(), count(secondRows));
+		putAll(union, secondRows);
+		putAll(union, scan(first, row -> !union.contains(row.key())));
+		return union;
+	}
+
+	/**
+	 * Checks if a table is small enough to process sequentially, going by the
+	 * size it knows without a scan. A table of unknown size, such as a stored
+	 * table or a view, is not counted as small.
+	 *
+	 * @param table The table to check
+	 * @return True if the table is known to have fewer rows than the threshold
+	 */
+	private static boolean isSmall(Table table) {
+		return KeyProbe.knowsSize(table) && table.size() < THRESHOLD;
+	}
+
+	/**
+	 * Collects the rows of a table satisfying a predicate on the fork-join pool.
+	 *
+	 * @param source    The table to scan
+	 * @param predicate The condition rows must satisfy
+	 * @return The rows kept, as lists in encounter order
+	 */
+	private static List<List<Row>> scan(Table source, RowPredicate predicate) {
+		return new ScanTask(source.spliterator(), predicate).invoke();
+	}
+
+	/**
+	 * Gathers the keys of a table into a concurrent set on the fork-join pool.
+	 *
+	 * @param table The table to scan
+	 * @return The keys of the table
+	 */
+	private static Set<String> keysOf(Table table) {
+		Set<String> keys = ConcurrentHashMap.newKeySet(Math.max(16, KeyProbe.estimateSize(table)));
+		StreamSupport.stream(table.spliterator(), true).forEach(row -> keys.add(row.key()));
+		return keys;
+	}
+
+	/**
+	 * Puts collected rows into a new hash table sized for them.
+	 *
+	 * @param name    The name of the table
+	 * @param columns The columns of the table
+	 * @param parts   The rows, as lists
+	 * @return The hash table
+	 */
+	private static Table toTable(String name, List<String> columns, List<List<Row>> parts) {
+		HashTable table = new HashTable(name, columns, count(parts));
+		putAll(table, parts);
+		return table;
+	}
+
+	/**
+	 * Puts collected rows into a table.
+	 *
+	 * @param table The table to fill
+	 * @param parts The rows, as lists
+	 */
+	private static void putAll(Table table, List<List<Row>> parts) {
+		for (List<Row> part : parts) {
+			for (Row row : part) {
+				table.put(row.key(), row.fields());
+			}
+		}
+	}
+
+	/**
+	 * Counts collected rows.
+	 *
+	 * @param parts The rows, as lists
+	 * @return The number of rows
+	 */
+	private static int count(List<List<Row>> parts) {
+		int count = 0;
+		for (List<Row> part : parts) {
+			count += part.size();
+		}
+		return count;
+	}
+}
@@ -0,0 +1,544 @@
+package types;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import models.Row;
+import models.RowView;
+import models.Table;
+
+/**
+ * A read-only table compiled from another table with a minimal perfect hash,
+ * so every key has its own slot and a lookup takes exactly one probe.
+ * <p>
+ * The construction follows hash-and-displace: keys are grouped into buckets
+ * by their hash, and buckets are placed largest first, each trying seeds
+ * until all its keys land on free slots. A bucket of one key is sent straight
+ * to a free slot instead. Lookups hash the key once, read the seed of its
+ * bucket, and derive the slot, with one key comparison to reject absent keys.
+ * <p>
+ * The table can be written to a file and mapped back at startup instead of
+ * being rebuilt. A mapped table decodes each row on its first read and keeps
+ * it, so only the rows in use take space on the heap.
+ */
+public class PerfectHashTable implements Table {
+	private static final int MAGIC = 0x50485431; // "PHT1"
+	private static final int BUCKET_SIZE = 3; // Average keys per bucket
+	private static final int MAX_SEED = 1 << 24;
+	private static final long SEED_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	private final String name;
+	private final List<String> columns;
+	private final int degree;
+	private final int size;
+	private final int fingerprint;
+	private final int[] seeds;
+	private final Row[] rows;
+	private final ByteBuffer image;
+	private final int offsetsPosition;
+	private final int recordsPosition;
+
+	/**
+	 * Constructs a PerfectHashTable holding the rows of another table, with the
+	 * same name and columns.
+	 *
+	 * @param source The table to compile
+	 * @throws IllegalStateException if no perfect hash is found, which only
+	 *                               happens if two keys share a 64-bit hash
+	 */
+	public PerfectHashTable(Table source) {
+		this.name = source.name();
+		this.columns = List.copyOf(source.columns());
+		this.degree = columns.size();
+
+		List<Row> all = new ArrayList<>();
+		int sum = 0;
+		for (Row row : source) {
+			all.add(row);
+			sum += row.hashCode();
+		}
+		this.size = all.size();
+		this.fingerprint = sum;
+
+		long[] hashes = new long[size];
+		for (int i = 0; i < size; i++) {
+			hashes[i] = MixHash.DEFAULT.hash(all.get(i).key());
+		}
+
+		this.seeds = new int[bucketCountFor(size)];
+		this.rows = new Row[size];
+		this.image = null;
+		this.offsetsPosition = 0;
+		this.recordsPosition = 0;
+		build(all, hashes);
+	}
+
+	/**
+	 * Constructs a PerfectHashTable over a serialized image, reading the header
+	 * and seeds and leaving the rows to be decoded on demand.
+	 *
+	 * @param image The serialized table, positioned at its start
+	 */
+	private PerfectHashTable(ByteBuffer image) {
+		if (image.getInt() != MAGIC) {
+			throw new IllegalArgumentException("Not a perfect hash table image");
+		}
+		this.size = image.getInt();
+		this.seeds = new int[image.getInt()];
+		this.fingerprint = image.getInt();
+		this.name = getString(image);
+		List<String> names = new ArrayList<>();
+		for (int i = image.getInt(); i > 0; i--) {
+			names.add(getString(image));
+		}
+		this.columns = List.copyOf(names);
+		this.degree = columns.size();
+		image.asIntBuffer().get(seeds);
+		this.offsetsPosition = image.position() + seeds.length * Integer.BYTES;
+		this.recordsPosition = offsetsPosition + (size + 1) * Integer.BYTES;
+		this.rows = new Row[size];
+		this.image = image;
+	}
+
+	/**
+	 * Maps a table written by {@link #write(Path)} into memory, without
+	 * rebuilding its hash.
+	 *
+	 * @param path The file to map
+	 * @return The mapped table
+	 */
+	public static PerfectHashTable map(Path path) {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new PerfectHashTable(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to map table file: " + path, e);
+		}
+	}
+
+	/**
+	 * Returns the number of buckets for a given number of keys.
+	 *
+	 * @param size The number of keys
+	 * @return The number of buckets
+	 */
+	private static int bucketCountFor(int size) {
+		return Math.max(1, (size + BUCKET_SIZE - 1) / BUCKET_SIZE);
+	}
+
+	/**
+	 * Computes the bucket of a key's hash.
+	 *
+	 * @param hash        The 64-bit hash of the key
+	 * @param bucketCount The number of buckets
+	 * @return The bucket index
+	 */
+	private static int bucketOf(long hash, int bucketCount) {
+		return Math.floorMod((int) (hash >>> 32), bucketCount);
+	}
+
+	/**
+	 * Computes the slot of a key's hash under a given seed.
+	 *
+	 * @param hash The 64-bit hash of the key
+	 * @param seed The seed of the key's bucket, at least 1
+	 * @param size The number of slots
+	 * @return The slot index
+	 */
+	private static int slotOf(long hash, int seed, int size) {
+		return (int) Long.remainderUnsigned(MixHash.avalanche(hash + seed * SEED_MULTIPLIER), size);
+	}
+
+	/**
+	 * Finds the slot of a key, decoding a direct placement or applying the seed
+	 * of its bucket.
+	 *
+	 * @param hash The 64-bit hash of the key
+	 * @return The slot index, or -1 if the key's bucket is empty
+	 */
+	private int slotOf(long hash) {
+		int seed = seeds[bucketOf(hash, seeds.length)];
+		if (seed == 0) {
+			return -1;
+		}
+		return seed < 0 ? -seed - 1 : slotOf(hash, seed, size);
+	}
+
+	/**
+	 * Places every row in its own slot, searching a seed for each bucket of two
+	 * or more keys, largest first, then filling the remaining slots with the
+	 * buckets of one key.
+	 *
+	 * @param all    The rows to place
+	 * @param hashes The 64-bit hashes of their keys
+	 */
+	private void build(List<Row> all, long[] hashes) {
+		int bucketCount = seeds.length;
+
+		// Group the rows by bucket with a counting sort
+		int[] starts = new int[bucketCount + 1];
+		for (long hash : hashes) {
+			starts[bucketOf(hash, bucketCount) + 1]++;
+		}
+		int largest = 0;
+		for (int b = 0; b < bucketCount; b++) {
+			largest = Math.max(largest, starts[b + 1]);
+			starts[b + 1] += starts[b];
+		}
+		int[] members = new int[size];
+		int[] fill = starts.clone();
+		for (int i = 0; i < size; i++) {
+			members[fill[bucketOf(hashes[i], bucketCount)]++] = i;
+		}
+
+		// Order the buckets by size, largest first, with another counting sort
+		int[] bySize = new int[largest + 2];
+		for (int b = 0; b < bucketCount; b++) {
+			bySize[largest - (starts[b + 1] - starts[b]) + 1]++;
+		}
+		for (int s = 0; s <= largest; s++) {
+			bySize[s + 1] += bySize[s];
+		}
+		int[] order = new int[bucketCount];
+		for (int b = 0; b < bucketCount; b++) {
+			order[bySize[largest - (starts[b + 1] - starts[b])]++] = b;
+		}
+
+		boolean[] taken = new boolean[size];
+		int[] slots = new int[largest];
+		int free = 0;
+		for (int b : order) {
+			int count = starts[b + 1] - starts[b];
+			if (count == 0) {
+				break;
+			}
+			if (count == 1) {
+				// A single key goes straight to the next free slot
+				while (taken[free]) {
+					free++;
+				}
+				taken[free] = true;
+				rows[free] = all.get(members[starts[b]]);
+				seeds[b] = -free - 1;
+				continue;
+			}
+
+			search:
+			for (int seed = 1;; seed++) {
+				if (seed == MAX_SEED) {
+					throw new IllegalStateException("Failed to find a perfect hash for the table: " + name);
+				}
+				for (int k = 0; k < count; k++) {
+					int slot = slotOf(hashes[members[starts[b] + k]], seed, size);
+					if (taken[slot]) {
+						for (int undo = 0; undo < k; undo++) {
+							taken[slots[undo]] = false;
+						}
+						continue search;
+					}
+					taken[slot] = true;
+					slots[k] = slot;
+				}
+				for (int k = 0; k < count; k++) {
+					rows[slots[k]] = all.get(members[starts[b] + k]);
+				}
+				seeds[b] = seed;
+				break;
+			}
+		}
+	}
+
+	/**
+	 * Returns the row in a slot, decoding it from the image on first access.
+	 * Rows are immutable, so threads racing to decode the same slot are harmless.
+	 *
+	 * @param slot The slot index
+	 * @return The row in the slot
+	 */
+	private Row rowAt(int slot) {
+		Row row = rows[slot];
+		if (row == null) {
+			int start = image.getInt(offsetsPosition + slot * Integer.BYTES) + Long.BYTES;
+			int end = image.getInt(offsetsPosition + (slot + 1) * Integer.BYTES);
+			byte[] bytes = new byte[end - start];
+			image.get(recordsPosition + start, bytes);
+			row = Row.fromBytes(bytes);
+			rows[slot] = row;
+		}
+		return row;
+	}
+
+	/**
+	 * Writes the table to a file that {@link #map(Path)} can load.
+	 * <p>
+	 * The file holds a header with the name, columns, size and fingerprint,
+	 * then the bucket seeds, then a record per slot of the key's 64-bit hash
+	 * and the row's bytes, with a table of record offsets.
+	 *
+	 * @param path The file to write, replaced if it exists
+	 */
+	public void write(Path path) {
+		byte[][] records = new byte[size][];
+		long length = 0;
+		for (int slot = 0; slot < size; slot++) {
+			records[slot] = rowAt(slot).getBytes();
+			length += Long.BYTES + records[slot].length;
+		}
+
+		byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+		long header = 6L * Integer.BYTES + nameBytes.length;
+		for (String column : columns) {
+			header += Integer.BYTES + column.getBytes(StandardCharsets.UTF_8).length;
+		}
+		long total = header + (long) (seeds.length + size + 1) * Integer.BYTES + length;
+		if (total > Integer.MAX_VALUE) {
+			throw new IllegalStateException("Table is too large to map: " + name);
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate((int) total);
+		buffer.putInt(MAGIC).putInt(size).putInt(seeds.length).putInt(fingerprint);
+		putString(buffer, name);
+		buffer.putInt(columns.size());
+		for (String column : columns) {
+			putString(buffer, column);
+		}
+		for (int seed : seeds) {
+			buffer.putInt(seed);
+		}
+		int offset = 0;
+		for (int slot = 0; slot < size; slot++) {
+			buffer.putInt(offset);
+			offset += Long.BYTES + records[slot].length;
+		}
+		buffer.putInt(offset);
+		for (int slot = 0; slot < size; slot++) {
+			buffer.putLong(MixHash.DEFAULT.hash(rowAt(slot).key()));
+			buffer.put(records[slot]);
+		}
+		buffer.flip();
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to write table file: " + path, e);
+		}
+	}
+
+	/**
+	 * Writes a string as its UTF-8 length and bytes.
+	 *
+	 * @param buffer The buffer to write to
+	 * @param string The string to write
+	 */
+	private static void putString(ByteBuffer buffer, String string) {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		buffer.putInt(bytes.length).put(bytes);
+	}
+
+	/**
+	 * Reads a string written by {@link #putString(ByteBuffer, String)}.
+	 *
+	 * @param buffer The buffer to read from
+	 * @return The string
+	 */
+	private static String getString(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Gets the values associated with a key with a single probe.
+	 *
+	 * @param key The key to look up
+	 * @return The values associated with the key, or null if the key is not present
+	 */
+	@Override
+	public List<Object> get(String key) {
+		if (size == 0) {
+			return null;
+		}
+		long hash = MixHash.DEFAULT.hash(key);
+		int slot = slotOf(hash);
+		if (slot == -1) {
+			return null;
+		}
+		// A mapped row not yet decoded can reject a miss by its stored hash
+		if (rows[slot] == null && image.getLong(recordsPosition
+				+ image.getInt(offsetsPosition + slot * Integer.BYTES)) != hash) {
+			return null;
+		}
+		Row row = rowAt(slot);
+		return row.key().equals(key) ? row.fields() : null;
+	}
+
+	/**
+	 * Returns a view of the row for a given key. A mapped table's view reads
+	 * the fields straight from the mapped file without copying them.
+	 *
+	 * @param key The key to look up
+	 * @return A view of the row, or null if the key is not present
+	 */
+	public RowView view(String key) {
+		if (size == 0) {
+			return null;
+		}
+		long hash = MixHash.DEFAULT.hash(key);
+		int slot = slotOf(hash);
+		if (slot == -1) {
+			return null;
+		}
+		if (image == null) {
+			Row row = rows[slot];
+			return row.key().equals(key) ? new RowView(ByteBuffer.wrap(row.getBytes())) : null;
+		}
+		int start = image.getInt(offsetsPosition + slot * Integer.BYTES);
+		int end = image.getInt(offsetsPosition + (slot + 1) * Integer.BYTES);
+		if (image.getLong(recordsPosition + start) != hash) {
+			return null;
+		}
+		RowView view = new RowView(image.slice(recordsPosition + start + Long.BYTES, end - start - Long.BYTES));
+		return view.key().equals(key) ? view : null;
+	}
+
+	/**
+	 * Rejects the put, as the table is read-only.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public List<Object> put(String key, List<Object> fields) {
+		throw new UnsupportedOperationException("Perfect hash tables are read-only.");
+	}
+
+	/**
+	 * Rejects the removal, as the table is read-only.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public List<Object> remove(String key) {
+		throw new UnsupportedOperationException("Perfect hash tables are read-only.");
+	}
+
+	/**
+	 * Rejects the clear, as the table is read-only.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException("Perfect hash tables are read-only.");
+	}
+
+	/**
+	 * Returns the degree of the table.
+	 *
+	 * @return The degree of the table
+	 */
+	@Override
+	public int degree() {
+		return degree;
+	}
+
+	/**
+	 * Returns the size of the table.
+	 *
+	 * @return The size of the table
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the fingerprint value.
+	 *
+	 * @return The fingerprint value
+	 */
+	@Override
+	public int hashCode() {
+		return fingerprint;
+	}
+
+	/**
+	 * Checks if the current table is equal to another table based on the
+	 * fingerprint.
+	 *
+	 * @param obj The object to compare to
+	 * @return True if the tables are equal, false otherwise
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof Table) {
+			Table otherTable = (Table) obj;
+			return this.fingerprint == otherTable.hashCode();
+		}
+		return false;
+	}
+
+	/**
+	 * Returns an iterator over the rows in slot order.
+	 *
+	 * @return An iterator for the table
+	 */
+	@Override
+	public Iterator<Row> iterator() {
+		return new Iterator<Row>() {
+			private int currentIndex = 0;
+
+			@Override
+			public boolean hasNext() {
+				return currentIndex < size;
+			}
+
+			@Override
+			public Row next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return rowAt(currentIndex++);
+			}
+		};
+	}
+
+	/**
+	 * Returns the name of the table.
+	 *
+	 * @return The name of the table
+	 */
+	@Override
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Returns the list of column names in the table.
+	 *
+	 * @return The list of column names
+	 */
+	@Override
+	public List<String> columns() {
+		return columns;
+	}
+
+	/**
+	 * Returns a string representation of the table.
+	 *
+	 * @return A string representation of the table
+	 */
+	@Override
+	public String toString() {
+		return toTabularView(false);
+	}
+}
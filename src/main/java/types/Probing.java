@@ -0,0 +1,71 @@
+package types;
+
+/**
+ * The prime capacities and double-hashing probe sequence shared by the
+ * open-addressed tables.
+ * <p>
+ * A key's 64-bit hash gives its home slot from the upper half and its probe
+ * step from the lower half. With a prime capacity every step is coprime to
+ * it, so the probe sequence visits every slot.
+ */
+final class Probing {
+
+	private Probing() {
+	}
+
+	/**
+	 * Check if a number is prime.
+	 *
+	 * @param n The number to check for primality.
+	 * @return True if the number is prime, false otherwise.
+	 */
+	static boolean isPrime(int n) {
+		if (n <= 3) {
+			return n > 1;
+		}
+		if (n % 2 == 0 || n % 3 == 0) {
+			return false;
+		}
+		for (int i = 5; i * i <= n; i += 6) {
+			if (n % i == 0 || n % (i + 2) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the smallest prime at or above a given odd number.
+	 *
+	 * @param n The odd number to start from.
+	 * @return The next prime.
+	 */
+	static int nextPrime(int n) {
+		while (!isPrime(n)) {
+			n += 2; // Keep adding 2 until it's prime again
+		}
+		return n;
+	}
+
+	/**
+	 * Computes the primary hash value, the home slot, from the upper half of a key's hash.
+	 *
+	 * @param hash     The 64-bit hash of the key.
+	 * @param capacity The capacity of the array being probed.
+	 * @return The computed primary hash value.
+	 */
+	static int hashFunction1(long hash, int capacity) {
+		return Math.floorMod((int) (hash >>> 32), capacity);
+	}
+
+	/**
+	 * Computes the secondary hash value, the probe step, from the lower half of a key's hash.
+	 *
+	 * @param hash     The 64-bit hash of the key.
+	 * @param capacity The capacity of the array being probed.
+	 * @return The computed secondary hash value.
+	 */
+	static int hashFunction2(long hash, int capacity) {
+		return 1 + Math.floorMod((int) hash, capacity - 1);
+	}
+}
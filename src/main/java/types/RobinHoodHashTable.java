@@ -0,0 +1,369 @@
+package types;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import models.BoundedTable;
+import models.HashStrategy;
+import models.Row;
+
+/**
+ * A hash table using linear probing with Robin Hood insertion and
+ * backward-shift deletion, so removals leave no tombstones.
+ * <p>
+ * Each slot records the probe distance of its row from the row's home slot.
+ * An insertion that reaches a row closer to its home than the new row takes
+ * that slot and carries the displaced row onward, which keeps probe lengths
+ * even. A removal shifts the following displaced rows back one slot, so the
+ * load factor counts only live rows and the table grows only on real growth.
+ * A lookup stops as soon as it passes a row closer to its home than the key
+ * would be, since the key cannot lie further on.
+ */
+public class RobinHoodHashTable implements BoundedTable {
+	private static final int INITIAL_CAPACITY = 43;
+	private static final double LOAD_FACTOR_BOUND = 0.75;
+
+	private Row[] table;
+	private int[] distances;
+	private final String name;
+	private final List<String> columns;
+	private final int degree;
+	private final HashStrategy strategy;
+	private int size;
+	private int capacity;
+	private int fingerprint;
+	private long totalProbeLength;
+
+	/**
+	 * Constructor to initialize a new RobinHoodHashTable with a given name and columns.
+	 *
+	 * @param name    The name of the table.
+	 * @param columns The list of column names.
+	 */
+	public RobinHoodHashTable(String name, List<String> columns) {
+		this(name, columns, HashStrategy.fast());
+	}
+
+	/**
+	 * Constructor to initialize a new RobinHoodHashTable with a given name, columns, and hash strategy.
+	 *
+	 * @param name     The name of the table.
+	 * @param columns  The list of column names.
+	 * @param strategy The strategy used to hash keys.
+	 */
+	public RobinHoodHashTable(String name, List<String> columns, HashStrategy strategy) {
+		this.name = name;
+		this.columns = List.copyOf(columns);
+		this.degree = columns.size();
+		this.strategy = strategy;
+		clear();
+	}
+
+	/**
+	 * Clears the table, resetting it to its initial state.
+	 */
+	@Override
+	public void clear() {
+		capacity = INITIAL_CAPACITY;
+		table = new Row[capacity];
+		distances = new int[capacity];
+		size = 0;
+		fingerprint = 0;
+		totalProbeLength = 0;
+	}
+
+	/**
+	 * Rehash the table by doubling its capacity and finding a new prime capacity.
+	 */
+	private void rehash() {
+		Row[] oldTable = table;
+
+		int newCapacity = Probing.nextPrime((capacity << 1) + 1);
+
+		capacity = newCapacity;
+		table = new Row[newCapacity];
+		distances = new int[newCapacity];
+		totalProbeLength = 0;
+
+		for (Row row : oldTable) {
+			if (row != null) {
+				place(row, Probing.hashFunction1(strategy.hash(row.key()), capacity), 0);
+			}
+		}
+	}
+
+	/**
+	 * Places a row known to be absent from the table, starting at a given slot
+	 * and distance, displacing rows closer to their homes along the way.
+	 * <p>
+	 * Distances are stored offset by one, so zero marks an empty slot.
+	 *
+	 * @param row      The row to place.
+	 * @param index    The slot to start from.
+	 * @param distance The probe distance of the row at that slot.
+	 */
+	private void place(Row row, int index, int distance) {
+		while (distances[index] != 0) {
+			int residentDistance = distances[index] - 1;
+			if (residentDistance < distance) {
+				// Take from the rich: swap in the farther row and carry the resident onward
+				Row resident = table[index];
+				table[index] = row;
+				distances[index] = distance + 1;
+				totalProbeLength += distance - residentDistance;
+				row = resident;
+				distance = residentDistance;
+			}
+			index = (index + 1) % capacity;
+			distance++;
+		}
+		table[index] = row;
+		distances[index] = distance + 1;
+		totalProbeLength += distance;
+	}
+
+	/**
+	 * Finds the slot holding a given key, stopping early once the probe passes
+	 * a row closer to its home than the key would be.
+	 *
+	 * @param key  The key to search for.
+	 * @param hash The 64-bit hash of the key.
+	 * @return The index of the slot holding the key, or -1 if the key was not found.
+	 */
+	private int indexOf(String key, long hash) {
+		int index = Probing.hashFunction1(hash, capacity);
+		for (int distance = 0; distance < distances[index]; distance++) {
+			// A row with the same key has the same home, so its distance must match
+			if (distances[index] - 1 == distance && table[index].key().equals(key)) {
+				return index;
+			}
+			index = (index + 1) % capacity;
+		}
+		return -1;
+	}
+
+	/**
+	 * Inserts a new key-value pair into the table or updates an existing one.
+	 *
+	 * @param key    The key for the pair.
+	 * @param fields The values associated with the key.
+	 * @return The previous values associated with the key, or null if the key was not present.
+	 * @throws IllegalArgumentException if the number of fields doesn't match the degree of the table.
+	 */
+	@Override
+	public List<Object> put(String key, List<Object> fields) {
+		if (fields == null || fields.size() != degree - 1) {
+			throw new IllegalArgumentException("Number of fields doesn't match the degree of the table.");
+		}
+
+		Row newRow = new Row(key, fields);
+		long hash = strategy.hash(key);
+
+		int index = indexOf(key, hash);
+		if (index != -1) {
+			Row oldRow = table[index];
+			table[index] = newRow;
+			fingerprint += newRow.hashCode() - oldRow.hashCode();
+			return oldRow.fields();
+		}
+
+		if ((size + 1) / (double) capacity > LOAD_FACTOR_BOUND) {
+			rehash();
+		}
+
+		place(newRow, Probing.hashFunction1(hash, capacity), 0);
+		size++;
+		fingerprint += newRow.hashCode();
+		return null;
+	}
+
+	/**
+	 * Retrieves the values associated with a given key.
+	 *
+	 * @param key The key to search for.
+	 * @return The values associated with the key, or null if the key was not found.
+	 */
+	@Override
+	public List<Object> get(String key) {
+		int index = indexOf(key, strategy.hash(key));
+		return index != -1 ? table[index].fields() : null;
+	}
+
+	/**
+	 * Removes the key-value pair associated with a given key, shifting the
+	 * following displaced rows back one slot instead of leaving a tombstone.
+	 *
+	 * @param key The key to remove.
+	 * @return The values associated with the removed key, or null if the key was not found.
+	 */
+	@Override
+	public List<Object> remove(String key) {
+		int index = indexOf(key, strategy.hash(key));
+		if (index == -1) {
+			return null;
+		}
+
+		Row oldRow = table[index];
+		totalProbeLength -= distances[index] - 1;
+
+		// Shift back each following row until an empty slot or a row at its home
+		int next = (index + 1) % capacity;
+		while (distances[next] > 1) {
+			table[index] = table[next];
+			distances[index] = distances[next] - 1;
+			totalProbeLength--;
+			index = next;
+			next = (next + 1) % capacity;
+		}
+		table[index] = null;
+		distances[index] = 0;
+
+		size--;
+		fingerprint -= oldRow.hashCode();
+		return oldRow.fields();
+	}
+
+	/**
+	 * Returns the mean probe distance of the rows from their home slots, kept
+	 * up to date on every operation.
+	 *
+	 * @return The average probe length, or 0 if the table is empty.
+	 */
+	public double averageProbeLength() {
+		return size == 0 ? 0 : (double) totalProbeLength / size;
+	}
+
+	/**
+	 * Returns the longest probe distance of any row from its home slot, which
+	 * takes a scan of the table.
+	 *
+	 * @return The maximum probe length, or 0 if the table is empty.
+	 */
+	public int maxProbeLength() {
+		int max = 0;
+		for (int distance : distances) {
+			max = Math.max(max, distance - 1);
+		}
+		return max;
+	}
+
+	/**
+	 * Returns the degree of the table.
+	 *
+	 * @return The degree of the table.
+	 */
+	@Override
+	public int degree() {
+		return degree;
+	}
+
+	/**
+	 * Returns the size of the table.
+	 *
+	 * @return The size of the table.
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the capacity of the table.
+	 *
+	 * @return The capacity of the table.
+	 */
+	@Override
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * Computes the hash code for the table.
+	 *
+	 * @return The hash code of the table.
+	 */
+	@Override
+	public int hashCode() {
+		return fingerprint;
+	}
+
+	/**
+	 * Checks if the table is equal to another object.
+	 *
+	 * @param obj The object to compare to.
+	 * @return True if the table is equal to the object, false otherwise.
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof RobinHoodHashTable)) {
+			return false;
+		}
+		RobinHoodHashTable otherTable = (RobinHoodHashTable) obj;
+		return this.fingerprint == otherTable.fingerprint;
+	}
+
+	/**
+	 * Returns an iterator for the rows in the table.
+	 *
+	 * @return An iterator for the rows.
+	 */
+	@Override
+	public Iterator<Row> iterator() {
+		return new Iterator<Row>() {
+			private int currentIndex = 0;
+
+			@Override
+			public boolean hasNext() {
+				while (currentIndex < capacity) {
+					if (table[currentIndex] != null) {
+						return true;
+					}
+					currentIndex++;
+				}
+				return false;
+			}
+
+			@Override
+			public Row next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return table[currentIndex++];
+			}
+		};
+	}
+
+	/**
+	 * Returns the name of the table.
+	 *
+	 * @return The name of the table.
+	 */
+	@Override
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Returns the columns of the table.
+	 *
+	 * @return The list of column names.
+	 */
+	@Override
+	public List<String> columns() {
+		return columns;
+	}
+
+	/**
+	 * Returns a string representation of the table.
+	 *
+	 * @return A string representation of the table.
+	 */
+	@Override
+	public String toString() {
+		return toTabularView(false);
+	}
+}
@@ -3,6 +3,8 @@ package types;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 import models.BoundedTable;
 import models.Row;
@@ -14,18 +16,48 @@ public class SearchTable implements BoundedTable {
 
 	// all private fields
 	private Row[] tableArray; // Field 1
+	private KeyHashes keyHashes; // Key hash codes, in step with tableArray
 	private String name; // Field 2
 	private List<String> columns; // Field 3
 	private int degree; // Field 4
 	private int size; // Field 5
 	private int capacity; // Field 6
 	private int fingerprint; // Field 7
+	private Organization organization; // Access mode
+	private long lookups; // Statistics since the last clear
+	private long hits;
+	private long scanned;
 	private static final int INITIAL_CAPACITY = 16; // Capacity constant
 
+	/**
+	 * The ways a search table can reorganize its rows as they are accessed.
+	 */
+	public enum Organization {
+		/** Rows stay where they were inserted. */
+		NONE,
+		/** A row found by get moves to the front of the array. */
+		MOVE_TO_FRONT,
+		/** A row found by get swaps places with the row before it. */
+		TRANSPOSE
+	}
+
 	public SearchTable(String name, List<String> columns) {
+		this(name, columns, Organization.NONE);
+	}
+
+	/**
+	 * Constructs a search table that reorganizes its rows on access, so that
+	 * frequently read keys migrate toward the front and are found sooner.
+	 *
+	 * @param name         The name of the table
+	 * @param columns      The list of column names
+	 * @param organization The access mode of the table
+	 */
+	public SearchTable(String name, List<String> columns, Organization organization) {
 		this.name = name;
 		this.columns = List.copyOf(columns);
 		this.degree = columns.size();
+		this.organization = organization;
 		clear();
 	}
 
@@ -36,9 +68,13 @@ public class SearchTable implements BoundedTable {
 	public void clear() {
 		capacity = INITIAL_CAPACITY;
 		tableArray = new Row[capacity];
+		keyHashes = KeyHashes.withCapacity(capacity);
 		size = 0;
 		// Initialize fingerprint field to 0
 		fingerprint = 0;
+		lookups = 0;
+		hits = 0;
+		scanned = 0;
 	}
 
 	/**
@@ -48,9 +84,13 @@ public class SearchTable implements BoundedTable {
 	 * @param fields The values associated with the key
 	 * @return The previous values associated with the key, or null if the key was
 	 *         not present
+	 * @throws IllegalArgumentException if the key is null
 	 */
 	@Override
 	public List<Object> put(String key, List<Object> fields) {
+		if (key == null) {
+			throw new IllegalArgumentException("Key cannot be null.");
+		}
 
 		// Degree guard condition to make sure the degrees are the correct size, throws
 		// exception other wise.
@@ -60,29 +100,48 @@ public class SearchTable implements BoundedTable {
 
 		Row newRow = new Row(key, fields);
 		int newRowHashCode = newRow.hashCode(); // Calculate the hash code of the new row
+		int keyHash = key.hashCode();
 
 		// linear search the array
-		for (int i = 0; i < size; i++) {
-			if (tableArray[i].key().equals(key)) {
-				List<Object> oldFields = tableArray[i].fields();
-				int oldRowHashCode = tableArray[i].hashCode(); // Calculate the hash code of the old row
-				tableArray[i] = newRow;
-				fingerprint += (newRowHashCode - oldRowHashCode); // Update the fingerprint
-				return oldFields;
-			}
+		int i = indexOf(key, keyHash);
+		if (i != -1) {
+			List<Object> oldFields = tableArray[i].fields();
+			int oldRowHashCode = tableArray[i].hashCode(); // Calculate the hash code of the old row
+			tableArray[i] = newRow;
+			fingerprint += (newRowHashCode - oldRowHashCode); // Update the fingerprint
+			return oldFields;
 		}
 		// condition to expan array
 		if (size == capacity) {
 			capacity *= 2;
 			tableArray = Arrays.copyOf(tableArray, capacity);
+			keyHashes.resize(capacity);
 		}
 
 		tableArray[size] = newRow;
+		keyHashes.set(size, keyHash);
 		size++;
 		fingerprint += newRowHashCode; // Update the fingerprint
 		return null;
 	}
 
+	/**
+	 * Finds the index of a key by scanning the key hash codes, comparing keys
+	 * only where the hash codes match.
+	 *
+	 * @param key     The key to search for
+	 * @param keyHash The hash code of the key
+	 * @return The index of the key, or -1 if the key is not present
+	 */
+	private int indexOf(String key, int keyHash) {
+		for (int i = keyHashes.indexOf(keyHash, 0, size); i != -1; i = keyHashes.indexOf(keyHash, i + 1, size)) {
+			if (tableArray[i].key().equals(key)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * Gets the values associated with a key.
 	 *
@@ -91,17 +150,55 @@ public class SearchTable implements BoundedTable {
 	 */
 	@Override
 	public List<Object> get(String key) {
+		lookups++;
+		// a null key is never stored, so it misses without being hashed
+		if (key == null) {
+			scanned += size;
+			return null;
+		}
 		// linear search the array
-		for (int i = 0; i < size; i++) {
-			// hit
-			if (tableArray[i].key().equals(key)) {
-				return tableArray[i].fields(); // Found the key, return its fields
+		int i = indexOf(key, key.hashCode());
+		// hit
+		if (i != -1) {
+			hits++;
+			scanned += i + 1;
+			Row row = tableArray[i];
+			if (organization == Organization.MOVE_TO_FRONT && i > 0) {
+				System.arraycopy(tableArray, 0, tableArray, 1, i);
+				tableArray[0] = row;
+				keyHashes.moveToFront(i);
+			} else if (organization == Organization.TRANSPOSE && i > 0) {
+				tableArray[i] = tableArray[i - 1];
+				tableArray[i - 1] = row;
+				keyHashes.swap(i, i - 1);
 			}
+			return row.fields(); // Found the key, return its fields
 		}
 		// miss
+		scanned += size;
 		return null;
 	}
 
+	/**
+	 * Returns the fraction of lookups by get that found their key since the
+	 * table was last cleared.
+	 *
+	 * @return The hit rate, or 0 if there were no lookups
+	 */
+	public double hitRate() {
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	/**
+	 * Returns the mean number of rows compared per lookup by get since the
+	 * table was last cleared, which self-organization aims to reduce.
+	 *
+	 * @return The average scan length, or 0 if there were no lookups
+	 */
+	public double averageScanLength() {
+		return lookups == 0 ? 0 : (double) scanned / lookups;
+	}
+
 	/**
 	 * Removes a key-value pair from the table.
 	 *
@@ -111,18 +208,22 @@ public class SearchTable implements BoundedTable {
 	 */
 	@Override
 	public List<Object> remove(String key) {
+		// a null key is never stored
+		if (key == null) {
+			return null;
+		}
 		// linear search
-		for (int i = 0; i < size; i++) {
-			// condition for hit
-			if (tableArray[i].key().equals(key)) {
-				List<Object> oldFields = tableArray[i].fields();
-				int removedRowHashCode = tableArray[i].hashCode(); // Calculate the hash code of the removed row
-				tableArray[i] = tableArray[size - 1];
-				tableArray[size - 1] = null;
-				size--;
-				fingerprint -= removedRowHashCode; // Update the fingerprint
-				return oldFields;
-			}
+		int i = indexOf(key, key.hashCode());
+		// condition for hit
+		if (i != -1) {
+			List<Object> oldFields = tableArray[i].fields();
+			int removedRowHashCode = tableArray[i].hashCode(); // Calculate the hash code of the removed row
+			tableArray[i] = tableArray[size - 1];
+			tableArray[size - 1] = null;
+			keyHashes.swap(i, size - 1);
+			size--;
+			fingerprint -= removedRowHashCode; // Update the fingerprint
+			return oldFields;
 		}
 		// otherwise return null for miss
 		return null;
@@ -211,6 +312,17 @@ public class SearchTable implements BoundedTable {
 		};
 	}
 
+	/**
+	 * Returns a spliterator over the occupied prefix of the table array, which
+	 * splits by index range without copying it.
+	 *
+	 * @return A spliterator for the table
+	 */
+	@Override
+	public Spliterator<Row> spliterator() {
+		return Spliterators.spliterator(tableArray, 0, size, Spliterator.NONNULL | Spliterator.DISTINCT);
+	}
+
 	/**
 	 * Returns the name of the table.
 	 *
@@ -0,0 +1,91 @@
+package types;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import models.Row;
+import models.Table;
+
+/**
+ * A view of the rows of one table whose keys are, or are not, in another: an
+ * intersection or a difference.
+ * <p>
+ * Each iteration scans both tables once, with no lookup per row in a stored
+ * table. The smaller table, by the sizes in-memory tables know without a
+ * scan, is the build side, and a table of unknown size counts as the larger:
+ * its keys are gathered in memory, or in a Bloom filter when an in-memory
+ * table has very many, with hits confirmed in that table, and the other
+ * table's rows are probed against them. When the left table
+ * is the smaller one, its rows are held until the right table has been
+ * scanned, then filtered by the keys they share with it.
+ */
+public class SetOperationView extends TableView {
+	private final Table left;
+	private final Table right;
+	private final boolean shared;
+
+	/**
+	 * Constructs a view of the rows of the left table whose keys are in the
+	 * right table, or not in it.
+	 *
+	 * @param left   The table whose rows the view holds
+	 * @param right  The table whose keys decide which rows are held
+	 * @param shared True for the intersection, false for the difference
+	 */
+	public SetOperationView(Table left, Table right, boolean shared) {
+		super(left.name() + (shared ? "_intersection" : "_difference"), left.columns());
+		this.left = left;
+		this.right = right;
+		this.shared = shared;
+	}
+
+	/**
+	 * Retrieves the fields of a row of the left table if the right table's
+	 * keys admit it.
+	 *
+	 * @param key The key to search for
+	 * @return The fields of the row, or null if it is absent or excluded
+	 */
+	@Override
+	public List<Object> get(String key) {
+		List<Object> fields = left.get(key);
+		return fields != null && right.contains(key) == shared ? fields : null;
+	}
+
+	/**
+	 * Returns an iterator over the rows of the view, after building the
+	 * smaller side's keys.
+	 *
+	 * @return An iterator for the view
+	 */
+	@Override
+	public Iterator<Row> iterator() {
+		int leftSize = KeyProbe.estimateSize(left);
+		int rightSize = KeyProbe.estimateSize(right);
+		// A right side of unknown size may be far larger, so a known small left side is held
+		boolean buildLeft = leftSize > 0 && leftSize <= KeyProbe.BLOOM_THRESHOLD
+				&& (rightSize == 0 || leftSize < rightSize);
+		if (!buildLeft) {
+			KeyProbe probe = KeyProbe.of(right);
+			return new FilterView(left, row -> probe.contains(row.key()) == shared).iterator();
+		}
+
+		// Hold the smaller left side and mark the keys the right side shares
+		List<Row> rows = new ArrayList<>(leftSize);
+		Set<String> keys = new HashSet<>(leftSize * 4 / 3 + 1);
+		for (Row row : left) {
+			rows.add(row);
+			keys.add(row.key());
+		}
+		Set<String> matched = new HashSet<>();
+		for (Row row : right) {
+			if (keys.contains(row.key())) {
+				matched.add(row.key());
+			}
+		}
+		return rows.stream().filter(row -> matched.contains(row.key()) == shared).iterator();
+	}
+}
@@ -0,0 +1,83 @@
+package types;
+
+import models.HashStrategy;
+
+/**
+ * A keyed hash strategy using SipHash-2-4 over the UTF-16LE code units of the
+ * key, which resists hash flooding as long as the key stays secret.
+ * <p>
+ * Characters are packed four to a 64-bit block directly from the string, so
+ * no byte array is allocated.
+ */
+public class SipHash implements HashStrategy {
+	private final long k0;
+	private final long k1;
+
+	/**
+	 * Constructs a SipHash with the given 128-bit key.
+	 *
+	 * @param k0 The lower 64 bits of the key.
+	 * @param k1 The upper 64 bits of the key.
+	 */
+	public SipHash(long k0, long k1) {
+		this.k0 = k0;
+		this.k1 = k1;
+	}
+
+	/**
+	 * Computes the 64-bit hash of the given key.
+	 *
+	 * @param key The key to hash.
+	 * @return The 64-bit hash of the key.
+	 */
+	@Override
+	public long hash(String key) {
+		long v0 = k0 ^ 0x736F6D6570736575L;
+		long v1 = k1 ^ 0x646F72616E646F6DL;
+		long v2 = k0 ^ 0x6C7967656E657261L;
+		long v3 = k1 ^ 0x7465646279746573L;
+
+		int length = key.length();
+		int blocks = length & ~3;
+
+		// Compress each full block of four characters
+		for (int i = 0; i < blocks; i += 4) {
+			long m = key.charAt(i)
+					| (long) key.charAt(i + 1) << 16
+					| (long) key.charAt(i + 2) << 32
+					| (long) key.charAt(i + 3) << 48;
+			v3 ^= m;
+			for (int r = 0; r < 2; r++) {
+				v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+				v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+				v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+				v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+			}
+			v0 ^= m;
+		}
+
+		// Pack the remaining characters with the byte length in the top byte
+		long last = (long) (length << 1) << 56;
+		for (int i = blocks, shift = 0; i < length; i++, shift += 16) {
+			last |= (long) key.charAt(i) << shift;
+		}
+		v3 ^= last;
+		for (int r = 0; r < 2; r++) {
+			v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+			v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+			v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+			v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+		}
+		v0 ^= last;
+
+		// Finalize
+		v2 ^= 0xFF;
+		for (int r = 0; r < 4; r++) {
+			v0 += v1; v1 = Long.rotateLeft(v1, 13); v1 ^= v0; v0 = Long.rotateLeft(v0, 32);
+			v2 += v3; v3 = Long.rotateLeft(v3, 16); v3 ^= v2;
+			v0 += v3; v3 = Long.rotateLeft(v3, 21); v3 ^= v0;
+			v2 += v1; v1 = Long.rotateLeft(v1, 17); v1 ^= v2; v2 = Long.rotateLeft(v2, 32);
+		}
+		return v0 ^ v1 ^ v2 ^ v3;
+	}
+}
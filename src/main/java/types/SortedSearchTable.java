@@ -0,0 +1,398 @@
+package types;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import models.BoundedTable;
+import models.Row;
+
+/**
+ * A search table that keeps its rows ordered by key, so lookups use binary
+ * search and iteration visits the keys in order.
+ * <p>
+ * New keys go into a small sorted buffer instead of being shifted into the
+ * main array one at a time. When the buffer fills, it is merged with the main
+ * array in a single pass, so each put costs about the square root of the size
+ * rather than the size. A removal from the main array leaves the key in place
+ * with null fields as a marker, which keeps the array searchable and is
+ * dropped at the next merge.
+ */
+public class SortedSearchTable implements BoundedTable {
+	private static final int INITIAL_CAPACITY = 16;
+	private static final int MIN_BUFFER = 16;
+
+	private Row[] rows;
+	private int count;
+	private int removed;
+	private Row[] buffer;
+	private int buffered;
+	private final String name;
+	private final List<String> columns;
+	private final int degree;
+	private int fingerprint;
+
+	/**
+	 * Constructs a SortedSearchTable with the given name and columns.
+	 *
+	 * @param name    The name of the table
+	 * @param columns The list of column names
+	 */
+	public SortedSearchTable(String name, List<String> columns) {
+		this.name = name;
+		this.columns = List.copyOf(columns);
+		this.degree = columns.size();
+		clear();
+	}
+
+	/**
+	 * Clears the table by resetting both arrays and the fingerprint.
+	 */
+	@Override
+	public void clear() {
+		rows = new Row[INITIAL_CAPACITY];
+		count = 0;
+		removed = 0;
+		buffer = new Row[MIN_BUFFER];
+		buffered = 0;
+		fingerprint = 0;
+	}
+
+	/**
+	 * Binary searches the first given number of rows of an array for a key.
+	 *
+	 * @param array  The array to search, sorted by key
+	 * @param length The number of rows to search
+	 * @param key    The key to search for
+	 * @return The index of the key if present, otherwise -(insertion point) - 1
+	 */
+	private static int search(Row[] array, int length, String key) {
+		int low = 0;
+		int high = length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int cmp = array[mid].key().compareTo(key);
+			if (cmp < 0) {
+				low = mid + 1;
+			} else if (cmp > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(low + 1);
+	}
+
+	/**
+	 * Puts a key-value pair into the table, in place if the key is present and
+	 * otherwise into the sorted buffer.
+	 *
+	 * @param key    The key for the pair
+	 * @param fields The values associated with the key
+	 * @return The previous values associated with the key, or null if the key was
+	 *         not present
+	 */
+	@Override
+	public List<Object> put(String key, List<Object> fields) {
+		if (fields.size() != degree - 1) {
+			throw new IllegalArgumentException("Number of fields doesn't match the degree of the table.");
+		}
+
+		Row newRow = new Row(key, fields);
+
+		// Replace in the main array, reviving a removal marker if needed
+		int i = search(rows, count, key);
+		if (i >= 0) {
+			Row oldRow = rows[i];
+			rows[i] = newRow;
+			if (oldRow.fields() == null) {
+				removed--;
+				fingerprint += newRow.hashCode();
+				return null;
+			}
+			fingerprint += newRow.hashCode() - oldRow.hashCode();
+			return oldRow.fields();
+		}
+
+		// Replace in the buffer, or insert into it in order
+		int j = search(buffer, buffered, key);
+		if (j >= 0) {
+			Row oldRow = buffer[j];
+			buffer[j] = newRow;
+			fingerprint += newRow.hashCode() - oldRow.hashCode();
+			return oldRow.fields();
+		}
+
+		j = -(j + 1);
+		System.arraycopy(buffer, j, buffer, j + 1, buffered - j);
+		buffer[j] = newRow;
+		buffered++;
+		fingerprint += newRow.hashCode();
+
+		if (buffered == buffer.length) {
+			merge();
+		}
+		return null;
+	}
+
+	/**
+	 * Merges the buffer into the main array in a single pass, dropping removal
+	 * markers, and resizes the buffer to the square root of the new size.
+	 */
+	private void merge() {
+		int live = count - removed + buffered;
+		Row[] merged = new Row[Math.max(INITIAL_CAPACITY, live + (live >> 1))];
+
+		int i = 0, j = 0, k = 0;
+		while (i < count || j < buffered) {
+			if (i < count && rows[i].fields() == null) {
+				i++;
+			} else if (j == buffered || i < count && rows[i].key().compareTo(buffer[j].key()) < 0) {
+				merged[k++] = rows[i++];
+			} else {
+				merged[k++] = buffer[j++];
+			}
+		}
+
+		rows = merged;
+		count = k;
+		removed = 0;
+		buffer = new Row[Math.max(MIN_BUFFER, (int) Math.sqrt(k))];
+		buffered = 0;
+	}
+
+	/**
+	 * Gets the values associated with a key by binary search.
+	 *
+	 * @param key The key to look up
+	 * @return The values associated with the key, or null if the key is not present
+	 */
+	@Override
+	public List<Object> get(String key) {
+		int i = search(rows, count, key);
+		if (i >= 0) {
+			return rows[i].fields(); // Null for a removal marker
+		}
+		int j = search(buffer, buffered, key);
+		return j >= 0 ? buffer[j].fields() : null;
+	}
+
+	/**
+	 * Removes a key-value pair from the table, leaving a marker in the main
+	 * array or closing the gap in the buffer.
+	 *
+	 * @param key The key to remove
+	 * @return The values associated with the key before removal, or null if the key
+	 *         is not present
+	 */
+	@Override
+	public List<Object> remove(String key) {
+		int i = search(rows, count, key);
+		if (i >= 0) {
+			Row oldRow = rows[i];
+			if (oldRow.fields() == null) {
+				return null;
+			}
+			rows[i] = new Row(key, null);
+			removed++;
+			fingerprint -= oldRow.hashCode();
+			if (removed > count >> 1) {
+				merge(); // Compact once markers outnumber the live rows
+			}
+			return oldRow.fields();
+		}
+
+		int j = search(buffer, buffered, key);
+		if (j >= 0) {
+			Row oldRow = buffer[j];
+			System.arraycopy(buffer, j + 1, buffer, j, buffered - j - 1);
+			buffer[--buffered] = null;
+			fingerprint -= oldRow.hashCode();
+			return oldRow.fields();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the rows whose keys lie between two bounds, inclusive, in key order.
+	 *
+	 * @param low  The lowest key to include
+	 * @param high The highest key to include
+	 * @return An iterator over the rows in the range
+	 */
+	public Iterator<Row> range(String low, String high) {
+		int i = search(rows, count, low);
+		int j = search(buffer, buffered, low);
+		return new MergingIterator(i >= 0 ? i : -(i + 1), j >= 0 ? j : -(j + 1), high);
+	}
+
+	/**
+	 * An iterator that merges the main array and the buffer in key order,
+	 * skipping removal markers and stopping past an optional upper bound.
+	 */
+	private class MergingIterator implements Iterator<Row> {
+		private int i;
+		private int j;
+		private final String high;
+
+		MergingIterator(int i, int j, String high) {
+			this.i = i;
+			this.j = j;
+			this.high = high;
+		}
+
+		private Row peek() {
+			while (i < count && rows[i].fields() == null) {
+				i++;
+			}
+			Row row;
+			if (i < count && (j >= buffered || rows[i].key().compareTo(buffer[j].key()) < 0)) {
+				row = rows[i];
+			} else if (j < buffered) {
+				row = buffer[j];
+			} else {
+				return null;
+			}
+			return high == null || row.key().compareTo(high) <= 0 ? row : null;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return peek() != null;
+		}
+
+		@Override
+		public Row next() {
+			Row row = peek();
+			if (row == null) {
+				throw new NoSuchElementException();
+			}
+			if (i < count && rows[i] == row) {
+				i++;
+			} else {
+				j++;
+			}
+			return row;
+		}
+	}
+
+	/**
+	 * Returns the degree of the table.
+	 *
+	 * @return The degree of the table
+	 */
+	@Override
+	public int degree() {
+		return degree;
+	}
+
+	/**
+	 * Returns the current size of the table.
+	 *
+	 * @return The current size of the table
+	 */
+	@Override
+	public int size() {
+		return count - removed + buffered;
+	}
+
+	/**
+	 * Returns the current capacity of the main array and the buffer.
+	 *
+	 * @return The current capacity of the table
+	 */
+	@Override
+	public int capacity() {
+		return rows.length + buffer.length;
+	}
+
+	/**
+	 * Returns the fingerprint value.
+	 *
+	 * @return The fingerprint value
+	 */
+	@Override
+	public int hashCode() {
+		return fingerprint;
+	}
+
+	/**
+	 * Checks if the current table is equal to another BoundedTable based on the
+	 * fingerprint.
+	 *
+	 * @param obj The object to compare to
+	 * @return True if the tables are equal, false otherwise
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof BoundedTable) {
+			BoundedTable otherTable = (BoundedTable) obj;
+			return this.fingerprint == otherTable.hashCode();
+		}
+		return false;
+	}
+
+	/**
+	 * Returns an iterator over the rows in key order.
+	 *
+	 * @return An iterator for the table
+	 */
+	@Override
+	public Iterator<Row> iterator() {
+		return new MergingIterator(0, 0, null);
+	}
+
+	/**
+	 * Returns an iterator over the rows in key order, which is the table's
+	 * natural order.
+	 *
+	 * @return A sorted iterator for the table
+	 */
+	@Override
+	public Iterator<Row> sortedIterator() {
+		return iterator();
+	}
+
+	/**
+	 * Returns an iterator over the rows in the given order, without sorting
+	 * when the order is the table's own.
+	 *
+	 * @param comparator The order of the rows
+	 * @return A sorted iterator for the table
+	 */
+	@Override
+	public Iterator<Row> sortedIterator(Comparator<? super Row> comparator) {
+		return comparator == Row.KEY_ORDER ? iterator() : BoundedTable.super.sortedIterator(comparator);
+	}
+
+	/**
+	 * Returns the name of the table.
+	 *
+	 * @return The name of the table
+	 */
+	@Override
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Returns the list of column names in the table.
+	 *
+	 * @return The list of column names
+	 */
+	@Override
+	public List<String> columns() {
+		return columns;
+	}
+
+	/**
+	 * Returns a string representation of the table.
+	 *
+	 * @return A string representation of the table
+	 */
+	@Override
+	public String toString() {
+		return toTabularView(false);
+	}
+}
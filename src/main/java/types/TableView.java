@@ -0,0 +1,195 @@
+package types;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+import models.Row;
+import models.StoredTable;
+import models.Table;
+
+/**
+ * A read-only table whose rows are derived from other tables each time they
+ * are read, rather than stored.
+ * <p>
+ * A view costs nothing to create and always reflects the current contents of
+ * the tables beneath it. Operations that need every row, such as the size and
+ * the fingerprint, scan the view each time; {@link #materialize()} copies the
+ * rows into a hash table when they are needed more than once.
+ */
+public abstract class TableView implements Table {
+	private final String name;
+	private final List<String> columns;
+
+	/**
+	 * Constructs a view with the given name over tables with the given columns.
+	 *
+	 * @param name    The name of the view
+	 * @param columns The column names of the view
+	 */
+	protected TableView(String name, List<String> columns) {
+		this.name = name;
+		this.columns = columns;
+	}
+
+	/**
+	 * Copies the rows of the view into a new hash table with the same name and
+	 * columns.
+	 *
+	 * @return A hash table holding the rows the view holds now
+	 */
+	public Table materialize() {
+		return materialize(HashTable::new);
+	}
+
+	/**
+	 * Copies the rows of the view into a new table with the same name and
+	 * columns, such as {@code materialize(HashTable::new)}.
+	 *
+	 * @param <T>     The type of table to create
+	 * @param factory The constructor of the table, from a name and columns
+	 * @return The new table holding the rows the view holds now
+	 */
+	public <T extends Table> T materialize(BiFunction<String, List<String>, T> factory) {
+		return materializeInto(factory.apply(name, columns));
+	}
+
+	/**
+	 * Puts the rows of the view into an existing table, replacing rows with
+	 * the same keys, and flushes it if it is stored.
+	 *
+	 * @param <T>    The type of the target table
+	 * @param target The table to fill, which must not be a source of the view
+	 * @return The target table
+	 */
+	public <T extends Table> T materializeInto(T target) {
+		for (Row row : this) {
+			target.put(row.key(), row.fields());
+		}
+		if (target instanceof StoredTable) {
+			((StoredTable) target).flush();
+		}
+		return target;
+	}
+
+	/**
+	 * Rejects the put, as the view is read-only.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public List<Object> put(String key, List<Object> fields) {
+		throw new UnsupportedOperationException("Table views are read-only.");
+	}
+
+	/**
+	 * Rejects the removal, as the view is read-only.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public List<Object> remove(String key) {
+		throw new UnsupportedOperationException("Table views are read-only.");
+	}
+
+	/**
+	 * Rejects the clear, as the view is read-only.
+	 *
+	 * @throws UnsupportedOperationException always
+	 */
+	@Override
+	public void clear() {
+		throw new UnsupportedOperationException("Table views are read-only.");
+	}
+
+	/**
+	 * Returns the degree of the view.
+	 *
+	 * @return The degree of the view
+	 */
+	@Override
+	public int degree() {
+		return columns.size();
+	}
+
+	/**
+	 * Returns the number of rows in the view, counting them.
+	 *
+	 * @return The size of the view
+	 */
+	@Override
+	public int size() {
+		int size = 0;
+		for (Row row : this) {
+			size++;
+		}
+		return size;
+	}
+
+	/**
+	 * Checks if the view has no rows, stopping at the first one.
+	 *
+	 * @return True if the view is empty, false otherwise
+	 */
+	@Override
+	public boolean isEmpty() {
+		return !iterator().hasNext();
+	}
+
+	/**
+	 * Computes the fingerprint of the view, the sum of its rows' hash codes.
+	 *
+	 * @return The fingerprint of the view
+	 */
+	@Override
+	public int hashCode() {
+		int fingerprint = 0;
+		for (Row row : this) {
+			fingerprint += row.hashCode();
+		}
+		return fingerprint;
+	}
+
+	/**
+	 * Checks if the view is equal to another table based on the fingerprint.
+	 *
+	 * @param obj The object to compare to
+	 * @return True if the tables are equal, false otherwise
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof Table) {
+			return hashCode() == obj.hashCode();
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the name of the view.
+	 *
+	 * @return The name of the view
+	 */
+	@Override
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Returns the list of column names in the view.
+	 *
+	 * @return The list of column names
+	 */
+	@Override
+	public List<String> columns() {
+		return columns;
+	}
+
+	/**
+	 * Returns a string representation of the view.
+	 *
+	 * @return A string representation of the view
+	 */
+	@Override
+	public String toString() {
+		return toTabularView(false);
+	}
+}
@@ -0,0 +1,94 @@
+package types;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import models.Row;
+import models.Table;
+
+/**
+ * A view of the rows of two tables, where the row of the second table wins
+ * for a key both hold.
+ * <p>
+ * Iteration passes over every row of the second table, gathering its keys,
+ * then over the rows of the first table whose keys it did not see, so each
+ * table is scanned once and no key is looked up in a table.
+ */
+public class UnionView extends TableView {
+	private final Table first;
+	private final Table second;
+
+	/**
+	 * Constructs a view of the union of two tables of the same degree.
+	 *
+	 * @param first  The table whose rows give way on shared keys
+	 * @param second The table whose rows win on shared keys
+	 */
+	public UnionView(Table first, Table second) {
+		super(first.name() + "_union", first.columns());
+		this.first = first;
+		this.second = second;
+	}
+
+	/**
+	 * Retrieves the fields of a key from the second table, or else the first.
+	 *
+	 * @param key The key to search for
+	 * @return The fields of the row, or null if neither table holds the key
+	 */
+	@Override
+	public List<Object> get(String key) {
+		List<Object> fields = second.get(key);
+		return fields != null ? fields : first.get(key);
+	}
+
+	/**
+	 * Returns an iterator over the rows of the second table, followed by the
+	 * rows of the first that are not in the second.
+	 *
+	 * @return An iterator for the view
+	 */
+	@Override
+	public Iterator<Row> iterator() {
+		Iterator<Row> secondRows = second.iterator();
+		KeyProbe secondKeys = new KeyProbe(second);
+		return new Iterator<Row>() {
+			private Iterator<Row> firstRows;
+			private Row next = advance();
+
+			private Row advance() {
+				if (firstRows == null) {
+					if (secondRows.hasNext()) {
+						Row row = secondRows.next();
+						secondKeys.add(row.key());
+						return row;
+					}
+					firstRows = first.iterator();
+				}
+				while (firstRows.hasNext()) {
+					Row row = firstRows.next();
+					if (!secondKeys.contains(row.key())) {
+						return row;
+					}
+				}
+				return null;
+			}
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public Row next() {
+				if (next == null) {
+					throw new NoSuchElementException();
+				}
+				Row row = next;
+				next = advance();
+				return row;
+			}
+		};
+	}
+}
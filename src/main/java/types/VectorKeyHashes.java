@@ -0,0 +1,59 @@
+package types;
+
+import java.util.Arrays;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Hash codes scanned a full vector of ints per step with the preferred
+ * species of the platform.
+ * <p>
+ * The array is padded by one vector less one int past the capacity, so a
+ * vector loads from any index below the capacity and the scan needs no
+ * scalar tail; a match found in the padding or past the bound is ignored.
+ * <p>
+ * This class links against an incubating module and is only loaded by
+ * reflection from {@link KeyHashes}, so the table still works on a JVM
+ * started without it.
+ */
+final class VectorKeyHashes extends KeyHashes {
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+	/**
+	 * Constructs an array of hash codes with a given capacity.
+	 *
+	 * @param capacity The initial capacity
+	 */
+	VectorKeyHashes(int capacity) {
+		super(new int[padded(capacity)]);
+	}
+
+	/**
+	 * Returns the length of the array for a capacity.
+	 *
+	 * @param capacity The capacity
+	 * @return The capacity plus the padding
+	 */
+	private static int padded(int capacity) {
+		return capacity + SPECIES.length() - 1;
+	}
+
+	@Override
+	int indexOf(int code, int from, int to) {
+		for (int i = from; i < to; i += SPECIES.length()) {
+			VectorMask<Integer> match = IntVector.fromArray(SPECIES, codes, i).eq(code);
+			if (match.anyTrue()) {
+				int index = i + match.firstTrue();
+				return index < to ? index : -1;
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	void resize(int capacity) {
+		codes = Arrays.copyOf(codes, padded(capacity));
+	}
+}
@@ -0,0 +1,110 @@
+package bench;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.Row;
+import models.RowBatch;
+import types.HashTable;
+
+/**
+ * Measures a filtered sum over a hash table, reading boxed fields row by row
+ * against primitive loops over columnar batches.
+ * <p>
+ * {@code batchBuild} only produces the batches, and {@code batchLoopOnly}
+ * runs the loops over batches built in advance, which is what a table that
+ * keeps its rows by column would pay.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchScanBenchmark {
+	@Param({ "1000000" })
+	int rows;
+
+	HashTable table;
+	RowBatch[] batches;
+
+	@Setup
+	public void setup() {
+		table = new HashTable("bench", List.of("k", "qty", "price", "flag"), rows);
+		for (int i = 0; i < rows; i++) {
+			table.put("key_" + i, Row.of("key_" + i, i % 100, i * 0.5, i % 7 == 0).fields());
+		}
+		batches = new RowBatch[(rows + RowBatch.DEFAULT_CAPACITY - 1) / RowBatch.DEFAULT_CAPACITY];
+		Iterator<RowBatch> iterator = table.batchIterator();
+		for (int b = 0; iterator.hasNext(); b++) {
+			batches[b] = iterator.next();
+		}
+	}
+
+	@Benchmark
+	public double rowScan() {
+		double sum = 0;
+		for (Row row : table) {
+			List<Object> fields = row.fields();
+			if ((Integer) fields.get(0) < 10 && !(Boolean) fields.get(2)) {
+				sum += (Double) fields.get(1);
+			}
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public double batchScan() {
+		double sum = 0;
+		Iterator<RowBatch> iterator = table.batchIterator();
+		while (iterator.hasNext()) {
+			sum += sum(iterator.next());
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int batchBuild() {
+		int count = 0;
+		Iterator<RowBatch> iterator = table.batchIterator();
+		while (iterator.hasNext()) {
+			count += iterator.next().size();
+		}
+		return count;
+	}
+
+	@Benchmark
+	public double batchLoopOnly() {
+		double sum = 0;
+		for (RowBatch batch : batches) {
+			sum += sum(batch);
+		}
+		return sum;
+	}
+
+	private static double sum(RowBatch batch) {
+		int[] qty = batch.ints(0);
+		double[] price = batch.doubles(1);
+		long[] flag = batch.booleans(2);
+		double sum = 0;
+		for (int r = 0; r < batch.size(); r++) {
+			if (qty[r] < 10 && (flag[r >>> 6] & 1L << r) == 0) {
+				sum += price[r];
+			}
+		}
+		return sum;
+	}
+}
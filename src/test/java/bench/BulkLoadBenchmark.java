@@ -0,0 +1,76 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.HashStrategy;
+import models.Row;
+import types.HashTable;
+
+/**
+ * Measures loading a hash table with the given number of rows: one put at a
+ * time into a table that grows by rehashing, one put at a time into a table
+ * sized up front, and a single putAll.
+ * <p>
+ * Each operation builds and fills a new table, so it runs once per iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class BulkLoadBenchmark {
+	@Param({ "1000000", "5000000" })
+	int rows;
+
+	List<String> columns;
+	List<Row> source;
+
+	@Setup
+	public void setup() {
+		columns = List.of("k", "f1", "f2");
+		source = new ArrayList<>(rows);
+		for (int i = 0; i < rows; i++) {
+			source.add(Row.of("key_" + i, i, "value_" + (i % 1000)));
+		}
+	}
+
+	@Benchmark
+	public HashTable putGrowing() {
+		HashTable table = new HashTable("bench", columns);
+		for (Row row : source) {
+			table.put(row.key(), row.fields());
+		}
+		return table;
+	}
+
+	@Benchmark
+	public HashTable putPresized() {
+		HashTable table = new HashTable("bench", columns, HashStrategy.fast(), false, rows);
+		for (Row row : source) {
+			table.put(row.key(), row.fields());
+		}
+		return table;
+	}
+
+	@Benchmark
+	public HashTable putAll() {
+		HashTable table = new HashTable("bench", columns);
+		table.putAll(source);
+		return table;
+	}
+}
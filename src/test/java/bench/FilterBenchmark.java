@@ -0,0 +1,63 @@
+package bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.RowPredicate;
+import models.Table;
+import types.HashTable;
+
+/**
+ * Measures filtering a hash table on one column, with the original filter
+ * that compares every field and its string form, and with a typed predicate
+ * on the column, either counted through the lazy view or materialized.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+	@Param({ "100000" })
+	int rows;
+
+	Table table;
+	RowPredicate predicate;
+
+	@Setup
+	public void setup() {
+		table = new HashTable("bench", List.of("k", "qty", "name", "price"), rows);
+		for (int i = 0; i < rows; i++) {
+			table.put("key_" + i, List.of(i % 100, "name_" + i, i * 0.5));
+		}
+		predicate = RowPredicate.equalTo(table.columnIndex("qty"), 7);
+	}
+
+	@Benchmark
+	public int targetFilter() {
+		return table.filter((Object) 7).size();
+	}
+
+	@Benchmark
+	public int predicateView() {
+		return table.filter(predicate).size();
+	}
+
+	@Benchmark
+	public int predicateMaterialized() {
+		return table.filter(predicate).materialize().size();
+	}
+}
@@ -0,0 +1,90 @@
+package bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.BoundedTable;
+import types.FlatHashTable;
+import types.HashTable;
+
+/**
+ * Compares the row array layout of the hash table with the parallel tag and
+ * row array layout, for hits and for misses, which walk a full probe sequence.
+ * <p>
+ * A quarter of the rows are removed and replaced before measuring, so probe
+ * sequences also cross tombstones. Each trial also prints the table's
+ * average probe length, the mean distance of its rows from their home slots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashLayoutBenchmark {
+	@Param({ "HashTable", "FlatHashTable" })
+	String layout;
+
+	@Param({ "10000", "1000000" })
+	int rows;
+
+	BoundedTable table;
+	String[] hits;
+	String[] misses;
+	int next;
+
+	@Setup
+	public void setup() {
+		List<String> columns = List.of("k", "f1", "f2");
+		table = layout.equals("HashTable") ? new HashTable("bench", columns) : new FlatHashTable("bench", columns);
+
+		Random random = new Random(2023_08);
+		hits = new String[rows];
+		misses = new String[rows];
+		for (int i = 0; i < rows; i++) {
+			hits[i] = "key_" + random.nextLong();
+			misses[i] = "miss_" + random.nextLong();
+			table.put(hits[i], List.of(i, "value"));
+		}
+		for (int i = 0; i < rows; i += 4) {
+			table.remove(hits[i]);
+			hits[i] = "again_" + random.nextLong();
+			table.put(hits[i], List.of(i, "value"));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void reportProbeLength() {
+		double average = table instanceof HashTable hashTable
+				? hashTable.averageProbeLength()
+				: ((FlatHashTable) table).averageProbeLength();
+		System.out.printf("%n%s, %d rows: average probe length %.3f%n", layout, rows, average);
+	}
+
+	@Benchmark
+	public List<Object> hit() {
+		next = (next + 1) % rows;
+		return table.get(hits[next]);
+	}
+
+	@Benchmark
+	public List<Object> miss() {
+		next = (next + 1) % rows;
+		return table.get(misses[next]);
+	}
+}
@@ -0,0 +1,78 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.HashStrategy;
+import types.HashTable;
+
+/**
+ * Compares the hash strategies of the hash table, both hashing alone and
+ * through get on a populated table.
+ * <p>
+ * Run with {@code mvn test-compile} followed by
+ * {@code java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main HashStrategyBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HashStrategyBenchmark {
+	@Param({ "fast", "keyed", "digest" })
+	String strategy;
+
+	@Param({ "1000", "100000" })
+	int rows;
+
+	HashStrategy hasher;
+	HashTable table;
+	String[] keys;
+	int next;
+
+	@Setup
+	public void setup() {
+		hasher = switch (strategy) {
+			case "fast" -> HashStrategy.fast();
+			case "keyed" -> HashStrategy.keyed();
+			default -> HashStrategy.digest();
+		};
+
+		Random random = new Random(2023_08);
+		List<String> generated = new ArrayList<>();
+		table = new HashTable("bench", List.of("k", "f"), hasher);
+		for (int i = 0; i < rows; i++) {
+			String key = "key_" + Integer.toHexString(random.nextInt());
+			generated.add(key);
+			table.put(key, List.of(i));
+		}
+		keys = generated.toArray(new String[0]);
+	}
+
+	@Benchmark
+	public long hash() {
+		next = (next + 1) % keys.length;
+		return hasher.hash(keys[next]);
+	}
+
+	@Benchmark
+	public List<Object> get() {
+		next = (next + 1) % keys.length;
+		return table.get(keys[next]);
+	}
+}
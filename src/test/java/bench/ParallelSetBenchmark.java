@@ -0,0 +1,96 @@
+package bench;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.RowPredicate;
+import models.Table;
+import types.HashTable;
+
+/**
+ * Measures filtering and intersecting hash tables into a new hash table,
+ * sequentially through a materialized view and in parallel as the number of
+ * worker threads grows.
+ * <p>
+ * Each parallel run uses a dedicated fork-join pool of the given parallelism,
+ * so results show how the operations scale with core count on the
+ * benchmarking machine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelSetBenchmark {
+	@Param({ "1", "2", "4", "8" })
+	int threads;
+
+	@Param({ "1000000" })
+	int rows;
+
+	Table left;
+	Table right;
+	RowPredicate predicate;
+	ForkJoinPool pool;
+
+	@Setup
+	public void setup() {
+		List<String> columns = List.of("k", "f1", "f2");
+		left = new HashTable("left", columns, rows);
+		right = new HashTable("right", columns, rows / 2);
+		for (int i = 0; i < rows; i++) {
+			left.put("key_" + i, List.of(i, "value_" + (i % 1000)));
+			if (i % 2 == 0) {
+				right.put("key_" + (i + rows / 2), List.of(i, "value"));
+			}
+		}
+		predicate = RowPredicate.on(1, value -> (Integer) value % 10 == 0);
+	}
+
+	@Setup(Level.Trial)
+	public void startPool() {
+		pool = new ForkJoinPool(threads);
+	}
+
+	@TearDown(Level.Trial)
+	public void stopPool() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public int filterSequential() {
+		return left.filter(predicate).materialize().size();
+	}
+
+	@Benchmark
+	public int filterParallel() throws InterruptedException, ExecutionException {
+		return pool.submit(() -> left.parallelFilter(predicate).size()).get();
+	}
+
+	@Benchmark
+	public int intersectSequential() {
+		return left.intersect(right).materialize().size();
+	}
+
+	@Benchmark
+	public int intersectParallel() throws InterruptedException, ExecutionException {
+		return pool.submit(() -> left.parallelIntersect(right).size()).get();
+	}
+}
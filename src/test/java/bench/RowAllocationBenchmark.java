@@ -0,0 +1,78 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.Row;
+import types.HashTable;
+
+/**
+ * Measures the allocation of building rows from the usual kinds of field
+ * lists, and of a put that replaces a row in a hash table.
+ * <p>
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}, the
+ * bytes allocated per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowAllocationBenchmark {
+	HashTable table;
+	String[] keys;
+	List<Object> arrayList;
+	List<Object> listOf;
+	int next;
+
+	@Setup
+	public void setup() {
+		table = new HashTable("bench", List.of("k", "f1", "f2"), 1024);
+		keys = new String[1024];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = "key_" + i;
+			table.put(keys[i], List.of(i, "value"));
+		}
+		arrayList = new ArrayList<>(List.of(7, "value"));
+		listOf = List.of(7, "value");
+	}
+
+	@Benchmark
+	public Row fromArrayList() {
+		return new Row("key", arrayList);
+	}
+
+	@Benchmark
+	public Row fromListOf() {
+		return new Row("key", listOf);
+	}
+
+	@Benchmark
+	public Row fromFactory() {
+		return Row.of("key", 7, "value");
+	}
+
+	@Benchmark
+	public Row fromRowFields() {
+		return new Row("key", table.get(keys[next = (next + 1) & 1023]));
+	}
+
+	@Benchmark
+	public List<Object> putListOf() {
+		next = (next + 1) & 1023;
+		return table.put(keys[next], List.of(next, "value"));
+	}
+}
@@ -0,0 +1,96 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.Row;
+import types.HashTable;
+
+/**
+ * Measures hashing a row of the given number of fields, the content hash of
+ * a table of 1024 such rows, and replacing rows in a hash table, which hashes
+ * both the new and the old row to keep the table's fingerprint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowHashBenchmark {
+	@Param({ "2", "16" })
+	int width;
+
+	Row row;
+	Row listOfRow;
+	HashTable table;
+	List<Object>[] replacements;
+	String[] keys;
+	int next;
+
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		List<String> columns = new ArrayList<>();
+		List<Object> fields = new ArrayList<>();
+		columns.add("k");
+		for (int i = 0; i < width; i++) {
+			columns.add("f" + i);
+			fields.add(i % 2 == 0 ? (Object) ("value_" + i) : (Object) (i * 1.5));
+		}
+		row = new Row("key", fields);
+		listOfRow = new Row("key", List.copyOf(fields));
+
+		table = new HashTable("bench", columns, 2048);
+		keys = new String[1024];
+		replacements = new List[2];
+		for (int r = 0; r < replacements.length; r++) {
+			List<Object> copy = new ArrayList<>(fields);
+			copy.set(0, "replacement_" + r);
+			replacements[r] = new Row("key", copy).fields();
+		}
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = "key_" + i;
+			table.put(keys[i], replacements[0]);
+		}
+	}
+
+	@Benchmark
+	public int rowHashCode() {
+		return row.hashCode();
+	}
+
+	@Benchmark
+	public int listOfRowHashCode() {
+		return listOfRow.hashCode();
+	}
+
+	@Benchmark
+	public long rowContentHash() {
+		return row.contentHash();
+	}
+
+	@Benchmark
+	public long tableContentHash() {
+		return table.contentHash();
+	}
+
+	@Benchmark
+	public List<Object> replace() {
+		next = (next + 1) & 1023;
+		return table.put(keys[next], replacements[next & 1]);
+	}
+}
@@ -0,0 +1,81 @@
+package bench;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.Table;
+import types.HashTable;
+import types.SearchTable;
+
+/**
+ * Measures full-table scan time through a parallel stream as the number of
+ * worker threads grows, for the hash table and the search table.
+ * <p>
+ * Each scan runs in a dedicated fork-join pool of the given parallelism, so
+ * results show how scans scale with core count on the benchmarking machine.
+ * The search table is filled one put at a time, and each put searches the
+ * rows before it, so setup grows with the square of the row count; 50,000
+ * rows keep it to a few seconds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanBenchmark {
+	@Param({ "HashTable", "SearchTable" })
+	String type;
+
+	@Param({ "1", "2", "4", "8" })
+	int threads;
+
+	@Param({ "50000" })
+	int rows;
+
+	Table table;
+	ForkJoinPool pool;
+
+	@Setup
+	public void setup() {
+		List<String> columns = List.of("k", "f1", "f2");
+		table = type.equals("HashTable") ? new HashTable("bench", columns, rows) : new SearchTable("bench", columns);
+		for (int i = 0; i < rows; i++) {
+			table.put("key_" + i, List.of(i, "value_" + (i % 1000)));
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void startPool() {
+		pool = new ForkJoinPool(threads);
+	}
+
+	@TearDown(Level.Trial)
+	public void stopPool() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public long scan() throws InterruptedException, ExecutionException {
+		return pool.submit(() -> table.parallelStream()
+				.filter(row -> ((Integer) row.fields().get(0)) % 3 == 0)
+				.mapToLong(row -> row.fields().get(1).hashCode())
+				.sum()).get();
+	}
+}
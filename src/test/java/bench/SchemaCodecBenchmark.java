@@ -0,0 +1,83 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import models.Row;
+import models.Schema;
+import models.Schema.Type;
+
+/**
+ * Measures decoding and encoding 1024 rows of mostly numeric fields with the
+ * schema's tagless codec and with the tagged row encoding, the two formats a
+ * binary table reads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaCodecBenchmark {
+	Schema schema;
+	List<Row> rows;
+	byte[][] schemaBytes;
+	byte[][] taggedBytes;
+
+	@Setup
+	public void setup() {
+		schema = new Schema(List.of("k", "a", "b", "c", "d", "e", "f"),
+				List.of(Type.STRING, Type.INTEGER, Type.LONG, Type.DOUBLE, Type.FLOAT, Type.BOOLEAN, Type.STRING));
+		rows = new ArrayList<>();
+		for (int i = 0; i < 1024; i++) {
+			rows.add(Row.of("key_" + i, i, i * 31L, i * 0.5, i * 0.25f, i % 2 == 0, i % 4 == 0 ? null : "v" + i));
+		}
+		schemaBytes = new byte[rows.size()][];
+		taggedBytes = new byte[rows.size()][];
+		for (int i = 0; i < rows.size(); i++) {
+			schemaBytes[i] = schema.getBytes(rows.get(i));
+			taggedBytes[i] = rows.get(i).getBytes();
+		}
+	}
+
+	@Benchmark
+	public void decodeSchema(Blackhole hole) {
+		for (byte[] bytes : schemaBytes) {
+			hole.consume(schema.fromBytes(bytes));
+		}
+	}
+
+	@Benchmark
+	public void decodeTagged(Blackhole hole) {
+		for (byte[] bytes : taggedBytes) {
+			hole.consume(Row.fromBytes(bytes));
+		}
+	}
+
+	@Benchmark
+	public void encodeSchema(Blackhole hole) {
+		for (Row row : rows) {
+			hole.consume(schema.getBytes(row));
+		}
+	}
+
+	@Benchmark
+	public void encodeTagged(Blackhole hole) {
+		for (Row row : rows) {
+			hole.consume(row.getBytes());
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package bench;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.Row;
+import types.SearchTable;
+
+/**
+ * Compares lookups in the search table, which scans an array of key hash
+ * codes, with the plain loop that calls equals on every key.
+ * <p>
+ * The hash scan runs twice: once in a fork with the vector module, and once
+ * in a fork without it, which takes the scalar fallback. Each lookup is for
+ * a key at a random position or a missing key, so a miss scans the whole table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchScanBenchmark {
+	@Param({ "16", "256", "4096", "65536" })
+	int rows;
+
+	SearchTable table;
+	Row[] array;
+	String[] keys;
+	int next;
+
+	@Setup
+	public void setup() {
+		table = new SearchTable("bench", List.of("k", "f1"));
+		array = new Row[rows];
+		for (int i = 0; i < rows; i++) {
+			String key = "key_" + i;
+			table.put(key, List.of(i));
+			array[i] = new Row(key, List.of(i));
+		}
+
+		// Half hits spread over the table, half misses
+		keys = new String[1024];
+		Random random = new Random(2023_08);
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = i % 2 == 0 ? "key_" + random.nextInt(rows) : "miss_" + i;
+		}
+	}
+
+	@Benchmark
+	public List<Object> equalsLoop() {
+		String key = keys[next = (next + 1) & 1023];
+		for (int i = 0; i < rows; i++) {
+			if (array[i].key().equals(key)) {
+				return array[i].fields();
+			}
+		}
+		return null;
+	}
+
+	@Benchmark
+	public List<Object> hashScanScalar() {
+		return table.get(keys[next = (next + 1) & 1023]);
+	}
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = { "--add-modules", "jdk.incubator.vector" })
+	public List<Object> hashScanVector() {
+		return table.get(keys[next = (next + 1) & 1023]);
+	}
+}
@@ -0,0 +1,67 @@
+package bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.Table;
+import types.CSVTable;
+
+/**
+ * Measures intersecting, subtracting and joining two CSV tables that share
+ * half of their keys, counting the rows of the result.
+ * <p>
+ * A CSV table reads its whole file for every lookup, so set operations that
+ * look up each key of one table in the other grow with the product of the
+ * table sizes, while those that scan each table once grow with their sum.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class SetOperationBenchmark {
+	@Param({ "1000" })
+	int rows;
+
+	Table left;
+	Table right;
+
+	@Setup
+	public void setup() {
+		List<String> columns = List.of("k", "f1", "f2");
+		left = new CSVTable("bench_left", columns);
+		right = new CSVTable("bench_right", columns);
+		for (int i = 0; i < rows; i++) {
+			left.put("key_" + i, List.of(i, "left"));
+			right.put("key_" + (i + rows / 2), List.of(i, "right"));
+		}
+	}
+
+	@Benchmark
+	public int intersect() {
+		return left.intersect(right).size();
+	}
+
+	@Benchmark
+	public int minus() {
+		return left.minus(right).size();
+	}
+
+	@Benchmark
+	public int union() {
+		return left.union(right).size();
+	}
+}
@@ -0,0 +1,72 @@
+package bench;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.Row;
+import types.ExternalSort;
+import types.HashTable;
+
+/**
+ * Measures sorting the rows of a hash table by key and reading them all, in
+ * memory and with runs small enough to spill, for shuffled and for already
+ * ordered input.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class SortBenchmark {
+	@Param({ "1000000" })
+	int rows;
+
+	@Param({ "1073741824", "16777216", "1048576" })
+	long runBytes;
+
+	HashTable table;
+	List<Row> ordered;
+
+	@Setup
+	public void setup() {
+		table = new HashTable("bench", List.of("k", "f1", "f2"), rows);
+		for (int i = 0; i < rows; i++) {
+			table.put("key_" + i, List.of(i, "value_" + (i % 1000)));
+		}
+		ordered = new ArrayList<>();
+		table.sortedIterator().forEachRemaining(ordered::add);
+	}
+
+	@Benchmark
+	public long shuffled() {
+		return drain(new ExternalSort(Row.KEY_ORDER, runBytes).sort(table.iterator()));
+	}
+
+	@Benchmark
+	public long alreadyOrdered() {
+		return drain(new ExternalSort(Row.KEY_ORDER, runBytes).sort(ordered.iterator()));
+	}
+
+	private static long drain(Iterator<Row> rows) {
+		long count = 0;
+		while (rows.hasNext()) {
+			count += rows.next().key().length();
+		}
+		return count;
+	}
+}
@@ -0,0 +1,54 @@
+package bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import models.Table;
+import types.HashTable;
+
+/**
+ * Measures a keep and drop chain over a hash table, counting the rows of the
+ * result, and the same chain copied into a table of its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ViewChainBenchmark {
+	@Param({ "100000" })
+	int rows;
+
+	Table table;
+
+	@Setup
+	public void setup() {
+		table = new HashTable("bench", List.of("k", "group", "flag"), rows);
+		for (int i = 0; i < rows; i++) {
+			table.put("key_" + i, List.of("group_" + (i % 4), i % 3 == 0 ? "yes" : "no"));
+		}
+	}
+
+	@Benchmark
+	public int keepDrop() {
+		return table.keep("group_1").drop("yes").size();
+	}
+
+	@Benchmark
+	public int keepDropMaterialized() {
+		return table.keep("group_1").drop("yes").materialize(HashTable::new).size();
+	}
+}
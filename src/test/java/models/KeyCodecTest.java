@@ -0,0 +1,128 @@
+package models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Key Codec")
+final class KeyCodecTest {
+	private enum Status {
+		OPEN, CLOSED, PENDING, ARCHIVED
+	}
+
+	/**
+	 * Lists every key over an alphabet with lengths in a range, shortest first
+	 * and in alphabet order within a length.
+	 */
+	private static List<String> keysOf(String alphabet, int minLength, int maxLength) {
+		List<String> keys = new ArrayList<>();
+		List<String> layer = List.of("");
+		for (int length = 1; length <= maxLength; length++) {
+			List<String> next = new ArrayList<>();
+			for (String prefix : layer) {
+				for (char c : alphabet.toCharArray()) {
+					next.add(prefix + c);
+				}
+			}
+			layer = next;
+			if (length >= minLength) {
+				keys.addAll(layer);
+			}
+		}
+		return keys;
+	}
+
+	@Test
+	@DisplayName("an alphabet codec maps its domain onto consecutive indices")
+	void alphabetRoundTrip() {
+		String alphabet = "QXAZ";
+		KeyCodec codec = KeyCodec.alphabet(alphabet, 2, 4);
+		List<String> keys = keysOf(alphabet, 2, 4);
+
+		assertEquals(16 + 64 + 256, codec.size());
+		assertEquals(keys.size(), codec.size());
+		for (int i = 0; i < keys.size(); i++) {
+			assertEquals(i, codec.indexOf(keys.get(i)), keys.get(i));
+		}
+	}
+
+	@Test
+	@DisplayName("a fixed-length alphabet codec covers exactly one length")
+	void alphabetFixedLength() {
+		KeyCodec codec = KeyCodec.alphabet("ABCDEFGHIJKLMNOPQRSTUVWXYZ", 2);
+
+		assertEquals(26 * 26, codec.size());
+		assertEquals(0, codec.indexOf("AA"));
+		assertEquals(26 * 20 + 18, codec.indexOf("US"));
+		assertEquals(26 * 26 - 1, codec.indexOf("ZZ"));
+	}
+
+	@Test
+	@DisplayName("an alphabet codec rejects keys outside its domain")
+	void alphabetOutOfDomain() {
+		KeyCodec codec = KeyCodec.alphabet("ABC", 2, 3);
+
+		assertEquals(-1, codec.indexOf(""));
+		assertEquals(-1, codec.indexOf("A"));
+		assertEquals(-1, codec.indexOf("ABCA"));
+		assertEquals(-1, codec.indexOf("AD"));
+		assertEquals(-1, codec.indexOf("ab"));
+		assertEquals(-1, codec.indexOf("A\u00e9"));
+		assertEquals(-1, codec.indexOf("A\uffff"));
+	}
+
+	@Test
+	@DisplayName("an alphabet codec rejects bad alphabets and lengths")
+	void alphabetInvalid() {
+		assertThrows(IllegalArgumentException.class, () -> KeyCodec.alphabet("", 1));
+		assertThrows(IllegalArgumentException.class, () -> KeyCodec.alphabet("ABA", 1));
+		assertThrows(IllegalArgumentException.class, () -> KeyCodec.alphabet("AB", 0));
+		assertThrows(IllegalArgumentException.class, () -> KeyCodec.alphabet("AB", 3, 2));
+		assertThrows(IllegalArgumentException.class, () -> KeyCodec.alphabet("0123456789", 10));
+	}
+
+	@Test
+	@DisplayName("an enumeration codec maps each key onto its list position")
+	void enumerationRoundTrip() {
+		List<String> keys = List.of("delta", "alpha", "echo", "charlie", "bravo", "", "Alpha");
+		KeyCodec codec = KeyCodec.enumeration(keys);
+
+		assertEquals(keys.size(), codec.size());
+		for (int i = 0; i < keys.size(); i++) {
+			assertEquals(i, codec.indexOf(keys.get(i)), keys.get(i));
+		}
+	}
+
+	@Test
+	@DisplayName("an enum codec maps each constant name onto its ordinal")
+	void enumerationOfEnum() {
+		KeyCodec codec = KeyCodec.enumeration(Status.class);
+
+		assertEquals(Status.values().length, codec.size());
+		for (Status status : Status.values()) {
+			assertEquals(status.ordinal(), codec.indexOf(status.name()), status.name());
+		}
+	}
+
+	@Test
+	@DisplayName("an enumeration codec rejects keys outside its domain")
+	void enumerationOutOfDomain() {
+		KeyCodec codec = KeyCodec.enumeration(List.of("b", "d", "f"));
+
+		for (String key : List.of("", "a", "c", "e", "g", "B", "bb")) {
+			assertEquals(-1, codec.indexOf(key), key);
+		}
+		assertEquals(-1, KeyCodec.enumeration(List.of()).indexOf("a"));
+	}
+
+	@Test
+	@DisplayName("an enumeration codec rejects repeated keys")
+	void enumerationRepeats() {
+		assertThrows(IllegalArgumentException.class, () -> KeyCodec.enumeration(List.of("a", "b", "a")));
+	}
+}
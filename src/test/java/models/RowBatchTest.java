@@ -0,0 +1,184 @@
+package models;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import models.Schema.Type;
+import types.HashTable;
+
+@DisplayName("Row Batch")
+final class RowBatchTest {
+	private static final int ROWS = 200;
+
+	/**
+	 * Builds rows with one column of each type, where every seventh row holds
+	 * nulls, so the null bitmaps span several words.
+	 */
+	private static List<Row> typedRows() {
+		List<Row> rows = new ArrayList<>();
+		for (int r = 0; r < ROWS; r++) {
+			if (r % 7 == 3) {
+				rows.add(new Row("k" + r, Arrays.asList(null, null, null, null, null, null)));
+			} else {
+				rows.add(Row.of("k" + r, r, (long) r << 40, r / 4f, r / 8.0, r % 3 == 0, "s" + r));
+			}
+		}
+		return rows;
+	}
+
+	@Test
+	@DisplayName("infers a primitive column for each type")
+	void infersTypes() {
+		List<Row> rows = typedRows();
+		RowBatch batch = RowBatch.of(rows, null);
+
+		assertEquals(ROWS, batch.size());
+		assertEquals(6, batch.width());
+		assertEquals(List.of(Type.INTEGER, Type.LONG, Type.FLOAT, Type.DOUBLE, Type.BOOLEAN, Type.STRING),
+				List.of(batch.type(0), batch.type(1), batch.type(2), batch.type(3), batch.type(4), batch.type(5)));
+
+		int[] ints = batch.ints(0);
+		long[] longs = batch.longs(1);
+		float[] floats = batch.floats(2);
+		double[] doubles = batch.doubles(3);
+		String[] strings = batch.strings(5);
+		for (int r = 0; r < ROWS; r++) {
+			boolean isNull = r % 7 == 3;
+			for (int c = 0; c < 6; c++) {
+				assertEquals(isNull, batch.isNull(c, r), c + "@" + r);
+			}
+			assertEquals("k" + r, batch.keys()[r]);
+			assertEquals(isNull ? 0 : r, ints[r]);
+			assertEquals(isNull ? 0 : (long) r << 40, longs[r]);
+			assertEquals(isNull ? 0 : r / 4f, floats[r]);
+			assertEquals(isNull ? 0 : r / 8.0, doubles[r]);
+			assertEquals(isNull ? null : "s" + r, strings[r]);
+		}
+		assertThrows(IllegalStateException.class, () -> batch.longs(0));
+		assertThrows(IllegalStateException.class, () -> batch.objects(5));
+	}
+
+	@Test
+	@DisplayName("sets null bits in the right word past row 63")
+	void nullBitmapWords() {
+		List<Row> rows = typedRows();
+		RowBatch batch = RowBatch.of(rows, null);
+
+		long[] nulls = batch.nulls(0);
+		assertEquals((ROWS + 63) / 64, nulls.length);
+		for (int r = 0; r < ROWS; r++) {
+			assertEquals(r % 7 == 3, (nulls[r / 64] >>> (r % 64) & 1) == 1, "row " + r);
+		}
+		assertTrue(batch.isNull(0, 66)); // Row 66 is bit 2 of word 1
+		assertFalse(batch.isNull(0, 2));
+	}
+
+	@Test
+	@DisplayName("packs booleans into a bitmap with nulls as false")
+	void booleans() {
+		RowBatch batch = RowBatch.of(typedRows(), null);
+
+		long[] bits = batch.booleans(4);
+		for (int r = 0; r < ROWS; r++) {
+			boolean expected = r % 7 != 3 && r % 3 == 0;
+			assertEquals(expected, (bits[r / 64] >>> (r % 64) & 1) == 1, "row " + r);
+			assertEquals(r % 7 == 3 ? null : r % 3 == 0, batch.get(4, r), "row " + r);
+		}
+	}
+
+	@Test
+	@DisplayName("takes column types from a schema over the values")
+	void schemaTypes() {
+		Schema schema = new Schema(List.of("k", "a", "b"), List.of(Type.STRING, Type.INTEGER, Type.DOUBLE));
+		List<Row> rows = List.of(new Row("x", Arrays.asList(null, null)), Row.of("y", 5, null));
+
+		RowBatch inferred = RowBatch.of(rows, null);
+		RowBatch typed = RowBatch.of(rows, schema);
+
+		// A column of nulls alone infers as strings, but the schema says doubles
+		assertEquals(Type.INTEGER, inferred.type(0));
+		assertEquals(Type.STRING, inferred.type(1));
+		assertEquals(Type.INTEGER, typed.type(0));
+		assertEquals(Type.DOUBLE, typed.type(1));
+		assertArrayEquals(new int[] { 0, 5 }, typed.ints(0));
+		assertArrayEquals(new double[] { 0, 0 }, typed.doubles(1));
+		assertTrue(typed.isNull(1, 0) && typed.isNull(1, 1));
+		assertEquals(rows.get(0), typed.row(0));
+
+		Schema longs = new Schema(List.of("k", "a", "b"), List.of(Type.STRING, Type.LONG, Type.DOUBLE));
+		assertThrows(ClassCastException.class, () -> RowBatch.of(rows, longs));
+		Schema narrow = new Schema(List.of("k", "a"), List.of(Type.STRING, Type.INTEGER));
+		assertThrows(IllegalArgumentException.class, () -> RowBatch.of(rows, narrow));
+	}
+
+	@Test
+	@DisplayName("holds a column of mixed values as objects")
+	void mixedColumns() {
+		List<Row> rows = List.of(Row.of("a", 1, 'c'), Row.of("b", 2L, 'd'), Row.of("c", (Object) null, null));
+		RowBatch batch = RowBatch.of(rows, null);
+
+		// Integer and Long mix, and Character has no column type of its own
+		assertNull(batch.type(0));
+		assertNull(batch.type(1));
+		assertArrayEquals(new Object[] { 1, 2L, null }, batch.objects(0));
+		assertArrayEquals(new Object[] { 'c', 'd', null }, batch.objects(1));
+		assertTrue(batch.isNull(0, 2));
+		assertThrows(IllegalStateException.class, () -> batch.ints(0));
+	}
+
+	@Test
+	@DisplayName("rebuilds each row it was built from")
+	void rowRoundTrips() {
+		List<Row> rows = new ArrayList<>(typedRows());
+		rows.add(Row.of("z", -1, Long.MIN_VALUE, Float.NaN, -0.0, false, ""));
+
+		RowBatch batch = RowBatch.of(rows, null);
+
+		for (int r = 0; r < rows.size(); r++) {
+			assertEquals(rows.get(r), batch.row(r));
+		}
+		assertThrows(IllegalArgumentException.class,
+				() -> RowBatch.of(List.of(Row.of("a", 1), Row.of("b", 1, 2)), null));
+	}
+
+	@Test
+	@DisplayName("batch iteration splits a table's rows in iteration order")
+	void batchIterator() {
+		Table table = new HashTable("t", List.of("k", "i", "s"));
+		for (int r = 0; r < 2_500; r++) {
+			table.put("k" + r, List.of(r, "s" + r));
+		}
+		List<Row> expected = new ArrayList<>();
+		table.forEach(expected::add);
+
+		List<Row> seen = new ArrayList<>();
+		List<Integer> sizes = new ArrayList<>();
+		Iterator<RowBatch> batches = table.batchIterator();
+		while (batches.hasNext()) {
+			RowBatch batch = batches.next();
+			sizes.add(batch.size());
+			assertEquals(Type.INTEGER, batch.type(0));
+			for (int r = 0; r < batch.size(); r++) {
+				seen.add(batch.row(r));
+			}
+		}
+		assertEquals(List.of(1024, 1024, 452), sizes);
+		assertEquals(expected, seen);
+		assertThrows(NoSuchElementException.class, batches::next);
+		assertThrows(IllegalArgumentException.class, () -> table.batchIterator(0));
+		assertFalse(new HashTable("e", List.of("k", "i")).batchIterator().hasNext());
+	}
+}
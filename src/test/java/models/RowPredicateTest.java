@@ -0,0 +1,115 @@
+package models;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import types.HashTable;
+import types.TableView;
+
+@DisplayName("Row Predicate")
+final class RowPredicateTest {
+	private static final Row INT = Row.of("a", 3, "x");
+	private static final Row LONG = Row.of("b", 3L, "y");
+	private static final Row DOUBLE = Row.of("c", 3.0, "z");
+	private static final Row NULL = Row.of("d", null, null);
+
+	private static List<String> keys(TableView view) {
+		List<String> keys = new ArrayList<>();
+		view.forEach(row -> keys.add(row.key()));
+		keys.sort(null);
+		return keys;
+	}
+
+	@Test
+	@DisplayName("equalTo compares numbers by value across boxed types")
+	void equalToAcrossTypes() {
+		for (Object value : List.of(3, 3L, 3.0, 3f, (short) 3, (byte) 3)) {
+			RowPredicate predicate = RowPredicate.equalTo(1, value);
+			for (Row row : List.of(INT, LONG, DOUBLE)) {
+				assertTrue(predicate.test(row), value.getClass().getSimpleName() + " vs " + row);
+			}
+			assertFalse(predicate.test(NULL));
+		}
+		assertFalse(RowPredicate.equalTo(1, 3.5).test(INT));
+		assertTrue(RowPredicate.equalTo(1, (1L << 53) + 1).test(Row.of("e", (1L << 53) + 1, "w")));
+		assertFalse(RowPredicate.equalTo(1, 1L << 53).test(Row.of("e", (1L << 53) + 1, "w")));
+	}
+
+	@Test
+	@DisplayName("equalTo compares other values with equals, not their strings")
+	void equalToTyped() {
+		assertTrue(RowPredicate.equalTo(2, "x").test(INT));
+		assertFalse(RowPredicate.equalTo(2, "x").test(LONG));
+		assertTrue(RowPredicate.equalTo(0, "b").test(LONG));
+		assertFalse(RowPredicate.equalTo(1, "3").test(INT));
+		assertFalse(RowPredicate.equalTo(2, 'x').test(INT));
+		assertFalse(RowPredicate.equalTo(2, "x").test(NULL));
+		assertThrows(IllegalArgumentException.class, () -> RowPredicate.equalTo(1, null));
+		assertThrows(IllegalArgumentException.class, () -> RowPredicate.equalTo(-1, 3));
+	}
+
+	@Test
+	@DisplayName("lessThan and greaterThan order numbers by value across boxed types")
+	void orderAcrossTypes() {
+		for (Row row : List.of(INT, LONG, DOUBLE)) {
+			assertTrue(RowPredicate.lessThan(1, 4).test(row), row.toString());
+			assertTrue(RowPredicate.lessThan(1, 3.5).test(row), row.toString());
+			assertFalse(RowPredicate.lessThan(1, 3L).test(row), row.toString());
+			assertTrue(RowPredicate.greaterThan(1, 2.5f).test(row), row.toString());
+			assertTrue(RowPredicate.greaterThan(1, 2L).test(row), row.toString());
+			assertFalse(RowPredicate.greaterThan(1, 3.0).test(row), row.toString());
+		}
+		assertTrue(RowPredicate.lessThan(1, Long.MAX_VALUE).test(Row.of("e", Long.MAX_VALUE - 1, "w")));
+		assertTrue(RowPredicate.greaterThan(1, -0.5).test(Row.of("e", 0, "w")));
+	}
+
+	@Test
+	@DisplayName("lessThan and greaterThan order other values only against their own type")
+	void orderTyped() {
+		assertTrue(RowPredicate.lessThan(2, "y").test(INT));
+		assertFalse(RowPredicate.lessThan(2, "y").test(LONG));
+		assertTrue(RowPredicate.greaterThan(0, "a").test(LONG));
+		assertFalse(RowPredicate.greaterThan(1, "2").test(INT)); // A string bound never matches a number
+		assertFalse(RowPredicate.lessThan(2, 'z').test(INT)); // Nor a character bound a string
+		assertThrows(IllegalArgumentException.class, () -> RowPredicate.lessThan(1, null));
+	}
+
+	@Test
+	@DisplayName("null fields match no comparison")
+	void nullFields() {
+		for (RowPredicate predicate : List.of(RowPredicate.equalTo(1, 3), RowPredicate.lessThan(1, 4),
+				RowPredicate.greaterThan(1, 2), RowPredicate.lessThan(2, "z"), RowPredicate.greaterThan(2, ""),
+				RowPredicate.matches("null"))) {
+			assertFalse(predicate.test(NULL));
+			assertTrue(predicate.negate().test(NULL));
+		}
+		assertTrue(RowPredicate.on(1, Objects::isNull).test(NULL));
+	}
+
+	@Test
+	@DisplayName("filter by column name passes raw values and rejects unknown columns")
+	void filterByColumn() {
+		Table table = new HashTable("t", List.of("k", "n", "s"));
+		for (Row row : List.of(INT, LONG, DOUBLE, NULL)) {
+			table.put(row.key(), row.fields());
+		}
+
+		assertEquals(List.of("a"), keys(table.filter("n", Integer.class::isInstance)));
+		assertEquals(List.of("d"), keys(table.filter("s", Objects::isNull)));
+		assertEquals(List.of("b", "c"), keys(table.filter("k", key -> ((String) key).compareTo("a") > 0)
+				.filter(RowPredicate.equalTo(1, 3).and(RowPredicate.greaterThan(2, "x")))));
+		assertEquals(List.of("a", "b", "c"), keys(table.filter(RowPredicate.greaterThan(1, 2)
+				.or(RowPredicate.equalTo(0, "a")))));
+		assertThrows(IllegalArgumentException.class, () -> table.filter("missing", Objects::isNull));
+		assertThrows(IllegalArgumentException.class, () -> table.filter("n", null));
+	}
+}
@@ -0,0 +1,183 @@
+package models;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Row")
+final class RowTest {
+	private static final List<Row> SAMPLES = List.of(
+			Row.of(""),
+			Row.of("plain", 0, 1, -1, 63, -64, 64, -65),
+			Row.of("ints", Integer.MIN_VALUE, Integer.MAX_VALUE, -300, 300),
+			Row.of("longs", Long.MIN_VALUE, Long.MAX_VALUE, -1L, 0L, 1L << 40),
+			Row.of("floats", 1.5, -0.0, Double.NaN, 2.5f, Float.MIN_VALUE),
+			Row.of("flags", true, false, null),
+			Row.of("é 中 😀", "ü", "𝄞 clef", "\u0000", ""),
+			Row.of("x".repeat(300), "y".repeat(20_000)));
+
+	@Test
+	@DisplayName("of with a null varargs array makes a row of one null field")
+	void ofNullField() {
+		Row row = Row.of("k", (Object[]) null);
+
+		assertEquals(Arrays.asList((Object) null), row.fields());
+		assertEquals(Row.of("k", (Object) null), row);
+	}
+
+	@Test
+	@DisplayName("of copies its varargs array")
+	void ofCopiesArray() {
+		Object[] fields = { 1, "a", null };
+		Row row = Row.of("k", fields);
+		fields[0] = 2;
+
+		assertEquals(Arrays.asList(1, "a", null), row.fields());
+	}
+
+	@Test
+	@DisplayName("of matches the list constructor")
+	void ofMatchesConstructor() {
+		assertEquals(new Row("k", List.of()), Row.of("k"));
+		assertEquals(new Row("k", List.of(1, 2, 3, 4)), Row.of("k", 1, 2, 3, 4));
+		assertEquals(new Row("k", List.of(1, 2)).hashCode(), Row.of("k", 1, 2).hashCode());
+	}
+
+	@Test
+	@DisplayName("rows wrap immutable lists in a field list that caches its hash")
+	void immutableListsAreWrapped() {
+		for (List<Object> fields : List.<List<Object>>of(List.of(), List.of(1), List.of(1, "a", 2.5), List.copyOf(Arrays.asList(1, 2)))) {
+			Row row = new Row("k", fields);
+
+			assertInstanceOf(FieldList.class, row.fields());
+			assertEquals(fields, row.fields());
+			assertEquals(fields.hashCode(), row.fields().hashCode());
+			assertEquals(31 * "k".hashCode() + fields.hashCode(), row.hashCode());
+			assertArrayEquals(fields.toArray(), row.fields().toArray());
+		}
+	}
+
+	@Test
+	@DisplayName("rows copy mutable lists, so later changes to them do not show")
+	void mutableListsAreCopied() {
+		List<Object> fields = new ArrayList<>(List.of(1, "a"));
+		Row row = new Row("k", fields);
+		fields.set(0, 2);
+
+		assertEquals(List.of(1, "a"), row.fields());
+	}
+
+	@Test
+	@DisplayName("rows share the field list of another row")
+	void rowFieldsAreShared() {
+		Row row = new Row("k", List.of(1, 2));
+
+		assertSame(row.fields(), new Row("j", row.fields()).fields());
+	}
+
+	@Test
+	@DisplayName("encode and decode round-trip every field type and edge value")
+	void roundTrip() {
+		for (Row row : SAMPLES) {
+			byte[] bytes = row.getBytes();
+
+			assertEquals(bytes.length, row.encodedSize(), row.key());
+			assertEquals(row.fields(), Row.fromBytes(bytes).fields(), row.key());
+			assertEquals(row, Row.fromBytes(bytes));
+
+			// The view skips fields without decoding them
+			RowView view = new RowView(ByteBuffer.wrap(bytes));
+			assertEquals(row.key(), view.key());
+			for (int i = 0; i < row.fields().size(); i++) {
+				assertEquals(row.fields().get(i), view.field(i), row.key() + "[" + i + "]");
+			}
+		}
+	}
+
+	@Test
+	@DisplayName("small magnitudes of either sign encode as one byte")
+	void zigZag() {
+		assertEquals(Row.of("k").encodedSize() + 2, Row.of("k", -64).encodedSize());
+		assertEquals(Row.of("k").encodedSize() + 2, Row.of("k", 63).encodedSize());
+		assertEquals(Row.of("k").encodedSize() + 3, Row.of("k", 64).encodedSize());
+		assertEquals(Row.of("k").encodedSize() + 3, Row.of("k", -65).encodedSize());
+		assertEquals(Row.of("k").encodedSize() + 1 + 5, Row.of("k", Integer.MIN_VALUE).encodedSize());
+		assertEquals(Row.of("k").encodedSize() + 1 + 10, Row.of("k", Long.MIN_VALUE).encodedSize());
+	}
+
+	@Test
+	@DisplayName("strings encode as the same UTF-8 bytes as the JDK, even with unpaired surrogates")
+	void utf8MatchesJdk() {
+		for (String s : List.of("ascii", "é", "中文", "😀", "a\uD800b", "\uDC00", "x\uD83D", "\uD83D\uD83D\uDE00")) {
+			byte[] expected = s.getBytes(StandardCharsets.UTF_8);
+			byte[] bytes = Row.of(s).getBytes();
+
+			// A version byte, a field count of zero and a one-byte length come first
+			assertEquals(3 + expected.length, bytes.length, s);
+			assertArrayEquals(expected, Arrays.copyOfRange(bytes, 3, bytes.length), s);
+			assertEquals(new String(expected, StandardCharsets.UTF_8), Row.fromBytes(bytes).key());
+		}
+	}
+
+	@Test
+	@DisplayName("decodes rows one after another from a shared buffer, heap or direct")
+	void decodesConsecutiveRows() {
+		int total = 0;
+		for (Row row : SAMPLES) {
+			total += row.encodedSize();
+		}
+
+		for (ByteBuffer buffer : List.of(ByteBuffer.allocate(total), ByteBuffer.allocateDirect(total))) {
+			for (Row row : SAMPLES) {
+				row.encode(buffer);
+			}
+			assertFalse(buffer.hasRemaining());
+			buffer.flip();
+
+			List<Row> decoded = new ArrayList<>();
+			while (buffer.hasRemaining()) {
+				decoded.add(Row.decode(buffer));
+			}
+			assertEquals(SAMPLES, decoded);
+		}
+	}
+
+	@Test
+	@DisplayName("reads rows in the original encoding")
+	void decodesLegacy() {
+		// Strings were a length byte and UTF-8 bytes, other values a negative tag and a fixed payload
+		byte[] key = "legacy_é".getBytes(StandardCharsets.UTF_8);
+		byte[] text = "text".getBytes(StandardCharsets.UTF_8);
+		ByteBuffer buffer = ByteBuffer.allocate(64);
+		buffer.put((byte) key.length).put(key);
+		buffer.put((byte) -1).putInt(-123_456);
+		buffer.put((byte) -2).putDouble(2.5);
+		buffer.put((byte) -3).put((byte) -4).put((byte) -5);
+		buffer.put((byte) text.length).put(text);
+		byte[] bytes = Arrays.copyOf(buffer.array(), buffer.position());
+
+		Row row = Row.fromBytes(bytes);
+
+		assertEquals(Row.of("legacy_é", -123_456, 2.5, true, false, null, "text"), row);
+		// Rewritten in the current encoding, it reads back the same
+		assertEquals(row, Row.fromBytes(row.getBytes()));
+	}
+
+	@Test
+	@DisplayName("decode rejects buffers not in the current encoding")
+	void decodeRejectsOtherVersions() {
+		assertThrows(IllegalArgumentException.class, () -> Row.decode(ByteBuffer.wrap(new byte[] { 3, 'a', 'b', 'c' })));
+	}
+}
@@ -0,0 +1,75 @@
+package models;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import models.Schema.Type;
+
+@DisplayName("Schema")
+final class SchemaTest {
+	private static final Schema SCHEMA = new Schema(
+			List.of("k", "i", "s", "b", "l", "f", "d", "t"),
+			List.of(Type.STRING, Type.INTEGER, Type.STRING, Type.BOOLEAN, Type.LONG, Type.FLOAT, Type.DOUBLE, Type.STRING));
+
+	@Test
+	@DisplayName("round trips rows with every type and with nulls")
+	void roundTrips() {
+		List<Row> rows = List.of(
+				Row.of("a", 1, "x", true, 2L, 1.5f, 2.5, "é😀"),
+				Row.of("b", -7, null, false, Long.MIN_VALUE, -0f, Double.NaN, ""),
+				new Row("c", Arrays.asList(null, null, null, null, null, null, null)));
+
+		for (Row row : rows) {
+			byte[] bytes = SCHEMA.getBytes(row);
+			assertEquals(SCHEMA.encodedSize(row), bytes.length);
+			assertEquals(row, SCHEMA.fromBytes(bytes));
+		}
+	}
+
+	@Test
+	@DisplayName("decodes consecutive rows from one buffer")
+	void decodesInSequence() {
+		Row first = Row.of("a", 1, "x", true, 2L, 1.5f, 2.5, "y");
+		Row second = Row.of("b", 2, null, false, 3L, 2.5f, 3.5, null);
+		ByteBuffer buffer = ByteBuffer.allocate(SCHEMA.encodedSize(first) + SCHEMA.encodedSize(second));
+		SCHEMA.encode(first, buffer);
+		SCHEMA.encode(second, buffer);
+		buffer.flip();
+
+		assertEquals(first, SCHEMA.decode(buffer));
+		assertEquals(second, SCHEMA.decode(buffer));
+		assertEquals(0, buffer.remaining());
+	}
+
+	@Test
+	@DisplayName("lays out the bitmap, fixed fields, then key and strings")
+	void layout() {
+		Schema schema = new Schema(List.of("k", "a", "b", "c"), List.of(Type.STRING, Type.INTEGER, Type.STRING, Type.BOOLEAN));
+
+		byte[] bytes = schema.getBytes(new Row("k", Arrays.asList(5, null, true)));
+
+		assertArrayEquals(new byte[] { 0b010, 0, 0, 0, 5, 1, 1, 'k' }, bytes);
+	}
+
+	@Test
+	@DisplayName("rejects a value of another type than its column")
+	void rejectsWrongType() {
+		Row row = Row.of("a", 1L, "x", true, 2L, 1.5f, 2.5, "y");
+
+		assertThrows(IllegalArgumentException.class, () -> SCHEMA.getBytes(row));
+	}
+
+	@Test
+	@DisplayName("reads back the lines it writes")
+	void linesRoundTrip() {
+		assertEquals(SCHEMA, Schema.fromLines(SCHEMA.toLines()));
+	}
+}
@@ -0,0 +1,98 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import models.HashStrategy;
+import models.Row;
+
+@DisplayName("Concurrent Hash Table")
+final class ConcurrentHashTableTest {
+	private static final List<String> COLUMNS = List.of("k", "f1", "f2");
+	private static final int THREADS = 8;
+	private static final int KEYS = 20_000;
+	private static final int SHARED = 500;
+
+	@Test
+	@DisplayName("keeps size and fingerprint exact under contention")
+	void contention() throws Exception {
+		// Few segments, so writers collide on locks and segments rehash while others write
+		ConcurrentHashTable table = new ConcurrentHashTable("t", COLUMNS, 4, HashStrategy.fast());
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> tasks = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			int thread = t;
+			tasks.add(pool.submit(() -> {
+				start.await();
+				for (int i = 0; i < KEYS; i++) {
+					table.put(thread + "_" + i, List.of(i, "own"));
+					table.put("shared_" + i % SHARED, List.of(thread, "shared"));
+					if (i % 3 == 0) {
+						table.remove(thread + "_" + (i / 2));
+					}
+					// Readers never see a row under another key
+					List<Object> fields = table.get(thread + "_" + (i / 2));
+					assertTrue(fields == null || fields.get(1).equals("own"));
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> task : tasks) {
+			task.get();
+		}
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+		Set<String> removed = new HashSet<>();
+		for (int i = 0; i < KEYS; i += 3) {
+			removed.add(String.valueOf(i / 2));
+		}
+		int expectedSize = SHARED;
+		for (int t = 0; t < THREADS; t++) {
+			for (int i = 0; i < KEYS; i++) {
+				String key = t + "_" + i;
+				if (removed.contains(String.valueOf(i))) {
+					assertNull(table.get(key), key);
+				} else {
+					assertEquals(List.of(i, "own"), table.get(key), key);
+					expectedSize++;
+				}
+			}
+		}
+		assertEquals(expectedSize, table.size());
+
+		int fingerprint = 0;
+		int count = 0;
+		for (Row row : table) {
+			fingerprint += row.hashCode();
+			count++;
+		}
+		assertEquals(expectedSize, count);
+		assertEquals(fingerprint, table.hashCode());
+	}
+
+	@Test
+	@DisplayName("matches a map for puts and removes on one thread")
+	void matchesMap() {
+		ConcurrentHashTable table = new ConcurrentHashTable("t", COLUMNS);
+
+		TableOracle.assertMatches(TableOracle.replay(table, 3, 50_000, 10_000,
+				i -> List.of(i, "v"), (expected, operation, key, removed) -> {}), table);
+	}
+}
@@ -0,0 +1,87 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import models.KeyCodec;
+import models.Row;
+
+@DisplayName("Direct Address Table")
+final class DirectAddressTableTest {
+	private static final List<String> COLUMNS = List.of("k", "f");
+
+	@Test
+	@DisplayName("matches a map over a dense domain")
+	void matchesMap() {
+		// Keys key_0 through key_99 all fall in the domain
+		KeyCodec codec = KeyCodec.alphabet("key_0123456789", 5, 6);
+		DirectAddressTable table = new DirectAddressTable("t", COLUMNS, codec);
+
+		Map<String, List<Object>> expected = TableOracle.replay(table, 29, 5_000, 100);
+
+		TableOracle.assertMatches(expected, table);
+		assertEquals(codec.size(), table.capacity());
+	}
+
+	@Test
+	@DisplayName("iterates in domain order")
+	void iteratesInDomainOrder() {
+		List<String> keys = List.of("red", "green", "blue", "cyan", "black");
+		DirectAddressTable table = new DirectAddressTable("t", COLUMNS, KeyCodec.enumeration(keys));
+		table.put("black", List.of(4));
+		table.put("green", List.of(1));
+		table.put("cyan", List.of(3));
+		table.remove("cyan");
+
+		List<String> seen = new ArrayList<>();
+		Iterator<Row> rows = table.iterator();
+		while (rows.hasNext()) {
+			seen.add(rows.next().key());
+		}
+		assertEquals(List.of("green", "black"), seen);
+		assertFalse(rows.hasNext());
+		assertThrows(NoSuchElementException.class, rows::next);
+	}
+
+	@Test
+	@DisplayName("put rejects a key outside the domain; get and remove miss on one")
+	void outOfDomain() {
+		DirectAddressTable table = new DirectAddressTable("t", COLUMNS, KeyCodec.alphabet("AB", 2));
+		table.put("AB", List.of(1));
+		int fingerprint = table.hashCode();
+
+		assertThrows(IllegalArgumentException.class, () -> table.put("ABC", List.of(2)));
+		assertThrows(IllegalArgumentException.class, () -> table.put("AC", List.of(2)));
+		assertNull(table.get("AC"));
+		assertNull(table.remove("A"));
+		assertEquals(1, table.size());
+		assertEquals(fingerprint, table.hashCode());
+	}
+
+	@Test
+	@DisplayName("clear empties every slot but keeps the capacity")
+	void clears() {
+		DirectAddressTable table = new DirectAddressTable("t", COLUMNS, KeyCodec.alphabet("AB", 1, 2));
+		table.put("A", List.of(1));
+		table.put("BA", List.of(2));
+
+		table.clear();
+
+		assertEquals(0, table.size());
+		assertEquals(0, table.hashCode());
+		assertEquals(6, table.capacity());
+		assertNull(table.get("A"));
+		assertFalse(table.iterator().hasNext());
+	}
+}
@@ -0,0 +1,122 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import models.Row;
+
+@DisplayName("External Sort")
+final class ExternalSortTest {
+	// Many equal values, so the order of equal rows shows whether the sort is stable
+	private static final Comparator<Row> BY_FIELD = Comparator.comparing(row -> (Integer) row.fields().get(0));
+
+	private static List<Row> randomRows(int count, long seed) {
+		Random random = new Random(seed);
+		List<Row> rows = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			rows.add(Row.of("key_" + i, random.nextInt(100), "value_" + random.nextInt()));
+		}
+		return rows;
+	}
+
+	private static List<Row> drain(Iterator<Row> rows) {
+		List<Row> list = new ArrayList<>();
+		rows.forEachRemaining(list::add);
+		return list;
+	}
+
+	private static long runFiles() throws IOException {
+		try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+			return files.filter(path -> {
+				String name = path.getFileName().toString();
+				return name.startsWith("rows") && name.endsWith(".run");
+			}).count();
+		}
+	}
+
+	@Test
+	@DisplayName("matches a stable in-memory sort without spilling")
+	void sortsInMemory() {
+		List<Row> rows = randomRows(20_000, 1);
+		List<Row> expected = new ArrayList<>(rows);
+		expected.sort(BY_FIELD);
+
+		assertEquals(expected, drain(new ExternalSort(BY_FIELD).sort(rows.iterator())));
+	}
+
+	@Test
+	@DisplayName("matches a stable in-memory sort when runs spill")
+	void sortsWithSpills() throws IOException {
+		List<Row> rows = randomRows(20_000, 2);
+		List<Row> expected = new ArrayList<>(rows);
+		expected.sort(BY_FIELD);
+		long before = runFiles();
+
+		assertEquals(expected, drain(new ExternalSort(BY_FIELD, 64 << 10).sort(rows.iterator())));
+		assertEquals(before, runFiles());
+	}
+
+	@Test
+	@DisplayName("merges more runs than the fan-in in several passes")
+	void mergesBeyondFanIn() throws IOException {
+		List<Row> rows = randomRows(20_000, 3);
+		List<Row> expected = new ArrayList<>(rows);
+		expected.sort(BY_FIELD);
+		long before = runFiles();
+
+		// About 30 rows per run, so several hundred runs before merging
+		assertEquals(expected, drain(new ExternalSort(BY_FIELD, 1 << 10).sort(rows.iterator())));
+		assertEquals(before, runFiles());
+	}
+
+	@Test
+	@DisplayName("keeps ordered input in order across appended runs")
+	void appendsOrderedRuns() {
+		List<Row> rows = randomRows(20_000, 4);
+		rows.sort(Row.KEY_ORDER);
+
+		assertEquals(rows, drain(new ExternalSort(Row.KEY_ORDER, 1 << 10).sort(rows.iterator())));
+	}
+
+	@Test
+	@DisplayName("sorts rows it cannot encode while they fit in memory")
+	void sortsUnencodableRowsInMemory() {
+		HashTable table = new HashTable("t", List.of("k", "f"));
+		table.put("b", List.of(new Date(2)));
+		table.put("a", List.of(new Date(1)));
+
+		List<Row> sorted = drain(table.sortedIterator());
+
+		assertEquals(List.of("a", "b"), sorted.stream().map(Row::key).toList());
+		assertFalse(table.toTabularView(true).isEmpty());
+	}
+
+	@Test
+	@DisplayName("fails on rows it cannot encode once it must spill")
+	void rejectsUnencodableRowsOnSpill() {
+		List<Row> rows = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			rows.add(Row.of("key_" + (i * 7919 % 1000), new Date(i)));
+		}
+
+		// Only the spill encodes rows, so this shows the small runs above spill
+		ExternalSort sort = new ExternalSort(Row.KEY_ORDER, 1 << 10);
+		assertThrows(IllegalArgumentException.class, () -> sort.sort(rows.iterator()));
+	}
+}
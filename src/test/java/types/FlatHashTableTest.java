@@ -0,0 +1,41 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Flat Hash Table")
+final class FlatHashTableTest {
+	private static final List<String> COLUMNS = List.of("k", "f");
+
+	@Test
+	@DisplayName("matches a map through puts, removes and rehashes")
+	void matchesMap() {
+		FlatHashTable table = new FlatHashTable("t", COLUMNS);
+
+		TableOracle.assertMatches(TableOracle.replay(table, 11, 20_000, 5_000), table);
+	}
+
+	@Test
+	@DisplayName("reports the same probe lengths as the hash table it lays out differently")
+	void probeLengthsMatchHashTable() {
+		FlatHashTable table = new FlatHashTable("t", COLUMNS);
+		HashTable reference = new HashTable("t", COLUMNS);
+		TableOracle.replay(table, 13, 20_000, 5_000, List::of, (expected, operation, key, removed) -> {
+			if (removed) {
+				reference.remove(key);
+			} else {
+				reference.put(key, List.of(operation));
+			}
+			if (operation % 500 == 0) {
+				assertEquals(reference.averageProbeLength(), table.averageProbeLength(), 1e-12);
+			}
+		});
+
+		assertTrue(table.averageProbeLength() > 0);
+	}
+}
@@ -0,0 +1,100 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import models.HashStrategy;
+import models.Row;
+
+@DisplayName("Hash Table")
+final class HashTableTest {
+	private static final List<String> COLUMNS = List.of("k", "f");
+
+	@Test
+	@DisplayName("a pre-sized incremental table fills without rehashing")
+	void presizedIncrementalTable() {
+		HashTable table = new HashTable("t", COLUMNS, HashStrategy.keyed(), true, 10_000);
+		int capacity = table.capacity();
+
+		for (int i = 0; i < 10_000; i++) {
+			table.put("key_" + i, List.of(i));
+			assertFalse(table.isRehashing());
+		}
+
+		assertEquals(capacity, table.capacity());
+		assertEquals(10_000, table.size());
+		assertEquals(List.of(1234), table.get("key_1234"));
+	}
+
+	@Test
+	@DisplayName("pre-sizing with the default options matches the short constructor")
+	void presizedMatchesShortConstructor() {
+		HashTable table = new HashTable("t", COLUMNS, HashStrategy.fast(), false, 1000);
+
+		assertEquals(new HashTable("t", COLUMNS, 1000).capacity(), table.capacity());
+		assertEquals(new HashTable("t", COLUMNS).capacity(), new HashTable("t", COLUMNS, HashStrategy.fast(), false, 0).capacity());
+	}
+
+	@Test
+	@DisplayName("a negative expected size is rejected")
+	void negativeExpectedSize() {
+		assertThrows(IllegalArgumentException.class, () -> new HashTable("t", COLUMNS, HashStrategy.fast(), true, -1));
+	}
+
+	@Test
+	@DisplayName("the average probe length of colliding keys is the mean of their distances")
+	void probeLengthOfCollidingKeys() {
+		for (boolean incremental : new boolean[] { false, true }) {
+			// Every key shares one probe sequence, so the n-th key sits n - 1 steps from home
+			HashTable table = new HashTable("t", COLUMNS, key -> 42L, incremental);
+			assertEquals(0, table.averageProbeLength());
+			for (int n = 1; n <= 300; n++) {
+				table.put("key_" + n, List.of(n));
+				if (!table.isRehashing()) {
+					assertEquals((n - 1) / 2.0, table.averageProbeLength(), 1e-12);
+				}
+			}
+
+			// Removing the last key leaves the others in place
+			table.remove("key_300");
+			assertEquals(149.0, table.averageProbeLength(), 1e-12);
+			for (int n = 1; n < 300; n++) {
+				table.remove("key_" + n);
+			}
+			assertEquals(0, table.averageProbeLength());
+		}
+	}
+
+	@Test
+	@DisplayName("an incremental rehash matches a map through puts, removes and iteration mid-migration")
+	void incrementalRehashMatchesMap() {
+		HashTable table = new HashTable("t", COLUMNS, HashStrategy.keyed(), true);
+		int[] midMigration = new int[2]; // Removes and full checks made while rows remain in the old array
+
+		TableOracle.assertMatches(TableOracle.replay(table, 11, 60_000, 20_000, List::of, (expected, operation, key, removed) -> {
+			// A remove never starts a rehash, so one that leaves it running ran mid-migration
+			if (table.isRehashing() && removed) {
+				midMigration[0]++;
+			}
+			if (table.isRehashing() && operation % 50 == 0) {
+				midMigration[1]++;
+				TableOracle.assertMatches(expected, table);
+				List<String> split = StreamSupport.stream(table.spliterator(), false).map(Row::key).toList();
+				assertEquals(expected.size(), split.size());
+				assertEquals(expected.keySet(), new HashSet<>(split));
+			}
+		}), table);
+
+		assertTrue(midMigration[0] > 0);
+		assertTrue(midMigration[1] > 0);
+	}
+}
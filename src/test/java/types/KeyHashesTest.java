@@ -0,0 +1,68 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Key Hashes")
+final class KeyHashesTest {
+	/**
+	 * Mirrors random sets, moves and swaps in a list and checks every scan of
+	 * a random range against it, with few distinct codes so most ranges hold
+	 * several matches and codes left past the bound by a swap are seen.
+	 */
+	private static void assertScans(KeyHashes hashes, int capacity) {
+		List<Integer> expected = new ArrayList<>(Collections.nCopies(capacity, 0));
+		Random random = new Random(41);
+
+		for (int op = 0; op < 20_000; op++) {
+			if (op % 5_000 == 4_999) {
+				capacity = capacity * 2 + 1;
+				hashes.resize(capacity);
+				expected.addAll(Collections.nCopies(capacity - expected.size(), 0));
+			}
+			int i = random.nextInt(capacity);
+			int j = random.nextInt(capacity);
+			switch (random.nextInt(3)) {
+			case 0 -> {
+				int code = random.nextInt(8);
+				hashes.set(i, code);
+				expected.set(i, code);
+			}
+			case 1 -> {
+				hashes.moveToFront(i);
+				expected.add(0, expected.remove(i));
+			}
+			default -> {
+				hashes.swap(i, j);
+				Collections.swap(expected, i, j);
+			}
+			}
+
+			int code = random.nextInt(9);
+			int from = Math.min(i, j);
+			int to = Math.max(i, j) + 1;
+			int index = expected.subList(from, to).indexOf(code);
+			assertEquals(index == -1 ? -1 : from + index, hashes.indexOf(code, from, to), from + ".." + to);
+			assertEquals(-1, hashes.indexOf(code, from, from));
+		}
+	}
+
+	@Test
+	@DisplayName("the scalar scan stays in step with its array")
+	void scalarScans() {
+		assertScans(new KeyHashes.Scalar(37), 37);
+	}
+
+	@Test
+	@DisplayName("the scan the JVM supports stays in step with its array")
+	void loadedScans() {
+		assertScans(KeyHashes.withCapacity(37), 37);
+	}
+}
@@ -0,0 +1,126 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import models.Row;
+
+@DisplayName("Lookup Table")
+final class LookupTableTest {
+	private static final List<String> COLUMNS = List.of("k", "f");
+	private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+	/**
+	 * Rebuilds the rows a table should hold, in slot order, from a map, by
+	 * scanning every letter.
+	 */
+	private static List<Row> scan(Map<String, List<Object>> expected) {
+		List<Row> rows = new ArrayList<>();
+		for (char c : LETTERS.toCharArray()) {
+			String key = String.valueOf(c);
+			if (expected.containsKey(key)) {
+				rows.add(new Row(key, expected.get(key)));
+			}
+		}
+		return rows;
+	}
+
+	/**
+	 * Checks a table's size, fingerprint, iteration and equality against a
+	 * table rebuilt from a scan of the map in reverse slot order.
+	 */
+	private static void assertScan(Map<String, List<Object>> expected, LookupTable table) {
+		List<Row> rows = scan(expected);
+		int fingerprint = 0;
+		for (Row row : rows) {
+			fingerprint += row.hashCode();
+		}
+		List<Row> iterated = new ArrayList<>();
+		table.forEach(iterated::add);
+
+		assertEquals(rows.size(), table.size());
+		assertEquals(fingerprint, table.hashCode());
+		assertEquals(rows, iterated);
+
+		LookupTable rebuilt = new LookupTable("u", COLUMNS);
+		for (int i = rows.size() - 1; i >= 0; i--) {
+			rebuilt.put(rows.get(i).key(), rows.get(i).fields());
+		}
+		assertEquals(rebuilt, table);
+		assertEquals(table, rebuilt);
+	}
+
+	@Test
+	@DisplayName("matches a rescan through puts, overwrites and removes")
+	void matchesScan() {
+		LookupTable table = new LookupTable("t", COLUMNS);
+		Map<String, List<Object>> expected = new LinkedHashMap<>();
+		Random random = new Random(37);
+
+		for (int op = 0; op < 5_000; op++) {
+			String key = String.valueOf(LETTERS.charAt(random.nextInt(LETTERS.length())));
+			if (random.nextInt(3) == 0) {
+				assertEquals(expected.remove(key), table.remove(key), key);
+			} else {
+				List<Object> fields = List.of(op % 7); // Repeats values, so some overwrites leave a row unchanged
+				assertEquals(expected.put(key, fields), table.put(key, fields), key);
+			}
+			assertEquals(expected.get(key), table.get(key), key);
+			assertScan(expected, table);
+		}
+	}
+
+	@Test
+	@DisplayName("tables with the same keys but different fields are unequal")
+	void unequalFields() {
+		LookupTable a = new LookupTable("a", COLUMNS);
+		LookupTable b = new LookupTable("b", COLUMNS);
+		a.put("x", List.of(1));
+		a.put("Y", List.of(2));
+		b.put("Y", List.of(2));
+		b.put("x", List.of(3));
+
+		assertNotEquals(a, b);
+		b.put("x", List.of(1));
+		assertEquals(a, b);
+		b.remove("Y");
+		assertNotEquals(a, b);
+		b.put("Z", List.of(2));
+		assertNotEquals(a, b);
+	}
+
+	@Test
+	@DisplayName("iteration covers both ends of the bitmask and skips rows removed mid-iteration")
+	void iteratesBitmask() {
+		LookupTable table = new LookupTable("t", COLUMNS);
+		table.put("Z", List.of(51));
+		table.put("a", List.of(0));
+		table.put("m", List.of(12));
+
+		Iterator<Row> rows = table.iterator();
+		assertEquals("a", rows.next().key());
+		table.remove("m");
+		assertEquals("Z", rows.next().key());
+		assertFalse(rows.hasNext());
+		assertThrows(NoSuchElementException.class, rows::next);
+
+		table.clear();
+		assertFalse(table.iterator().hasNext());
+		assertEquals(0, table.size());
+		assertEquals(0, table.hashCode());
+		assertEquals(new LookupTable("u", COLUMNS), table);
+	}
+}
@@ -0,0 +1,44 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Off-Heap Hash Table")
+final class OffHeapHashTableTest {
+	private static final List<String> COLUMNS = List.of("k", "f1", "f2");
+
+	@Test
+	@DisplayName("matches a map through puts, removes, rehashes and compactions")
+	void matchesMap() {
+		OffHeapHashTable table = new OffHeapHashTable("t", COLUMNS);
+
+		// Enough replacements to push garbage past the compaction threshold
+		TableOracle.assertMatches(TableOracle.replay(table, 17, 200_000, 10_000,
+				i -> List.of(i, "value_" + i), (expected, operation, key, removed) -> {}), table);
+	}
+
+	@Test
+	@DisplayName("compares keys in the encoded row, including multibyte and prefix keys")
+	void keysInEncodedRows() {
+		OffHeapHashTable table = new OffHeapHashTable("t", COLUMNS);
+		String longKey = "k".repeat(300); // A key length that takes a two-byte varint
+		table.put("a", List.of(1, "x"));
+		table.put("ab", List.of(2, "y"));
+		table.put("é😀", List.of(3, "z"));
+		table.put(longKey, List.of(4, "w"));
+
+		assertEquals(List.of(1, "x"), table.get("a"));
+		assertEquals(List.of(2, "y"), table.get("ab"));
+		assertEquals(List.of(3, "z"), table.get("é😀"));
+		assertEquals(List.of(4, "w"), table.get(longKey));
+		assertNull(table.get("abc"));
+		assertNull(table.get(""));
+		assertEquals("é😀", table.view("é😀").key());
+		assertEquals(4, table.view(longKey).field(0));
+	}
+}
@@ -0,0 +1,121 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+import models.Row;
+import models.RowPredicate;
+import models.Table;
+
+@DisplayName("Parallel Scan")
+@TestInstance(Lifecycle.PER_CLASS)
+final class ParallelScanTest {
+	private static final List<String> COLUMNS = List.of("k", "f1", "f2");
+	// Several times the threshold, so every scan splits
+	private static final int ROWS = 8 * ParallelScan.THRESHOLD;
+
+	private ForkJoinPool pool;
+	private HashTable left;
+	private SearchTable right;
+
+	@BeforeAll
+	void setup() {
+		pool = new ForkJoinPool(4);
+		left = new HashTable("left", COLUMNS, ROWS);
+		right = new SearchTable("right", COLUMNS);
+		for (int i = 0; i < ROWS; i++) {
+			left.put("key_" + i, List.of(i, "left"));
+		}
+		// Every third key of the left table, and as many keys of its own
+		for (int i = 0; i < ROWS / 4; i++) {
+			right.put("key_" + (i * 3), List.of(i, "right"));
+			right.put("other_" + i, List.of(i, "right"));
+		}
+	}
+
+	@AfterAll
+	void teardown() {
+		pool.shutdown();
+	}
+
+	private Table inPool(Callable<Table> task) throws Exception {
+		return pool.submit(task).get();
+	}
+
+	private static void assertSameRows(Table expected, Table actual) {
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected.hashCode(), actual.hashCode());
+		Map<String, List<Object>> rows = new HashMap<>();
+		for (Row row : actual) {
+			rows.put(row.key(), row.fields());
+		}
+		for (Row row : expected) {
+			assertEquals(row.fields(), rows.get(row.key()), row.key());
+		}
+	}
+
+	@Test
+	@DisplayName("filter matches the sequential view")
+	void filter() throws Exception {
+		RowPredicate predicate = RowPredicate.on(1, value -> (Integer) value % 7 == 0);
+
+		assertSameRows(left.filter(predicate).materialize(), inPool(() -> left.parallelFilter(predicate)));
+	}
+
+	@Test
+	@DisplayName("filter over a view matches the sequential view")
+	void filterView() throws Exception {
+		TableView view = left.filter(RowPredicate.on(1, value -> (Integer) value % 2 == 0));
+		RowPredicate predicate = RowPredicate.on(1, value -> (Integer) value % 3 == 0);
+
+		assertSameRows(view.filter(predicate).materialize(), inPool(() -> view.parallelFilter(predicate)));
+	}
+
+	@Test
+	@DisplayName("intersect matches the sequential view")
+	void intersect() throws Exception {
+		assertSameRows(left.intersect(right).materialize(), inPool(() -> left.parallelIntersect(right)));
+		assertSameRows(right.intersect(left).materialize(), inPool(() -> right.parallelIntersect(left)));
+	}
+
+	@Test
+	@DisplayName("minus matches the sequential view")
+	void minus() throws Exception {
+		assertSameRows(left.minus(right).materialize(), inPool(() -> left.parallelMinus(right)));
+		assertSameRows(right.minus(left).materialize(), inPool(() -> right.parallelMinus(left)));
+	}
+
+	@Test
+	@DisplayName("union matches the sequential view, with the second table winning")
+	void union() throws Exception {
+		Table union = inPool(() -> left.parallelUnion(right));
+
+		assertSameRows(left.union(right).materialize(), union);
+		assertEquals(List.of(0, "right"), union.get("key_0"));
+		assertEquals(List.of(1, "left"), union.get("key_1"));
+		assertEquals(ROWS + ROWS / 4, union.size());
+	}
+
+	@Test
+	@DisplayName("tables below the threshold take the sequential path")
+	void smallTables() throws Exception {
+		HashTable small = new HashTable("small", COLUMNS);
+		small.put("key_0", List.of(-1, "small"));
+		small.put("key_none", List.of(-2, "small"));
+
+		assertSameRows(small.intersect(right).materialize(), inPool(() -> small.parallelIntersect(right)));
+		assertSameRows(small.union(left).materialize(), inPool(() -> small.parallelUnion(left)));
+	}
+}
@@ -0,0 +1,120 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import models.Row;
+import models.RowView;
+import models.Table;
+
+@DisplayName("Perfect Hash Table")
+final class PerfectHashTableTest {
+	private static final List<String> COLUMNS = List.of("k", "i", "s", "b");
+
+	@TempDir
+	Path directory;
+
+	private static HashTable source(int rows) {
+		HashTable table = new HashTable("source", COLUMNS);
+		for (int i = 0; i < rows; i++) {
+			table.put("key_" + i, List.of(i, "value_é😀" + i, i % 2 == 0));
+		}
+		table.put("", List.of(-1, "", false)); // Empty key and string
+		return table;
+	}
+
+	private static void assertMatches(Table expected, PerfectHashTable table) {
+		assertEquals(expected.name(), table.name());
+		assertEquals(expected.columns(), table.columns());
+		assertEquals(expected.size(), table.size());
+		assertEquals(expected.hashCode(), table.hashCode());
+
+		for (Row row : expected) {
+			assertEquals(row.fields(), table.get(row.key()), row.key());
+			RowView view = table.view(row.key());
+			assertEquals(row.key(), view.key());
+			assertEquals(row, view.toRow());
+		}
+		for (int i = 0; i < 1000; i++) {
+			assertNull(table.get("absent_" + i));
+			assertNull(table.view("absent_" + i));
+		}
+
+		Set<String> seen = new HashSet<>();
+		int fingerprint = 0;
+		for (Row row : table) {
+			assertEquals(expected.get(row.key()), row.fields());
+			seen.add(row.key());
+			fingerprint += row.hashCode();
+		}
+		assertEquals(expected.size(), seen.size());
+		assertEquals(expected.hashCode(), fingerprint);
+	}
+
+	@Test
+	@DisplayName("finds every key of its source with one probe and rejects absent keys")
+	void compilesSource() {
+		HashTable source = source(20_000);
+
+		assertMatches(source, new PerfectHashTable(source));
+	}
+
+	@Test
+	@DisplayName("round-trips through write and map")
+	void writeAndMap() {
+		HashTable source = source(20_000);
+		Path file = directory.resolve("table.pht");
+		new PerfectHashTable(source).write(file);
+
+		PerfectHashTable mapped = PerfectHashTable.map(file);
+
+		assertMatches(source, mapped);
+		// Rows decoded lazily on the first pass are served from the cache on the second
+		assertMatches(source, mapped);
+	}
+
+	@Test
+	@DisplayName("round-trips tables of zero and one rows")
+	void smallTables() {
+		for (int rows : new int[] { 0, 1 }) {
+			HashTable source = new HashTable("small", COLUMNS);
+			for (int i = 0; i < rows; i++) {
+				source.put("only", List.of(i, "x", true));
+			}
+			Path file = directory.resolve("small" + rows + ".pht");
+			new PerfectHashTable(source).write(file);
+
+			assertMatches(source, PerfectHashTable.map(file));
+		}
+	}
+
+	@Test
+	@DisplayName("rejects files that are not table images")
+	void rejectsForeignFile() throws Exception {
+		Path file = directory.resolve("foreign.pht");
+		Files.write(file, new byte[64]);
+
+		assertThrows(IllegalArgumentException.class, () -> PerfectHashTable.map(file));
+	}
+
+	@Test
+	@DisplayName("rejects every mutation")
+	void readOnly() {
+		PerfectHashTable table = new PerfectHashTable(source(10));
+
+		assertThrows(UnsupportedOperationException.class, () -> table.put("k", List.of(1, "s", true)));
+		assertThrows(UnsupportedOperationException.class, () -> table.remove("key_1"));
+		assertThrows(UnsupportedOperationException.class, table::clear);
+	}
+}
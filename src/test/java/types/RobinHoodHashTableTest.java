@@ -0,0 +1,74 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import models.HashStrategy;
+
+@DisplayName("Robin Hood Hash Table")
+final class RobinHoodHashTableTest {
+	private static final List<String> COLUMNS = List.of("k", "f");
+
+	@Test
+	@DisplayName("backward-shift deletion keeps every remaining key findable")
+	void backwardShiftDeletion() {
+		// The fast strategy clusters sequential keys, which gives long displaced runs to shift
+		RobinHoodHashTable table = new RobinHoodHashTable("t", COLUMNS, HashStrategy.fast());
+
+		TableOracle.assertMatches(TableOracle.replay(table, 5, 50_000, 8_000, List::of, (expected, operation, key, removed) -> {
+			if (removed) {
+				assertNull(table.get(key), key);
+			}
+			// A hole left inside a displaced run would hide the rows after it
+			if (operation % 1000 == 0) {
+				TableOracle.assertMatches(expected, table);
+				assertTrue(table.averageProbeLength() <= table.maxProbeLength());
+			}
+		}), table);
+	}
+
+	@Test
+	@DisplayName("probe lengths drain to zero once every row is removed")
+	void probeLengthsDrain() {
+		RobinHoodHashTable table = new RobinHoodHashTable("t", COLUMNS);
+		for (int i = 0; i < 10_000; i++) {
+			table.put("key_" + i, List.of(i));
+		}
+		assertTrue(table.averageProbeLength() > 0);
+		assertTrue(table.maxProbeLength() >= table.averageProbeLength());
+
+		for (int i = 0; i < 10_000; i++) {
+			assertEquals(List.of(i), table.remove("key_" + i));
+		}
+
+		assertEquals(0, table.size());
+		assertEquals(0, table.averageProbeLength());
+		assertEquals(0, table.maxProbeLength());
+	}
+
+	@Test
+	@DisplayName("the average probe length of colliding keys is the mean of their distances")
+	void probeLengthOfCollidingKeys() {
+		// Every key has the same home, so the n-th key sits n - 1 slots past it
+		RobinHoodHashTable table = new RobinHoodHashTable("t", COLUMNS, key -> 42L);
+		for (int n = 1; n <= 30; n++) {
+			table.put("key_" + n, List.of(n));
+			assertEquals((n - 1) / 2.0, table.averageProbeLength(), 1e-12);
+			assertEquals(n - 1, table.maxProbeLength());
+		}
+
+		// Removing from the front of the run shifts every later row back a slot
+		table.remove("key_1");
+		assertEquals(14.0, table.averageProbeLength(), 1e-12);
+		assertEquals(28, table.maxProbeLength());
+		for (int n = 2; n <= 30; n++) {
+			assertEquals(List.of(n), table.get("key_" + n));
+		}
+	}
+}
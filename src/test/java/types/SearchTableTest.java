@@ -0,0 +1,210 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import models.Row;
+
+@DisplayName("Search Table")
+final class SearchTableTest {
+	private static final List<String> COLUMNS = List.of("k", "f");
+
+	private static List<String> keysOf(SearchTable table) {
+		List<String> keys = new ArrayList<>();
+		for (Row row : table) {
+			keys.add(row.key());
+		}
+		return keys;
+	}
+
+	private static SearchTable tableOf(SearchTable.Organization organization, String... keys) {
+		SearchTable table = new SearchTable("t", COLUMNS, organization);
+		for (String key : keys) {
+			table.put(key, List.of(key));
+		}
+		return table;
+	}
+
+	/**
+	 * Checks the rows of a search table, in array order, against a list model
+	 * of its key order and a map of its rows, without calling get, which would
+	 * move them.
+	 */
+	private static void assertRows(List<String> order, Map<String, List<Object>> expected, SearchTable table) {
+		List<Row> rows = new ArrayList<>();
+		int fingerprint = 0;
+		for (String key : order) {
+			Row row = new Row(key, expected.get(key));
+			rows.add(row);
+			fingerprint += row.hashCode();
+		}
+		List<Row> actual = new ArrayList<>();
+		table.forEach(actual::add);
+		assertEquals(rows, actual);
+		assertEquals(expected.size(), table.size());
+		assertEquals(fingerprint, table.hashCode());
+	}
+
+	/**
+	 * Replays random gets, puts and removes against a search table and a list
+	 * model of its row order, which moves a hit key the way the organization
+	 * should and fills a removed key's slot with the last key. Each operation
+	 * after a reorganization finds its key through the key hash codes, so they
+	 * must stay in step with the rows for the table to keep matching.
+	 */
+	private static void assertReorganizes(SearchTable.Organization organization) {
+		SearchTable table = new SearchTable("t", COLUMNS, organization);
+		List<String> order = new ArrayList<>();
+		Map<String, List<Object>> expected = new HashMap<>();
+		Random random = new Random(31);
+		long lookups = 0, hits = 0, scanned = 0;
+
+		for (int op = 0; op < 20_000; op++) {
+			String key = "key_" + random.nextInt(200);
+			int i = order.indexOf(key);
+			switch (random.nextInt(4)) {
+			case 0 -> {
+				assertEquals(expected.remove(key), table.remove(key), key);
+				if (i != -1) {
+					order.set(i, order.get(order.size() - 1));
+					order.remove(order.size() - 1);
+				}
+			}
+			case 1 -> {
+				List<Object> fields = List.of(op);
+				assertEquals(expected.put(key, fields), table.put(key, fields), key);
+				if (i == -1) {
+					order.add(key);
+				}
+			}
+			default -> {
+				assertEquals(expected.get(key), table.get(key), key);
+				lookups++;
+				if (i == -1) {
+					scanned += order.size();
+				} else {
+					hits++;
+					scanned += i + 1;
+					if (organization == SearchTable.Organization.MOVE_TO_FRONT) {
+						order.add(0, order.remove(i));
+					} else if (organization == SearchTable.Organization.TRANSPOSE && i > 0) {
+						Collections.swap(order, i, i - 1);
+					}
+				}
+			}
+			}
+			assertRows(order, expected, table);
+		}
+
+		assertEquals((double) hits / lookups, table.hitRate());
+		assertEquals((double) scanned / lookups, table.averageScanLength());
+		TableOracle.assertMatches(expected, table);
+	}
+
+	@Test
+	@DisplayName("move-to-front keeps its rows and key hashes in step through gets, puts and removes")
+	void moveToFrontMatchesModel() {
+		assertReorganizes(SearchTable.Organization.MOVE_TO_FRONT);
+	}
+
+	@Test
+	@DisplayName("transpose keeps its rows and key hashes in step through gets, puts and removes")
+	void transposeMatchesModel() {
+		assertReorganizes(SearchTable.Organization.TRANSPOSE);
+	}
+
+	@Test
+	@DisplayName("no organization leaves the rows where they were put")
+	void noneMatchesModel() {
+		assertReorganizes(SearchTable.Organization.NONE);
+	}
+
+	@Test
+	@DisplayName("move-to-front brings a hit to the front and shortens its next scan")
+	void moveToFrontOrder() {
+		SearchTable table = tableOf(SearchTable.Organization.MOVE_TO_FRONT, "a", "b", "c", "d");
+
+		assertEquals(List.of("d"), table.get("d"));
+		assertEquals(List.of("d", "a", "b", "c"), keysOf(table));
+		assertEquals(List.of("d"), table.get("d"));
+		assertEquals(List.of("d", "a", "b", "c"), keysOf(table));
+		assertEquals(2.5, table.averageScanLength());
+
+		// Removal still fills the gap with the last row
+		assertEquals(List.of("a"), table.remove("a"));
+		assertEquals(List.of("d", "c", "b"), keysOf(table));
+		assertEquals(List.of("b"), table.get("b"));
+		assertEquals(List.of("b", "d", "c"), keysOf(table));
+	}
+
+	@Test
+	@DisplayName("transpose moves a hit one place forward")
+	void transposeOrder() {
+		SearchTable table = tableOf(SearchTable.Organization.TRANSPOSE, "a", "b", "c", "d");
+
+		assertEquals(List.of("d"), table.get("d"));
+		assertEquals(List.of("a", "b", "d", "c"), keysOf(table));
+		assertEquals(List.of("d"), table.get("d"));
+		assertEquals(List.of("a", "d", "b", "c"), keysOf(table));
+		assertNull(table.get("e"));
+		assertEquals(2.0 / 3, table.hitRate());
+		assertEquals(11.0 / 3, table.averageScanLength());
+
+		// Removal still fills the gap with the last row
+		assertEquals(List.of("a"), table.remove("a"));
+		assertEquals(List.of("c", "d", "b"), keysOf(table));
+		assertEquals(List.of("b"), table.get("b"));
+		assertEquals(List.of("c", "b", "d"), keysOf(table));
+	}
+
+	private SearchTable table() {
+		SearchTable table = new SearchTable("t", List.of("k", "f"));
+		table.put("a", List.of(1));
+		table.put("b", List.of(2));
+		return table;
+	}
+
+	@Test
+	@DisplayName("get and remove miss on a null key")
+	void nullKeyMisses() {
+		SearchTable table = table();
+		int fingerprint = table.hashCode();
+
+		assertNull(table.get(null));
+		assertNull(table.remove(null));
+		assertEquals(2, table.size());
+		assertEquals(fingerprint, table.hashCode());
+		assertEquals(List.of(1), table.get("a"));
+	}
+
+	@Test
+	@DisplayName("put rejects a null key")
+	void nullKeyPutThrows() {
+		SearchTable table = table();
+
+		assertThrows(IllegalArgumentException.class, () -> table.put(null, List.of(3)));
+		assertEquals(2, table.size());
+	}
+
+	@Test
+	@DisplayName("a null key miss counts in the scan statistics")
+	void nullKeyCountsAsLookup() {
+		SearchTable table = table();
+
+		table.get(null);
+
+		assertEquals(0, table.hitRate());
+		assertEquals(2, table.averageScanLength());
+	}
+}
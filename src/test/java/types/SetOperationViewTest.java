@@ -0,0 +1,185 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import models.Row;
+import models.Table;
+
+@DisplayName("Set Operation Views")
+final class SetOperationViewTest {
+	private static final List<String> COLUMNS = List.of("k", "n", "s");
+
+	/**
+	 * Builds a table of the keys in a range that are multiples of a step.
+	 */
+	private static HashTable table(String name, int to, int step, String tag) {
+		HashTable table = new HashTable(name, COLUMNS);
+		for (int i = 0; i < to; i += step) {
+			table.put("key_" + i, List.of(i, tag));
+		}
+		return table;
+	}
+
+	/**
+	 * Computes an intersection or difference by looking up each left key in
+	 * the right table.
+	 */
+	private static Map<String, List<Object>> naive(Table left, Table right, boolean shared) {
+		Map<String, List<Object>> rows = new HashMap<>();
+		for (Row row : left) {
+			if ((right.get(row.key()) != null) == shared) {
+				rows.put(row.key(), row.fields());
+			}
+		}
+		return rows;
+	}
+
+	private static void assertHolds(Map<String, List<Object>> expected, Table view) {
+		Map<String, List<Object>> rows = new HashMap<>();
+		int fingerprint = 0;
+		for (Row row : view) {
+			assertNull(rows.put(row.key(), row.fields()), row.key());
+			fingerprint += row.hashCode();
+		}
+		assertEquals(expected, rows);
+		for (Map.Entry<String, List<Object>> entry : expected.entrySet()) {
+			assertEquals(entry.getValue(), view.get(entry.getKey()), entry.getKey());
+		}
+		assertEquals(expected.size(), view.size());
+		assertEquals(fingerprint, view.hashCode());
+	}
+
+	@Test
+	@DisplayName("intersect and minus match a naive lookup with either side smaller")
+	void matchesNaive() {
+		HashTable small = table("small", 3_000, 3, "small");
+		HashTable large = table("large", 20_000, 2, "large");
+
+		// The smaller left side is held and filtered; the larger one is probed
+		for (Table[] pair : new Table[][] { { small, large }, { large, small } }) {
+			Table left = pair[0];
+			Table right = pair[1];
+			assertHolds(naive(left, right, true), left.intersect(right));
+			assertHolds(naive(left, right, false), left.minus(right));
+		}
+	}
+
+	@Test
+	@DisplayName("intersect and minus over views and empty tables match a naive lookup")
+	void viewsAndEmptyTables() {
+		HashTable left = table("left", 10_000, 1, "left");
+		HashTable right = table("right", 10_000, 5, "right");
+		HashTable empty = new HashTable("empty", COLUMNS);
+
+		// A view reports no size without a scan, so it is always probed or probed against
+		Table view = right.filter(row -> (Integer) row.fields().get(0) % 2 == 0);
+		for (Table[] pair : new Table[][] { { left, view }, { view, left }, { left, empty }, { empty, left } }) {
+			assertHolds(naive(pair[0], pair[1], true), pair[0].intersect(pair[1]));
+			assertHolds(naive(pair[0], pair[1], false), pair[0].minus(pair[1]));
+		}
+	}
+
+	@Test
+	@DisplayName("intersect and minus reflect changes made to either table")
+	void tracksSources() {
+		HashTable left = table("left", 100, 1, "left");
+		HashTable right = table("right", 100, 10, "right");
+		Table intersection = left.intersect(right);
+		Table difference = left.minus(right);
+		assertEquals("left_intersection", intersection.name());
+		assertEquals("left_difference", difference.name());
+
+		right.put("key_5", List.of(5, "right"));
+		right.remove("key_10");
+		left.remove("key_20");
+		left.put("key_200", List.of(200, "left"));
+		right.put("key_200", List.of(200, "right"));
+
+		assertHolds(naive(left, right, true), intersection);
+		assertHolds(naive(left, right, false), difference);
+		assertEquals(List.of(5, "left"), intersection.get("key_5"));
+		assertNull(difference.get("key_5"));
+		assertEquals(List.of(10, "left"), difference.get("key_10"));
+	}
+
+	@Test
+	@DisplayName("a Bloom filter never misses an added key and rarely admits others")
+	void bloomFilter() {
+		BloomFilter filter = new BloomFilter(100_000);
+		for (int i = 0; i < 100_000; i++) {
+			filter.add("key_" + i);
+		}
+
+		for (int i = 0; i < 100_000; i++) {
+			assertTrue(filter.mightContain("key_" + i), "key_" + i);
+		}
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			falsePositives += filter.mightContain("other_" + i) ? 1 : 0;
+		}
+		// About one in a hundred at ten bits per key
+		assertTrue(falsePositives < 3_000, falsePositives + " false positives");
+	}
+
+	@Test
+	@DisplayName("a key probe over a very large table confirms Bloom filter hits in the table")
+	void bloomKeyProbe() {
+		// Claims more rows than the threshold, so the probe summarizes it with a Bloom filter
+		HashTable large = new HashTable("large", COLUMNS) {
+			@Override
+			public int size() {
+				return KeyProbe.BLOOM_THRESHOLD + 1;
+			}
+		};
+		for (int i = 0; i < 50_000; i += 2) {
+			large.put("key_" + i, List.of(i, "large"));
+		}
+
+		KeyProbe probe = KeyProbe.of(large);
+
+		for (int i = 0; i < 50_000; i++) {
+			assertEquals(i % 2 == 0, probe.contains("key_" + i), "key_" + i);
+		}
+		assertFalse(probe.contains("absent"));
+	}
+
+	@Test
+	@DisplayName("a table of unknown size is scanned once and never looked up")
+	void unknownSizeIsNotLookedUp() {
+		HashTable rows = table("rows", 1_000, 1, "rows");
+		HashTable known = table("known", 1_000, 4, "known");
+		// Stands in for a stored table: it can be scanned, but a lookup or a count fails
+		TableView unknown = new TableView("unknown", COLUMNS) {
+			@Override
+			public List<Object> get(String key) {
+				throw new AssertionError("looked up " + key);
+			}
+
+			@Override
+			public Iterator<Row> iterator() {
+				return rows.iterator();
+			}
+		};
+		assertEquals(0, KeyProbe.estimateSize(unknown));
+
+		Map<String, List<Object>> expected = naive(known, rows, true);
+		for (Table view : List.of(known.intersect(unknown), new SetOperationView(unknown, known, true))) {
+			Map<String, List<Object>> actual = new HashMap<>();
+			for (Row row : view) {
+				actual.put(row.key(), known.get(row.key()));
+			}
+			assertEquals(expected, actual);
+		}
+	}
+}
@@ -0,0 +1,177 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import models.Row;
+
+@DisplayName("Sorted Search Table")
+final class SortedSearchTableTest {
+	private static final List<String> COLUMNS = List.of("k", "f");
+
+	private static List<Row> drain(Iterator<Row> rows) {
+		List<Row> list = new ArrayList<>();
+		rows.forEachRemaining(list::add);
+		return list;
+	}
+
+	private static List<Row> rowsOf(Map<String, List<Object>> map) {
+		List<Row> list = new ArrayList<>();
+		map.forEach((key, fields) -> list.add(new Row(key, fields)));
+		return list;
+	}
+
+	/**
+	 * Checks iteration, sorted iteration and a few ranges against a sorted map.
+	 */
+	private static void assertOrdered(NavigableMap<String, List<Object>> expected, SortedSearchTable table, Random random) {
+		assertEquals(rowsOf(expected), drain(table.iterator()));
+		assertEquals(rowsOf(expected), drain(table.sortedIterator()));
+		for (int r = 0; r < 5; r++) {
+			String low = "key_" + random.nextInt(3_000);
+			String high = "key_" + random.nextInt(3_000);
+			NavigableMap<String, List<Object>> sub = low.compareTo(high) <= 0
+					? expected.subMap(low, true, high, true)
+					: new TreeMap<>();
+			assertEquals(rowsOf(sub), drain(table.range(low, high)), low + ".." + high);
+		}
+	}
+
+	@Test
+	@DisplayName("matches a sorted map through puts, removes, merges and compactions")
+	void matchesSortedMap() {
+		SortedSearchTable table = new SortedSearchTable("t", COLUMNS);
+		Random random = new Random(19);
+
+		Map<String, List<Object>> expected = TableOracle.replay(table, 23, 30_000, 3_000, List::of,
+				(map, operation, key, removed) -> {
+					if (operation % 500 == 0) {
+						assertOrdered(new TreeMap<>(map), table, random);
+					}
+				});
+
+		TableOracle.assertMatches(expected, table);
+		assertOrdered(new TreeMap<>(expected), table, random);
+	}
+
+	@Test
+	@DisplayName("merges the buffer into the main array once it fills")
+	void mergesFullBuffer() {
+		SortedSearchTable table = new SortedSearchTable("t", COLUMNS);
+		int capacity = table.capacity();
+
+		// Sixteen new keys fill the initial buffer; the sixteenth triggers the merge
+		for (int i = 0; i < 15; i++) {
+			table.put("key_" + (char) ('z' - i), List.of(i));
+		}
+		assertEquals(capacity, table.capacity());
+		table.put("key_a", List.of(15));
+		assertEquals(16 + (16 >> 1) + 16, table.capacity());
+
+		NavigableMap<String, List<Object>> expected = new TreeMap<>();
+		for (Row row : table) {
+			expected.put(row.key(), row.fields());
+		}
+		assertEquals(16, expected.size());
+		assertEquals("key_a", expected.firstKey());
+		assertEquals(rowsOf(expected), drain(table.iterator()));
+	}
+
+	@Test
+	@DisplayName("removes a key held only in the buffer")
+	void removesFromBuffer() {
+		SortedSearchTable table = new SortedSearchTable("t", COLUMNS);
+		for (int i = 0; i < 16; i++) {
+			table.put("key_" + (100 + i), List.of(i)); // Merged into the main array
+		}
+		table.put("key_050", List.of(-1)); // Only in the buffer
+		table.put("key_200", List.of(-2));
+		int fingerprint = table.hashCode();
+
+		assertEquals(List.of(-1), table.remove("key_050"));
+
+		assertNull(table.get("key_050"));
+		assertNull(table.remove("key_050"));
+		assertEquals(17, table.size());
+		assertEquals(fingerprint - Row.of("key_050", -1).hashCode(), table.hashCode());
+		assertEquals("key_100", table.iterator().next().key());
+		assertEquals(List.of(-2), table.get("key_200"));
+	}
+
+	@Test
+	@DisplayName("re-putting a removed key revives its marker in the main array")
+	void reputsRemovedKey() {
+		SortedSearchTable table = new SortedSearchTable("t", COLUMNS);
+		for (int i = 0; i < 40; i++) {
+			table.put("key_" + (100 + i), List.of(i));
+		}
+		int fingerprint = table.hashCode();
+
+		assertEquals(List.of(5), table.remove("key_105"));
+		assertNull(table.remove("key_105"));
+		assertNull(table.get("key_105"));
+		assertEquals(39, table.size());
+
+		assertNull(table.put("key_105", List.of(5)));
+		assertEquals(40, table.size());
+		assertEquals(fingerprint, table.hashCode());
+		assertEquals(List.of(5), table.get("key_105"));
+		assertEquals(List.of(5), table.put("key_105", List.of(6)));
+		assertEquals(40, drain(table.iterator()).size());
+	}
+
+	@Test
+	@DisplayName("ranges include both bounds, skip removed keys and span both arrays")
+	void rangeBounds() {
+		SortedSearchTable table = new SortedSearchTable("t", COLUMNS);
+		for (int i = 10; i < 50; i += 2) {
+			table.put("key_" + i, List.of(i)); // Even keys, mostly merged
+		}
+		table.put("key_21", List.of(21)); // Odd keys in the buffer
+		table.put("key_31", List.of(31));
+		table.remove("key_24");
+
+		assertEquals(List.of("key_20", "key_21", "key_22", "key_26", "key_28", "key_30"),
+				drain(table.range("key_20", "key_30")).stream().map(Row::key).toList());
+		assertEquals(List.of("key_22", "key_26"),
+				drain(table.range("key_215", "key_265")).stream().map(Row::key).toList());
+		assertEquals(List.of("key_48"), drain(table.range("key_48", "key_99")).stream().map(Row::key).toList());
+		assertEquals(List.of("key_10"), drain(table.range("key_0", "key_10")).stream().map(Row::key).toList());
+		assertFalse(table.range("key_30", "key_20").hasNext());
+		assertFalse(table.range("key_24", "key_24").hasNext());
+		assertFalse(table.range("key_5", "key_9").hasNext());
+	}
+
+	@Test
+	@DisplayName("sorts by another order than the key through the default sort")
+	void sortedIteratorOrders() {
+		SortedSearchTable table = new SortedSearchTable("t", COLUMNS);
+		Random random = new Random(29);
+		for (int i = 0; i < 500; i++) {
+			table.put("key_" + random.nextInt(1_000), List.of(random.nextInt(50)));
+		}
+		List<Row> rows = drain(table.iterator());
+
+		List<Row> byKey = new ArrayList<>(rows);
+		byKey.sort(Row.KEY_ORDER);
+		assertEquals(byKey, drain(table.sortedIterator(Row.KEY_ORDER)));
+
+		Comparator<Row> byField = Comparator.comparing(row -> (Integer) row.fields().get(0));
+		List<Row> sorted = new ArrayList<>(rows);
+		sorted.sort(byField);
+		assertEquals(sorted, drain(table.sortedIterator(byField)));
+	}
+}
@@ -0,0 +1,104 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import models.Row;
+import models.Table;
+
+/**
+ * Replays a seeded mix of puts and removes against a table and a map side by
+ * side, and checks a table against the rows a map says it should hold.
+ */
+final class TableOracle {
+	/**
+	 * A check run after each operation of a replay.
+	 */
+	@FunctionalInterface
+	interface Step {
+		/**
+		 * Runs after an operation has been applied to the table and the map.
+		 *
+		 * @param expected  The map, holding the rows the table should now hold
+		 * @param operation The number of the operation, from 0
+		 * @param key       The key the operation touched
+		 * @param removed   True if the operation was a remove, false for a put
+		 */
+		void after(Map<String, List<Object>> expected, int operation, String key, boolean removed);
+	}
+
+	private TableOracle() {
+	}
+
+	/**
+	 * Applies random puts and removes, one in four a remove, to a table and a
+	 * map, checking that each returns what the map returns.
+	 *
+	 * @param table      The table under test
+	 * @param seed       The seed of the operations
+	 * @param operations The number of operations
+	 * @param keys       The number of distinct keys drawn from
+	 * @param fields     The fields to put at each operation
+	 * @param step       The check to run after each operation
+	 * @return The map holding the rows the table should hold
+	 */
+	static Map<String, List<Object>> replay(Table table, long seed, int operations, int keys,
+			IntFunction<List<Object>> fields, Step step) {
+		Map<String, List<Object>> expected = new HashMap<>();
+		Random random = new Random(seed);
+		for (int i = 0; i < operations; i++) {
+			String key = "key_" + random.nextInt(keys);
+			boolean remove = random.nextInt(4) == 0;
+			if (remove) {
+				assertEquals(expected.remove(key), table.remove(key), key);
+			} else {
+				List<Object> values = fields.apply(i);
+				assertEquals(expected.put(key, values), table.put(key, values), key);
+			}
+			step.after(expected, i, key, remove);
+		}
+		return expected;
+	}
+
+	/**
+	 * Replays random puts and removes of one-field rows with no extra checks.
+	 *
+	 * @param table      The table under test
+	 * @param seed       The seed of the operations
+	 * @param operations The number of operations
+	 * @param keys       The number of distinct keys drawn from
+	 * @return The map holding the rows the table should hold
+	 */
+	static Map<String, List<Object>> replay(Table table, long seed, int operations, int keys) {
+		return replay(table, seed, operations, keys, List::of, (map, operation, key, removed) -> {});
+	}
+
+	/**
+	 * Checks that a table holds exactly the rows of a map, through its size,
+	 * lookups, fingerprint and iteration, which must yield each row once.
+	 *
+	 * @param expected The rows the table should hold
+	 * @param table    The table under test
+	 */
+	static void assertMatches(Map<String, List<Object>> expected, Table table) {
+		assertEquals(expected.size(), table.size());
+		int fingerprint = 0;
+		for (Map.Entry<String, List<Object>> entry : expected.entrySet()) {
+			assertEquals(entry.getValue(), table.get(entry.getKey()), entry.getKey());
+			fingerprint += new Row(entry.getKey(), entry.getValue()).hashCode();
+		}
+		assertEquals(fingerprint, table.hashCode());
+
+		Map<String, List<Object>> seen = new HashMap<>();
+		for (Row row : table) {
+			assertNull(seen.put(row.key(), row.fields()), row.key());
+		}
+		assertEquals(expected, seen);
+	}
+}
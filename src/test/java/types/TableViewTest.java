@@ -0,0 +1,174 @@
+package types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import models.Row;
+import models.RowPredicate;
+import models.Table;
+
+@DisplayName("Table Views")
+final class TableViewTest {
+	private static final List<String> COLUMNS = List.of("k", "n", "s");
+	private static final RowPredicate EVEN = row -> (Integer) row.fields().get(0) % 2 == 0;
+
+	private static HashTable table(String name, int from, int to, String tag) {
+		HashTable table = new HashTable(name, COLUMNS);
+		for (int i = from; i < to; i++) {
+			table.put("key_" + i, List.of(i, tag));
+		}
+		return table;
+	}
+
+	/**
+	 * Checks that a view agrees with the rows it should hold through its
+	 * iterator, lookups, size, fingerprint and emptiness.
+	 */
+	private static void assertHolds(Map<String, List<Object>> expected, Table view, List<String> absent) {
+		Map<String, List<Object>> rows = new HashMap<>();
+		int fingerprint = 0;
+		for (Row row : view) {
+			assertNull(rows.put(row.key(), row.fields()), row.key());
+			fingerprint += row.hashCode();
+		}
+		assertEquals(expected, rows);
+		for (Map.Entry<String, List<Object>> entry : expected.entrySet()) {
+			assertEquals(entry.getValue(), view.get(entry.getKey()), entry.getKey());
+		}
+		for (String key : absent) {
+			assertNull(view.get(key), key);
+		}
+		assertEquals(expected.size(), view.size());
+		assertEquals(fingerprint, view.hashCode());
+		assertEquals(expected.isEmpty(), view.isEmpty());
+	}
+
+	@Test
+	@DisplayName("a filter reflects changes made to its source after it was created")
+	void filterTracksSource() {
+		HashTable source = table("t", 0, 10, "a");
+		TableView view = source.filter(EVEN);
+
+		Map<String, List<Object>> expected = new HashMap<>();
+		for (int i = 0; i < 10; i += 2) {
+			expected.put("key_" + i, List.of(i, "a"));
+		}
+		assertHolds(expected, view, List.of("key_1", "key_11"));
+
+		source.put("key_12", List.of(12, "b")); // New row that passes
+		source.put("key_13", List.of(13, "b")); // New row that fails
+		source.put("key_1", List.of(100, "b")); // Update that now passes
+		source.put("key_2", List.of(101, "b")); // Update that now fails
+		source.remove("key_4");
+		expected.put("key_12", List.of(12, "b"));
+		expected.put("key_1", List.of(100, "b"));
+		expected.remove("key_2");
+		expected.remove("key_4");
+		assertHolds(expected, view, List.of("key_2", "key_4", "key_13"));
+
+		source.clear();
+		assertHolds(Map.of(), view, List.of("key_0", "key_12"));
+	}
+
+	@Test
+	@DisplayName("chained filters apply every predicate to the live source")
+	void chainedFilters() {
+		HashTable source = table("t", 0, 100, "a");
+		TableView view = source.filter(EVEN).filter(row -> (Integer) row.fields().get(0) < 10).filter("s", "a"::equals);
+
+		Map<String, List<Object>> expected = new HashMap<>();
+		for (int i = 0; i < 10; i += 2) {
+			expected.put("key_" + i, List.of(i, "a"));
+		}
+		assertHolds(expected, view, List.of("key_1", "key_12"));
+
+		source.put("key_6", List.of(6, "b"));
+		expected.remove("key_6");
+		assertHolds(expected, view, List.of("key_6"));
+	}
+
+	@Test
+	@DisplayName("a union prefers the second table's row for shared keys, live")
+	void unionPrecedence() {
+		HashTable first = table("first", 0, 10, "first");
+		HashTable second = table("second", 5, 15, "second");
+		TableView union = first.union(second);
+
+		Map<String, List<Object>> expected = new HashMap<>();
+		for (int i = 0; i < 15; i++) {
+			expected.put("key_" + i, List.of(i, i < 5 ? "first" : "second"));
+		}
+		assertHolds(expected, union, List.of("key_15"));
+		assertEquals("first_union", union.name());
+		assertEquals(COLUMNS, union.columns());
+
+		// Removing a shared key from the second uncovers the first table's row
+		second.remove("key_7");
+		first.put("key_20", List.of(20, "first"));
+		second.put("key_0", List.of(0, "second"));
+		expected.put("key_7", List.of(7, "first"));
+		expected.put("key_20", List.of(20, "first"));
+		expected.put("key_0", List.of(0, "second"));
+		assertHolds(expected, union, List.of("key_15"));
+	}
+
+	@Test
+	@DisplayName("a union with an empty side holds the other side")
+	void unionWithEmpty() {
+		HashTable rows = table("rows", 0, 5, "a");
+		HashTable empty = new HashTable("empty", COLUMNS);
+		Map<String, List<Object>> expected = new HashMap<>();
+		for (Row row : rows) {
+			expected.put(row.key(), row.fields());
+		}
+
+		assertHolds(expected, rows.union(empty), List.of());
+		assertHolds(expected, empty.union(rows), List.of());
+		assertHolds(Map.of(), empty.union(new HashTable("other", COLUMNS)), List.of("key_0"));
+	}
+
+	@Test
+	@DisplayName("views reject every mutation")
+	void readOnly() {
+		HashTable source = table("t", 0, 4, "a");
+		for (TableView view : List.of(source.filter(EVEN), source.union(table("u", 2, 6, "b")))) {
+			assertThrows(UnsupportedOperationException.class, () -> view.put("key_0", List.of(0, "x")));
+			assertThrows(UnsupportedOperationException.class, () -> view.remove("key_0"));
+			assertThrows(UnsupportedOperationException.class, view::clear);
+		}
+		assertEquals(4, source.size());
+	}
+
+	@Test
+	@DisplayName("materializing copies the rows at that moment, apart from the source")
+	void materialize() {
+		HashTable source = table("t", 0, 10, "a");
+		TableView view = source.filter(EVEN);
+
+		Table copy = view.materialize();
+		SearchTable other = view.materialize(SearchTable::new);
+		source.put("key_20", List.of(20, "a"));
+		source.remove("key_0");
+
+		assertInstanceOf(HashTable.class, copy);
+		assertEquals("t_filter", copy.name());
+		assertEquals(5, copy.size());
+		assertEquals(List.of(0, "a"), copy.get("key_0"));
+		assertNull(copy.get("key_20"));
+		assertEquals(copy.hashCode(), other.hashCode());
+
+		HashTable target = table("target", 100, 102, "z");
+		view.materializeInto(target);
+		assertEquals(7, target.size());
+		assertEquals(List.of(20, "a"), target.get("key_20"));
+	}
+}